@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+/**
+ * Emits Java Flight Recorder events for SDK requests, used internally by the
+ * request classes.  Each request is recorded as a "com.oracle.content.sdk.Request" event
+ * with the endpoint, http status, {@link ContentResponse.CacheState}, response size,
+ * deserialization time and the {@link ContentException.REASON} if the request failed.
+ * <p>
+ * Events are only created while a recording has the event enabled, for example:
+ * <pre>
+ *     java -XX:StartFlightRecording:filename=sdk.jfr ...
+ * </pre>
+ * This is the Java 11 version in META-INF/versions/11 of the multi-release SDK jar, the
+ * main sources have a version for Java 8 and Android where all methods do nothing.  A Java 11
+ * runtime built without the jdk.jfr module records nothing either.
+ * <p>
+ * The event objects are passed around as {@link Object} so that callers never load
+ * the jdk.jfr classes.  A null event means nothing is being recorded.
+ */
+public final class ContentEvents {
+
+    // is the jdk.jfr API available in this runtime?
+    private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    private ContentEvents() {}
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ContentEvents.class.getClassLoader());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Start recording a request.
+     *
+     * @param async true if the request is asynchronous
+     * @return the event, or null if request events are not being recorded
+     */
+    public static Object requestStart(boolean async) {
+        return AVAILABLE ? ContentRequestEvent.start(async) : null;
+    }
+
+    /**
+     * Record the http response for a request.
+     *
+     * @param event event from {@link #requestStart(boolean)}, may be null
+     * @param rawResponse the raw http response
+     */
+    public static void requestResponse(Object event, okhttp3.Response rawResponse) {
+        if (event != null) {
+            ContentRequestEvent requestEvent = (ContentRequestEvent) event;
+            requestEvent.endpoint = ContentClient.getEndpointName(rawResponse.request());
+            requestEvent.httpCode = rawResponse.code();
+            ResponseBody body = rawResponse.body();
+            if (body != null) {
+                requestEvent.bytes = body.contentLength();
+            }
+        }
+    }
+
+    /**
+     * Record the time taken to deserialize the result object.
+     *
+     * @param event event from {@link #requestStart(boolean)}, may be null
+     * @param durationNanos deserialization time in nanoseconds
+     */
+    public static void requestDeserialized(Object event, long durationNanos) {
+        if (event != null) {
+            ((ContentRequestEvent) event).deserializationTime = durationNanos;
+        }
+    }
+
+    /**
+     * Finish recording a request and commit the event.
+     *
+     * @param event event from {@link #requestStart(boolean)}, may be null
+     * @param call the call, used for the endpoint if there was no response (may be null)
+     * @param response the SDK response
+     */
+    public static void requestEnd(Object event, Call<?> call, ContentResponse<?> response) {
+        if (event != null) {
+            ContentRequestEvent requestEvent = (ContentRequestEvent) event;
+            requestEvent.end();
+            if (requestEvent.shouldCommit()) {
+                if (requestEvent.endpoint == null) {
+                    requestEvent.endpoint = getEndpointName(call);
+                }
+                requestEvent.cacheState = response.getCacheState().name();
+                ContentException exception = response.getException();
+                if (exception != null && exception.getReason() != null) {
+                    requestEvent.reason = exception.getReason().name();
+                }
+                requestEvent.commit();
+            }
+        }
+    }
+
+    // endpoint for a call that failed before there was a response
+    private static String getEndpointName(Call<?> call) {
+        if (call != null) {
+            try {
+                return ContentClient.getEndpointName(call.request());
+            } catch (RuntimeException e) {
+                // the request itself could not be created
+            }
+        }
+        return ContentMetrics.UNKNOWN_ENDPOINT;
+    }
+}
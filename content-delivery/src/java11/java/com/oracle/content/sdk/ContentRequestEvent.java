@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for a single SDK request, from the start of the call
+ * until the {@link ContentResponse} is available.
+ * <p>
+ * This class is only in the Java 11 version of the multi-release SDK jar, and must only be
+ * loaded through {@link ContentEvents}, which checks that the jdk.jfr module is present.
+ */
+@Name(ContentRequestEvent.NAME)
+@Label("Content SDK Request")
+@Description("Request made by the Oracle Content SDK")
+@Category({"Oracle Content SDK"})
+@StackTrace(false)
+class ContentRequestEvent extends Event {
+
+    static final String NAME = "com.oracle.content.sdk.Request";
+
+    @Label("Endpoint")
+    @Description("Relative url template of the REST call")
+    String endpoint;
+
+    @Label("HTTP Status")
+    int httpCode;
+
+    @Label("Cache State")
+    String cacheState;
+
+    @Label("Failure Reason")
+    @Description("ContentException reason if the request failed")
+    String reason;
+
+    @Label("Response Size")
+    @Description("Response body size from the Content-Length, or -1 if unknown")
+    @DataAmount
+    long bytes = -1;
+
+    @Label("Deserialization Time")
+    @Timespan
+    long deserializationTime;
+
+    @Label("Asynchronous")
+    boolean async;
+
+    /**
+     * Start a new event if the event is enabled in a running recording.
+     *
+     * @param async true for fetchAsync
+     * @return the started event, or null if not enabled
+     */
+    static ContentRequestEvent start(boolean async) {
+        ContentRequestEvent event = new ContentRequestEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.async = async;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.AuthenticationPolicy;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentEvents;
+import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.ContentSDK;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for the flight recorder events emitted by {@link ContentEvents}.
+ */
+public class ContentEventsTests extends MockServerTest {
+
+    private static final String EVENT_NAME = "com.oracle.content.sdk.Request";
+
+    private static final String ITEM_ENDPOINT = "content/published/api/v1.1/items/{ID}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ContentDeliveryClient client;
+
+    @Before
+    public void setUp() {
+        client = createClient();
+    }
+
+    // record the request events while running the requests
+    private List<RecordedEvent> record(Runnable requests) throws IOException {
+        Path file = temporaryFolder.newFile("sdk.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            requests.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(EVENT_NAME))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void noEventWhenNotRecording() {
+        assertNull(ContentEvents.requestStart(false));
+    }
+
+    @Test
+    public void requestEventsRecorded() throws Exception {
+        String itemJson = getResource("GetContentItemFieldTypeTests.getContentItem_all.json");
+        server.enqueue(new MockResponse().setBody(itemJson));
+        server.enqueue(new MockResponse().setResponseCode(404)
+                .setBody(getResource("ErrorTests.testItemNotFound.json")));
+        server.enqueue(new MockResponse().setBody(itemJson));
+
+        List<RecordedEvent> events = record(() -> {
+            assertTrue(new GetContentItemRequest(client, "id").fetch().isSuccess());
+            assertFalse(new GetContentItemRequest(client, "missing").fetch().isSuccess());
+
+            CountDownLatch latch = new CountDownLatch(1);
+            new GetContentItemRequest(client, "id").fetchAsync(response -> latch.countDown());
+            try {
+                assertTrue(latch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+        assertEquals(3, events.size());
+
+        RecordedEvent item = events.stream().filter(e -> !e.getBoolean("async")).findFirst().get();
+        assertEquals(ITEM_ENDPOINT, item.getString("endpoint"));
+        assertEquals(200, item.getInt("httpCode"));
+        assertEquals("NETWORK", item.getString("cacheState"));
+        assertNull(item.getString("reason"));
+        assertEquals(itemJson.getBytes(Charset.defaultCharset()).length, item.getLong("bytes"));
+        assertTrue(item.getDuration("deserializationTime").toNanos() > 0);
+
+        RecordedEvent notFound = events.stream().filter(e -> e.getInt("httpCode") == 404).findFirst().get();
+        assertEquals(ITEM_ENDPOINT, notFound.getString("endpoint"));
+        assertEquals("ERROR", notFound.getString("cacheState"));
+        assertEquals("itemNotFound", notFound.getString("reason"));
+
+        assertEquals(1, events.stream().filter(e -> e.getBoolean("async")).count());
+    }
+
+    @Test
+    public void thrownExceptionRecorded() throws Exception {
+        // an authentication policy that fails inside the call, which fetch() throws
+        AuthenticationPolicy policy = new AuthenticationPolicy() {
+            @Override
+            public String getAuthHeader() {
+                throw new ContentException(ContentException.REASON.invalidRequest, "no token");
+            }
+        };
+        ContentDeliveryClient failingClient = ContentSDK.createDeliveryClient(
+                server.url("/").toString(), policy, new ContentSettings());
+
+        List<RecordedEvent> events = record(() -> {
+            try {
+                new GetContentItemRequest(failingClient, "id").fetch();
+                fail("Expected ContentException");
+            } catch (ContentException e) {
+                assertEquals(ContentException.REASON.invalidRequest, e.getReason());
+            }
+        });
+        assertEquals(1, events.size());
+        assertEquals(ITEM_ENDPOINT, events.get(0).getString("endpoint"));
+        assertEquals("ERROR", events.get(0).getString("cacheState"));
+        assertEquals("invalidRequest", events.get(0).getString("reason"));
+    }
+}
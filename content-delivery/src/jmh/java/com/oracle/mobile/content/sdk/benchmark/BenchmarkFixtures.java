@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * Loads the recorded .json responses from the unit test resources, which are added
+ * to the jmh source set so benchmarks run against the same data as the mock tests.
+ */
+public final class BenchmarkFixtures {
+
+    // single content item with all field types, expanded
+    public static final String CONTENT_ITEM = "GetContentItemFieldTypeTests.getContentItem_all.json";
+
+    // digital asset with renditions
+    public static final String DIGITAL_ASSET = "DigitalAssetRenditionTests.getDigitalAsset.json";
+
+    // search result page of content items
+    public static final String SEARCH_RESULT = "SearchContentItemsMenuTests.testSearchByTypeOnly.json";
+
+    // content item of type "sdk_test_all_fields" used with custom annotated classes
+    public static final String CUSTOM_ITEM = "GetCustomContentItemTests.testGetCustomItem.json";
+
+    // item not found error response
+    public static final String ITEM_NOT_FOUND = "ErrorTests.testItemNotFound.json";
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Read a fixture file as a string.
+     *
+     * @param fileName name of the .json file in the resources folder
+     * @return file contents
+     */
+    public static String getString(String fileName) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/" + fileName)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing benchmark fixture: " + fileName);
+            }
+            try (BufferedSource source = Okio.buffer(Okio.source(in))) {
+                return source.readString(StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading benchmark fixture: " + fileName, e);
+        }
+    }
+
+    /**
+     * Read a fixture file as a parsed json tree.
+     *
+     * @param fileName name of the .json file in the resources folder
+     * @return root json element
+     */
+    public static JsonElement getJson(String fileName) {
+        return JsonParser.parseString(getString(fileName));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk.benchmark;
+
+import com.google.gson.JsonElement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.model.digital.DigitalAsset;
+import com.oracle.content.sdk.model.digital.DigitalAssetFields;
+import com.oracle.content.sdk.model.field.ContentFieldDate;
+import com.oracle.content.sdk.model.field.ContentFieldDecimal;
+import com.oracle.content.sdk.model.field.ContentFieldItemReference;
+import com.oracle.content.sdk.model.field.ContentFieldLargeText;
+import com.oracle.content.sdk.model.item.AssetFields;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.model.item.CustomContentField;
+import com.oracle.content.sdk.model.item.CustomContentType;
+import com.oracle.content.sdk.request.core.ContentAssetRequest;
+import com.oracle.content.sdk.util.CustomItemAnnotation;
+
+/**
+ * Deserialization and field parsing hot paths, run over the recorded .json fixtures.  Run with
+ * the gc profiler (configured in build.gradle) to get {@code gc.alloc.rate.norm}, the bytes
+ * allocated per operation, next to the throughput.
+ * <p>
+ * {@link AssetSearchResult#getItems()} and {@link DigitalAsset#getAssetFields()} cache their
+ * result, so those benchmarks deserialize a new result object each time.  Subtract the matching
+ * baseline ({@link #searchResultDeserialize()}, {@link #digitalAssetDeserialize()}) to get the
+ * cost of the call itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    /**
+     * Custom item class matching the fields in {@link BenchmarkFixtures#CUSTOM_ITEM}.
+     */
+    @CustomContentType("sdk_test_all_fields")
+    public static class CustomItem extends ContentItem {
+
+        @CustomContentField("sdk-test-text")
+        String text;
+
+        @CustomContentField("sdk-test-datetime")
+        ContentFieldDate dateField;
+
+        @CustomContentField("sdk-test-decimal")
+        ContentFieldDecimal decimalField;
+
+        @CustomContentField("sdk-test-decimal")
+        String decimalFieldAsString;
+
+        @CustomContentField("sdk-test-largetext")
+        ContentFieldLargeText largeText;
+
+        @CustomContentField("sdk-test-menuitem-ref")
+        ContentFieldItemReference menuItemRef;
+
+        @CustomContentField("does-not-exist")
+        String expectedNull;
+    }
+
+    private JsonElement contentItemJson;
+    private JsonElement digitalAssetJson;
+    private JsonElement searchResultJson;
+
+    private ContentItem contentItem;
+    private CustomItem customItem;
+    private CustomItemAnnotation<CustomItem> customItemAnnotation;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        contentItemJson = BenchmarkFixtures.getJson(BenchmarkFixtures.CONTENT_ITEM);
+        digitalAssetJson = BenchmarkFixtures.getJson(BenchmarkFixtures.DIGITAL_ASSET);
+        searchResultJson = BenchmarkFixtures.getJson(BenchmarkFixtures.SEARCH_RESULT);
+
+        contentItem = (ContentItem) ContentAssetRequest.deserializeContentBaseItem(contentItemJson);
+        customItem = ContentClient.gson().fromJson(
+                BenchmarkFixtures.getJson(BenchmarkFixtures.CUSTOM_ITEM), CustomItem.class);
+        customItemAnnotation = new CustomItemAnnotation<>(CustomItem.class);
+    }
+
+    @Benchmark
+    public Asset deserializeContentItem() {
+        return ContentAssetRequest.deserializeContentBaseItem(contentItemJson);
+    }
+
+    @Benchmark
+    public Asset deserializeDigitalAsset() {
+        return ContentAssetRequest.deserializeContentBaseItem(digitalAssetJson);
+    }
+
+    // baseline for searchResultGetItems
+    @Benchmark
+    public AssetSearchResult searchResultDeserialize() {
+        return ContentClient.gson().fromJson(searchResultJson, AssetSearchResult.class);
+    }
+
+    @Benchmark
+    public List<Asset> searchResultGetItems() {
+        return ContentClient.gson().fromJson(searchResultJson, AssetSearchResult.class).getItems();
+    }
+
+    @Benchmark
+    public AssetFields parseContentItemFields() {
+        return contentItem.parseContentItemFields();
+    }
+
+    // baseline for digitalAssetGetAssetFields
+    @Benchmark
+    public DigitalAsset digitalAssetDeserialize() {
+        return ContentClient.gson().fromJson(digitalAssetJson, DigitalAsset.class);
+    }
+
+    @Benchmark
+    public DigitalAssetFields digitalAssetGetAssetFields() {
+        return ContentClient.gson().fromJson(digitalAssetJson, DigitalAsset.class).getAssetFields();
+    }
+
+    @Benchmark
+    public CustomItem parseAnnotationFields() {
+        customItemAnnotation.parseAnnotationFields(customItem);
+        return customItem;
+    }
+}
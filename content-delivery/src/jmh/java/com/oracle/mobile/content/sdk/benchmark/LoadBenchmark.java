@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentLogging;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSDK;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+/**
+ * End-to-end load benchmark against a local {@link MockContentServer} serving the recorded
+ * .json fixtures, for measuring connection pool, dispatcher and cache changes without a live server.
+ * <p>
+ * Each benchmark thread is one concurrent caller, so concurrency is set with the JMH thread
+ * count ({@code -t}, default 8).  The throughput mode reports requests per millisecond and the
+ * sample time mode reports the latency distribution including p0.50, p0.99 and p0.999.  Both
+ * modes also report how many responses came from the network and how many from
+ * the cache, as the {@code network} and {@code cached} counters.
+ * <p>
+ * Example, 32 callers against a server with 50ms latency and no cache, using the jar
+ * built by the jmhJar task:
+ * <pre>
+ *     java -jar build/libs/content-delivery-*-jmh.jar LoadBenchmark -t 32 -p latencyMillis=50 -p diskCache=false
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+    private static final String ITEMS_PATH = "/content/published/api/v1.1/items";
+
+    private static final String ITEM_ID = "CORE426E5263CCD24D7AA11E00DDBE0516A1";
+
+    private static final int PAGE_SIZE = 30;
+
+    // how the request is made: fetch, fetchAsync, observable or paginated search (with fetch)
+    @Param({"fetch", "fetchAsync", "observable", "search"})
+    public String scenario;
+
+    // latency injected by the server for each response
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    // use the SDK disk cache, once warmed up requests are served from the cache
+    @Param({"false", "true"})
+    public boolean diskCache;
+
+    // number of distinct items (or search pages) requested in rotation
+    @Param({"16"})
+    public int keys;
+
+    private MockContentServer server;
+    private ContentDeliveryClient client;
+    private File cacheDir;
+
+    // next item or page to request, shared by all threads
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ContentSDK.setLogLevel(ContentLogging.LogLevel.NONE);
+
+        server = new MockContentServer()
+                .latency(latencyMillis)
+                .route(ITEMS_PATH + "/", 200, BenchmarkFixtures.CONTENT_ITEM)
+                .route(ITEMS_PATH, 200, BenchmarkFixtures.SEARCH_RESULT)
+                .start();
+
+        ContentSettings settings = new ContentSettings();
+        if (diskCache) {
+            cacheDir = Files.createTempDirectory("sdk-load-cache").toFile();
+            settings.enableCache(cacheDir);
+        }
+        client = ContentSDK.createDeliveryClient(server.getUrl(), "benchmark_channel_token", settings);
+    }
+
+    /**
+     * Responses by {@link ContentResponse.CacheState}, reported by JMH next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long network;
+        public long cached;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            network = 0;
+            cached = 0;
+        }
+
+        <T extends ContentResponse<?>> T count(T response) {
+            if (response.getCacheState() == ContentResponse.CacheState.CACHED) {
+                cached++;
+            } else {
+                network++;
+            }
+            return response;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+        if (cacheDir != null) {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    // fail the benchmark rather than measure error responses
+    private static <T extends ContentResponse<?>> T checked(T response) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("request failed", response.getException());
+        }
+        return response;
+    }
+
+    @Benchmark
+    public ContentResponse<?> request(Responses responses) throws Exception {
+        return responses.count(send());
+    }
+
+    private ContentResponse<?> send() throws Exception {
+        int key = Math.floorMod(next.getAndIncrement(), keys);
+        switch (scenario) {
+            case "fetch":
+                return checked(itemRequest(key).fetch());
+            case "fetchAsync": {
+                CompletableFuture<ContentResponse<ContentItem>> future = new CompletableFuture<>();
+                itemRequest(key).fetchAsync(future::complete);
+                return checked(future.get());
+            }
+            case "observable":
+                return checked(itemRequest(key).observable().subscribeOn(Schedulers.io()).blockingGet());
+            case "search":
+                return checked(new SearchAssetsRequest(client)
+                        .type("sdk_test_all_fields")
+                        .offset(key * PAGE_SIZE)
+                        .limit(PAGE_SIZE)
+                        .fetch());
+            default:
+                throw new IllegalArgumentException("unknown scenario: " + scenario);
+        }
+    }
+
+    private GetContentItemRequest itemRequest(int key) {
+        return new GetContentItemRequest(client, ITEM_ID + key);
+    }
+}
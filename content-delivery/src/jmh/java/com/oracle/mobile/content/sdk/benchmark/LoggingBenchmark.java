@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentLogging;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSDK;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+
+/**
+ * Measures the cost of a {@code fetch()} with logging off (the default policy) against the
+ * logging path before log messages were skipped, and with logging routed to a no-op callback.
+ * Run with the gc profiler (configured in build.gradle) and compare {@code gc.alloc.rate.norm},
+ * the bytes allocated per fetch:
+ * <ul>
+ *     <li>baseline: the default policy as it was before, where NONE still built every message
+ *     and passed it to the default java.util.logging logger</li>
+ *     <li>NONE: the default policy, messages are not built</li>
+ *     <li>INFO: messages are built and passed to a callback that discards them</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String ITEM_ID = "CORE426E5263CCD24D7AA11E00DDBE0516A1";
+    private static final String MISSING_ID = "CORE_MISSING";
+
+    private static final String ITEMS_PATH = "/content/published/api/v1.1/items/";
+
+    @Param({"baseline", "NONE", "INFO"})
+    public String logging;
+
+    // "item" is a successful fetch, "notFound" exercises the error handling path
+    @Param({"item", "notFound"})
+    public String scenario;
+
+    private MockContentServer server;
+    private ContentDeliveryClient client;
+    private String id;
+
+    // root logger handlers replaced for the baseline
+    private Handler[] rootHandlers;
+
+    // the logging policy before messages were skipped, NONE enabled every message
+    private static class BaselineLogging extends ContentLogging {
+        BaselineLogging() {
+            super(LogLevel.NONE);
+        }
+
+        @Override
+        public boolean isEnabled(java.util.logging.Level priority) {
+            return true;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // logging must be configured before the client is created
+        if ("baseline".equals(logging)) {
+            // formatted as before, but written to a stream that discards it instead of the console
+            Logger root = Logger.getLogger("");
+            rootHandlers = root.getHandlers();
+            for (Handler handler : rootHandlers) {
+                root.removeHandler(handler);
+            }
+            root.addHandler(new StreamHandler(new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+            }, new SimpleFormatter()));
+            ContentSDK.setLoggingPolicy(new BaselineLogging());
+        } else if ("NONE".equals(logging)) {
+            ContentSDK.setLogLevel(ContentLogging.LogLevel.NONE);
+        } else {
+            ContentSDK.setLoggingPolicy(new ContentLogging(ContentLogging.LogLevel.valueOf(logging),
+                    (priority, tag, message) -> { }));
+        }
+
+        server = new MockContentServer()
+                .route(ITEMS_PATH + MISSING_ID, 404, BenchmarkFixtures.ITEM_NOT_FOUND)
+                .route(ITEMS_PATH, 200, BenchmarkFixtures.CONTENT_ITEM)
+                .start();
+        client = ContentSDK.createDeliveryClient(server.getUrl(), "benchmark_channel_token");
+        id = "notFound".equals(scenario) ? MISSING_ID : ITEM_ID;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+        ContentSDK.setLogLevel(ContentLogging.LogLevel.NONE);
+        if (rootHandlers != null) {
+            Logger root = Logger.getLogger("");
+            for (Handler handler : root.getHandlers()) {
+                root.removeHandler(handler);
+            }
+            for (Handler handler : rootHandlers) {
+                root.addHandler(handler);
+            }
+        }
+    }
+
+    @Benchmark
+    public ContentResponse<ContentItem> fetch() {
+        return new GetContentItemRequest(client, id).fetch();
+    }
+}
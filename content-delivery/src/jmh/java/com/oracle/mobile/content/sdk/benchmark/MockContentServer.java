@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ServerSocketFactory;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Local stand-in for a delivery server used by benchmarks.  Unlike the unit tests, which
+ * enqueue one response per call, responses are routed by path so any number of
+ * requests can be served concurrently.
+ */
+public class MockContentServer {
+
+    // route from a path prefix to a canned response
+    private static class Route {
+        final String pathPrefix;
+        final int code;
+        final String body;
+
+        Route(String pathPrefix, int code, String body) {
+            this.pathPrefix = pathPrefix;
+            this.code = code;
+            this.body = body;
+        }
+    }
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final List<Route> routes = new ArrayList<>();
+
+    // delay before the response headers are sent
+    private volatile long latencyMillis = 0;
+
+    public MockContentServer() {
+        // headers and body are written separately, without TCP_NODELAY each response
+        // would stall on delayed ACKs and measure the network stack instead of the SDK
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return respond(request);
+            }
+        });
+    }
+
+    /**
+     * Serve a fixture for requests whose path starts with the prefix.  Routes are
+     * matched in the order they are added.
+     *
+     * @param pathPrefix path prefix such as "/content/published/api/v1.1/items/ID"
+     * @param code http response code
+     * @param fixture name of the .json fixture to return as the body
+     * @return this
+     */
+    public MockContentServer route(String pathPrefix, int code, String fixture) {
+        routes.add(new Route(pathPrefix, code, BenchmarkFixtures.getString(fixture)));
+        return this;
+    }
+
+    /**
+     * Inject latency into every response, to simulate a remote server.
+     *
+     * @param latencyMillis delay before the response is sent in milliseconds
+     * @return this
+     */
+    public MockContentServer latency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    /**
+     * Create the response for a request, override to change the response (e.g. add latency).
+     *
+     * @param request recorded request
+     * @return response to send
+     */
+    protected MockResponse respond(RecordedRequest request) {
+        String path = request.getRequestUrl() != null ? request.getRequestUrl().encodedPath() : "";
+        for (Route route : routes) {
+            if (path.startsWith(route.pathPrefix)) {
+                return new MockResponse()
+                        .setResponseCode(route.code)
+                        .setHeader("Content-Type", "application/json")
+                        .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS)
+                        .setBody(route.body);
+            }
+        }
+        return new MockResponse().setResponseCode(404);
+    }
+
+    // server socket factory that disables Nagle's algorithm on accepted connections
+    private static class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public MockContentServer start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Base url to use when creating a delivery client.
+     *
+     * @return server url
+     */
+    public String getUrl() {
+        return server.url("/").toString();
+    }
+
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp interceptor that stops sending requests to the server while it is failing or slow,
+ * as set by a {@link CircuitBreakerPolicy}.
+ * <p>
+ * It comes after the offline cache interceptor in the chain, so while the breaker is open the
+ * request can be changed to only be answered from the cache.  Requests that the cache cannot
+ * answer fail straight away with an {@link IOException}.
+ * <p>
+ * It comes before the {@link ConcurrencyLimitInterceptor}, so a request shed by the limiter is
+ * not counted as a failure, and a call is timed from when the request was sent to the server
+ * so time spent waiting for a slot is not counted as a slow call.
+ */
+class CircuitBreakerInterceptor implements Interceptor {
+
+    final private static String TAG = "CircuitBreakerInterceptor";
+
+    // results of allowRequest() other than the round of a probe
+    final private static int REJECTED = -1;
+    final private static int NOT_PROBE = 0;
+
+    final private CircuitBreakerPolicy policy;
+
+    final private ContentMetrics metrics;
+
+    final private boolean cacheEnabled;
+
+    // guarded by this
+    private ContentMetrics.CircuitState state = ContentMetrics.CircuitState.CLOSED;
+
+    // outcomes of the recent calls while closed
+    final private boolean[] failed;
+    final private boolean[] slow;
+    private int calls = 0;
+    private int failures = 0;
+    private int slowCalls = 0;
+
+    // when the breaker opened
+    private long openedAt = 0;
+
+    // when the breaker went half open, and a count of the times it did
+    private long halfOpenedAt = 0;
+    private int probeRound = 0;
+
+    // probes in flight and succeeded while half open
+    private int probesStarted = 0;
+    private int probesSucceeded = 0;
+
+    CircuitBreakerInterceptor(CircuitBreakerPolicy policy, ContentMetrics metrics, boolean cacheEnabled) {
+        this.policy = policy;
+        this.metrics = metrics;
+        this.cacheEnabled = cacheEnabled;
+        this.failed = new boolean[policy.windowSize];
+        this.slow = new boolean[policy.windowSize];
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        int probeRound = allowRequest();
+        if (probeRound == REJECTED) {
+            return shortCircuit(chain, request);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            // shed by the concurrency limit, or cancelled, the server never answered
+            if (e instanceof ConcurrencyLimitException || chain.call().isCanceled()) {
+                releaseProbe(probeRound);
+            } else {
+                record(true, false);
+            }
+            throw e;
+        }
+
+        // responses answered by the cache say nothing about the server
+        Response networkResponse = response.networkResponse();
+        if (networkResponse != null) {
+            long millis = networkResponse.receivedResponseAtMillis() - networkResponse.sentRequestAtMillis();
+            record(response.code() >= 500, millis >= policy.slowCallMillis);
+        } else {
+            releaseProbe(probeRound);
+        }
+        return response;
+    }
+
+    // answer from the cache only, or fail
+    private Response shortCircuit(Chain chain, Request request) throws IOException {
+        String endpoint = ContentClient.getEndpointName(request);
+        if (cacheEnabled && "GET".equals(request.method())) {
+            Response response = chain.proceed(request.newBuilder()
+                    .cacheControl(CacheControl.FORCE_CACHE)
+                    .build());
+            if (response.cacheResponse() != null) {
+                if (metrics != null) {
+                    metrics.recordShortCircuit(endpoint, true);
+                }
+                return response;
+            }
+            response.close();
+        }
+        if (metrics != null) {
+            metrics.recordShortCircuit(endpoint, false);
+        }
+        throw new IOException("circuit breaker open, not calling " + endpoint);
+    }
+
+    // returns REJECTED, NOT_PROBE for a call while closed, or the round of a half open probe
+    private synchronized int allowRequest() {
+        long now = System.currentTimeMillis();
+        if (state == ContentMetrics.CircuitState.CLOSED) {
+            return NOT_PROBE;
+        }
+        if (state == ContentMetrics.CircuitState.OPEN) {
+            if (now - openedAt < policy.openMillis) {
+                return REJECTED;
+            }
+            setState(ContentMetrics.CircuitState.HALF_OPEN);
+            halfOpenedAt = now;
+            probeRound++;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        } else if (now - halfOpenedAt >= policy.halfOpenMillis) {
+            // the probes never finished, open again and probe afresh later
+            open();
+            return REJECTED;
+        }
+
+        if (probesStarted < policy.probeCalls) {
+            probesStarted++;
+            return probeRound;
+        }
+        return REJECTED;
+    }
+
+    // a probe that ended without telling us anything about the server frees its slot
+    private synchronized void releaseProbe(int round) {
+        if (round != NOT_PROBE && round == probeRound &&
+                state == ContentMetrics.CircuitState.HALF_OPEN && probesStarted > 0) {
+            probesStarted--;
+        }
+    }
+
+    private synchronized void record(boolean failure, boolean slowCall) {
+        switch (state) {
+            case HALF_OPEN:
+                if (failure || slowCall) {
+                    open();
+                } else if (++probesSucceeded >= policy.probeCalls) {
+                    close();
+                }
+                break;
+            case CLOSED:
+                int index = calls % failed.length;
+                if (calls >= failed.length) {
+                    failures -= failed[index] ? 1 : 0;
+                    slowCalls -= slow[index] ? 1 : 0;
+                }
+                failed[index] = failure;
+                slow[index] = slowCall;
+                failures += failure ? 1 : 0;
+                slowCalls += slowCall ? 1 : 0;
+                calls++;
+
+                int size = Math.min(calls, failed.length);
+                if (size >= policy.minCalls &&
+                        (failures >= policy.failureRateThreshold * size ||
+                                slowCalls >= policy.slowCallRateThreshold * size)) {
+                    open();
+                }
+                break;
+            default:
+                // a call that started before the breaker opened
+                break;
+        }
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        setState(ContentMetrics.CircuitState.OPEN);
+    }
+
+    private void close() {
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+        setState(ContentMetrics.CircuitState.CLOSED);
+    }
+
+    private void setState(ContentMetrics.CircuitState state) {
+        this.state = state;
+        ContentClient.log(TAG, () -> "circuit breaker " + state);
+        if (metrics != null) {
+            metrics.recordCircuitState(state);
+        }
+    }
+}
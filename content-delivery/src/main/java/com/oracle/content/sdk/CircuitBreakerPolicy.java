@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CircuitBreakerPolicy} specifies when the SDK stops sending requests to a delivery
+ * server that is failing or slow.  Set it with
+ * {@link ContentSettings#setCircuitBreakerPolicy(CircuitBreakerPolicy)}.
+ * <pre>   {@code
+ *
+ *  // open when half of the last 20 calls failed, or 80% took longer than 5 seconds
+ *  CircuitBreakerPolicy policy = new CircuitBreakerPolicy()
+ *          .setFailureRateThreshold(0.5)
+ *          .setSlowCallThreshold(5, TimeUnit.SECONDS, 0.8);
+ * }</pre>
+ * The breaker looks at the outcome of the most recent calls.  A call fails if it gets no
+ * response or a 5xx response.  Once enough calls have been made and the share of failed or slow
+ * calls reaches its threshold, the breaker opens.  While open, requests are answered from the
+ * offline cache if it has a response, and otherwise fail straight away without waiting for a
+ * timeout.  After the open duration a few probe requests are let through; if they all succeed
+ * the breaker closes again, if any fails, or they don't all succeed within the half open
+ * timeout, it opens again.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public final class CircuitBreakerPolicy {
+
+    // number of recent calls looked at, and the number needed before the breaker can open
+    int windowSize = 20;
+    int minCalls = 10;
+
+    // share of failed calls that opens the breaker
+    double failureRateThreshold = 0.5;
+
+    // calls slower than this are slow, and the share of slow calls that opens the breaker
+    long slowCallMillis = 10000;
+    double slowCallRateThreshold = 1.0;
+
+    // how long the breaker stays open before probing
+    long openMillis = 30000;
+
+    // probe calls that must succeed to close the breaker
+    int probeCalls = 3;
+
+    // how long the breaker waits for the probes before opening again
+    long halfOpenMillis = 30000;
+
+    /**
+     * Construct a policy with the defaults: open when half of at least 10 of the last 20 calls
+     * failed or all took longer than 10 seconds, stay open for 30 seconds, then close after
+     * 3 successful probes within 30 seconds.
+     */
+    public CircuitBreakerPolicy() {
+    }
+
+    /**
+     * Number of recent calls to look at, and the number of calls needed before the breaker
+     * can open.
+     *
+     * @param windowSize number of recent calls
+     * @param minCalls minimum number of calls
+     * @return this
+     */
+    public CircuitBreakerPolicy setWindow(int windowSize, int minCalls) {
+        this.windowSize = windowSize;
+        this.minCalls = Math.min(minCalls, windowSize);
+        return this;
+    }
+
+    /**
+     * Share of failed calls that opens the breaker.
+     *
+     * @param failureRateThreshold share between 0 and 1
+     * @return this
+     */
+    public CircuitBreakerPolicy setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    /**
+     * Duration after which a call is slow, and the share of slow calls that opens the breaker.
+     * A call is timed from when the request is sent until the response headers arrive, so
+     * time waiting for a connection or a {@link ConcurrencyLimitPolicy} slot is not counted.
+     *
+     * @param duration duration of a slow call
+     * @param unit unit for the duration
+     * @param slowCallRateThreshold share between 0 and 1
+     * @return this
+     */
+    public CircuitBreakerPolicy setSlowCallThreshold(long duration, TimeUnit unit, double slowCallRateThreshold) {
+        this.slowCallMillis = unit.toMillis(duration);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    /**
+     * How long the breaker stays open before letting probe calls through.
+     *
+     * @param duration open duration
+     * @param unit unit for the duration
+     * @return this
+     */
+    public CircuitBreakerPolicy setOpenDuration(long duration, TimeUnit unit) {
+        this.openMillis = unit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Number of probe calls that must succeed to close the breaker.
+     *
+     * @param probeCalls number of probe calls
+     * @return this
+     */
+    public CircuitBreakerPolicy setProbeCalls(int probeCalls) {
+        this.probeCalls = probeCalls;
+        return this;
+    }
+
+    /**
+     * How long the breaker waits for its probe calls to succeed before opening again.  Probe
+     * calls answered by the cache or cancelled don't count, and let another call probe instead.
+     *
+     * @param duration half open duration
+     * @param unit unit for the duration
+     * @return this
+     */
+    public CircuitBreakerPolicy setHalfOpenTimeout(long duration, TimeUnit unit) {
+        this.halfOpenMillis = unit.toMillis(duration);
+        return this;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinCalls() {
+        return minCalls;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    public int getProbeCalls() {
+        return probeCalls;
+    }
+
+    public long getHalfOpenMillis() {
+        return halfOpenMillis;
+    }
+}
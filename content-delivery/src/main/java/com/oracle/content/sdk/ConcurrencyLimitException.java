@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the http client when a request is shed by the {@link ConcurrencyLimitPolicy}
+ * because no slot freed up within the maximum wait.  The request was never sent, so it says
+ * nothing about the health of the server.  It is the cause of the {@link ContentException}
+ * returned for the request.
+ */
+public final class ConcurrencyLimitException extends IOException {
+
+    ConcurrencyLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp interceptor that limits the requests in flight to each endpoint, as set by a
+ * {@link ConcurrencyLimitPolicy}.
+ * <p>
+ * The limit of each endpoint is raised while calls complete in good time and lowered when
+ * latency grows or the server pushes back, so the client keeps the server near the point where
+ * more concurrency only adds queueing.  Requests over the limit wait for a slot, and are shed
+ * with a {@link ConcurrencyLimitException} once the maximum wait has passed.
+ */
+class ConcurrencyLimitInterceptor implements Interceptor {
+
+    final private static String TAG = "ConcurrencyLimitInterceptor";
+
+    // how often a waiting request checks whether its call was cancelled
+    final private static long WAIT_CHECK_MILLIS = 50;
+
+    final private ConcurrencyLimitPolicy policy;
+
+    final private ContentMetrics metrics;
+
+    final private Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    ConcurrencyLimitInterceptor(ConcurrencyLimitPolicy policy, ContentMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    // the server is overloaded or asks the client to slow down
+    private static boolean isOverloadCode(int code) {
+        return code == 429 || code == 503 || code == 504;
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = ContentClient.getEndpointName(request);
+        Limiter limiter = limiters.computeIfAbsent(endpoint, Limiter::new);
+        limiter.acquire(chain);
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            // no response at all is overload, unless the caller cancelled
+            limiter.release(start, 0, !chain.call().isCanceled());
+            throw e;
+        }
+
+        if (response.networkResponse() == null) {
+            // answered by the cache, says nothing about the server
+            limiter.release(start, 0, false);
+        } else {
+            limiter.release(start, System.nanoTime() - start, isOverloadCode(response.code()));
+        }
+        return response;
+    }
+
+    /**
+     * Limit and requests in flight for one endpoint.
+     */
+    private class Limiter {
+
+        final private String endpoint;
+
+        // guarded by this
+        private double limit;
+        private int inFlight = 0;
+
+        // lowest latency seen, and the lowest in the current window
+        private long minLatency = Long.MAX_VALUE;
+        private long windowMinLatency = Long.MAX_VALUE;
+        private int windowCalls = 0;
+
+        // when the limit was last lowered, calls started before then do not lower it again
+        private long lastDecrease;
+
+        Limiter(String endpoint) {
+            this.endpoint = endpoint;
+            this.limit = policy.initialLimit;
+            this.lastDecrease = System.nanoTime();
+            if (metrics != null) {
+                metrics.recordConcurrencyLimit(endpoint, policy.initialLimit);
+            }
+        }
+
+        synchronized void acquire(Chain chain) throws IOException {
+            if (inFlight >= (int) limit) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.maxWaitMillis);
+                while (inFlight >= (int) limit) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        int current = (int) limit;
+                        ContentClient.log(TAG, () -> "shedding request to " + endpoint + ", limit " + current);
+                        if (metrics != null) {
+                            metrics.recordShed(endpoint);
+                        }
+                        throw new ConcurrencyLimitException("concurrency limit " + current + " reached for " + endpoint);
+                    }
+                    if (chain.call().isCanceled()) {
+                        throw new IOException("Canceled");
+                    }
+                    try {
+                        wait(Math.min(remaining, WAIT_CHECK_MILLIS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("interrupted waiting for concurrency limit");
+                    }
+                }
+            }
+            inFlight++;
+        }
+
+        /**
+         * Release the slot of a call and adjust the limit.
+         *
+         * @param start when the call started
+         * @param latency latency of the call, or 0 if there was no network response
+         * @param overload true if the call failed in a way that shows overload
+         */
+        synchronized void release(long start, long latency, boolean overload) {
+            int used = inFlight--;
+            notifyAll();
+
+            if (latency > 0) {
+                minLatency = Math.min(minLatency, latency);
+                windowMinLatency = Math.min(windowMinLatency, latency);
+                if (++windowCalls >= policy.latencyWindow) {
+                    // measure again, so a server that got slower for good is followed
+                    minLatency = windowMinLatency;
+                    windowMinLatency = Long.MAX_VALUE;
+                    windowCalls = 0;
+                }
+                overload |= latency > minLatency * policy.latencyTolerance;
+            }
+
+            int oldLimit = (int) limit;
+            if (overload) {
+                if (start - lastDecrease < 0) {
+                    // already lowered for calls in flight at the same time
+                    return;
+                }
+                limit = Math.max(policy.minLimit, limit * policy.backoffRatio);
+                lastDecrease = System.nanoTime();
+            } else if (latency > 0 && used * 2 >= limit) {
+                // only raise the limit while it is in use
+                limit = Math.min(policy.maxLimit, limit + 1);
+            }
+
+            int newLimit = (int) limit;
+            if (newLimit != oldLimit) {
+                ContentClient.log(TAG, () -> "concurrency limit of " + endpoint + " " + oldLimit + " -> " + newLimit);
+                if (metrics != null) {
+                    metrics.recordConcurrencyLimit(endpoint, newLimit);
+                }
+            }
+        }
+    }
+}
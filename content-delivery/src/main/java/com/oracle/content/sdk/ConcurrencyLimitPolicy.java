@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code ConcurrencyLimitPolicy} specifies how the SDK limits the number of requests in
+ * flight to each endpoint, adapting the limit to the latency the server shows.  Set it with
+ * {@link ContentSettings#setConcurrencyLimitPolicy(ConcurrencyLimitPolicy)}.
+ * <pre>   {@code
+ *
+ *  // start at 20 requests per endpoint, back off when latency doubles, queue up to 2 seconds
+ *  ConcurrencyLimitPolicy policy = new ConcurrencyLimitPolicy()
+ *          .setLimits(20, 1, 200)
+ *          .setLatencyTolerance(2.0)
+ *          .setMaxWait(2, TimeUnit.SECONDS);
+ * }</pre>
+ * The limit of each endpoint is adjusted by additive increase, multiplicative decrease: each call
+ * that completes in good time while the limit is in use raises the limit by one, and each call
+ * that is much slower than the lowest recent latency, or fails with a 429, 503 or 504, or gets
+ * no response, lowers it by the backoff ratio.  Requests over the limit wait for a free slot
+ * and fail with a {@link ConcurrencyLimitException} if none frees up within the maximum wait.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public final class ConcurrencyLimitPolicy {
+
+    // limit to start at, and the bounds of the limit
+    int initialLimit = 20;
+    int minLimit = 1;
+    int maxLimit = 200;
+
+    // limit is multiplied by this when the server is overloaded
+    double backoffRatio = 0.9;
+
+    // latency over this multiple of the lowest recent latency means overload
+    double latencyTolerance = 2.0;
+
+    // calls after which the lowest latency is measured again
+    int latencyWindow = 100;
+
+    // how long a request waits for a slot before it is shed, 0 to shed straight away
+    long maxWaitMillis = 5000;
+
+    /**
+     * Construct a policy with the defaults: start at 20 requests per endpoint, between 1 and
+     * 200, back off by 10% when latency is over twice the lowest, and wait up to 5 seconds.
+     */
+    public ConcurrencyLimitPolicy() {
+    }
+
+    /**
+     * Limit to start at, and the bounds the limit is kept within.
+     *
+     * @param initialLimit limit to start at
+     * @param minLimit lowest limit
+     * @param maxLimit highest limit
+     * @return this
+     */
+    public ConcurrencyLimitPolicy setLimits(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+        return this;
+    }
+
+    /**
+     * Ratio the limit is multiplied by when the server is overloaded.
+     *
+     * @param backoffRatio ratio between 0 and 1, e.g. 0.9
+     * @return this
+     */
+    public ConcurrencyLimitPolicy setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * Multiple of the lowest recent latency above which a call shows the server is overloaded.
+     *
+     * @param latencyTolerance multiple of the lowest latency, e.g. 2.0
+     * @return this
+     */
+    public ConcurrencyLimitPolicy setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+        return this;
+    }
+
+    /**
+     * Number of calls after which the lowest latency is measured again, so the limiter follows
+     * a server that got slower for good.
+     *
+     * @param latencyWindow number of calls
+     * @return this
+     */
+    public ConcurrencyLimitPolicy setLatencyWindow(int latencyWindow) {
+        this.latencyWindow = latencyWindow;
+        return this;
+    }
+
+    /**
+     * How long a request over the limit waits for a slot before it fails.
+     *
+     * @param maxWait maximum wait, 0 to fail straight away
+     * @param unit unit for the wait
+     * @return this
+     */
+    public ConcurrencyLimitPolicy setMaxWait(long maxWait, TimeUnit unit) {
+        this.maxWaitMillis = unit.toMillis(maxWait);
+        return this;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public int getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.ItemList;
+import com.oracle.content.sdk.model.taxonomy.Taxonomy;
+import com.oracle.content.sdk.model.taxonomy.TaxonomyCategory;
+
+/**
+ * Maps taxonomy category node ids to the assets in them, learned from every asset the client
+ * deserializes, so facet counts and category intersections can be answered without a search
+ * request per category.
+ * <p>
+ * An asset is in a category if the category is anywhere on the path of one of its categories,
+ * the same as a search on {@code taxonomies.categories.nodes.id}.  The counts only cover the
+ * assets the client has seen; with a {@link com.oracle.content.sdk.mirror.ContentMirror} that
+ * is every mirrored asset.  Assets deserialized without their taxonomies (e.g. when the fields
+ * were limited) keep the categories they were last indexed with.
+ * <p>
+ * Each asset is given a dense ordinal and each category holds a {@link BitSet} of ordinals.
+ * The ordinal of a removed asset is given to the next new asset, so the index and its bit
+ * sets are as large as the most assets indexed at once.  Assets that are only seen, e.g. in
+ * ad-hoc searches, stay indexed until they are removed or the index is cleared.
+ * See {@link ContentSettings#setCategoryIndexEnabled(boolean)}.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class ContentCategoryIndex {
+
+    // ordinal by asset id, the ordinal of a removed asset is reused for the next new one
+    final private Map<String, Integer> ordinals = new HashMap<>();
+
+    // asset id and category node ids by ordinal, null if removed
+    final private List<String> ids = new ArrayList<>();
+    final private List<String[]> categories = new ArrayList<>();
+
+    // asset ordinals by category node id
+    final private Map<String, BitSet> assetsByCategory = new HashMap<>();
+
+    // ordinals of the assets currently indexed, the clear bits are free ordinals
+    final private BitSet indexed = new BitSet();
+
+    // no free ordinal below this one
+    private int firstFree = 0;
+
+    // assets to index before the next query, e.g. the content of a mirror store opened from a snapshot
+    final private List<Supplier<? extends Collection<? extends Asset>>> pending = new ArrayList<>();
+
+    // ids put or removed while assets are pending, which the pending assets must not overwrite
+    final private Set<String> changedWhilePending = new HashSet<>();
+
+    /**
+     * Record the categories of an asset, replacing any categories it was indexed with before.
+     *
+     * @param asset deserialized asset, ignored if null or without taxonomies
+     */
+    public void put(Asset asset) {
+        if (asset == null || asset.getId() == null || asset.getTaxonomies() == null) {
+            return;
+        }
+        put(asset.getId(), getCategoryNodeIds(asset));
+    }
+
+    /**
+     * Index assets the first time the index is queried rather than now, for assets that are
+     * expensive to get such as the content of a snapshot.  Assets put or removed in the
+     * meantime are newer and are not replaced by the pending ones.
+     *
+     * @param assets supplier of the assets to index, called at most once
+     */
+    public synchronized void putLater(Supplier<? extends Collection<? extends Asset>> assets) {
+        pending.add(assets);
+    }
+
+    private void indexPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Supplier<? extends Collection<? extends Asset>>> suppliers = new ArrayList<>(pending);
+        pending.clear();
+        for (Supplier<? extends Collection<? extends Asset>> supplier : suppliers) {
+            for (Asset asset : supplier.get()) {
+                if (asset != null && !changedWhilePending.contains(asset.getId())) {
+                    put(asset);
+                }
+            }
+        }
+        changedWhilePending.clear();
+    }
+
+    /**
+     * Record the category node ids an asset is in.
+     *
+     * @param id asset id
+     * @param nodeIds category node ids, including all ancestor categories
+     */
+    public synchronized void put(String id, Collection<String> nodeIds) {
+        if (!pending.isEmpty()) {
+            changedWhilePending.add(id);
+        }
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null) {
+            ordinal = indexed.nextClearBit(firstFree);
+            firstFree = ordinal + 1;
+            ordinals.put(id, ordinal);
+            if (ordinal == ids.size()) {
+                ids.add(id);
+                categories.add(null);
+            } else {
+                ids.set(ordinal, id);
+            }
+        } else {
+            clearCategories(ordinal);
+        }
+        String[] nodes = nodeIds.toArray(new String[0]);
+        for (String nodeId : nodes) {
+            assetsByCategory.computeIfAbsent(nodeId, key -> new BitSet()).set(ordinal);
+        }
+        categories.set(ordinal, nodes);
+        indexed.set(ordinal);
+    }
+
+    /**
+     * Forget an asset, e.g. because it was deleted.
+     *
+     * @param id asset id
+     */
+    public synchronized void remove(String id) {
+        if (!pending.isEmpty()) {
+            changedWhilePending.add(id);
+        }
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            clearCategories(ordinal);
+            ids.set(ordinal, null);
+            categories.set(ordinal, null);
+            indexed.clear(ordinal);
+            firstFree = Math.min(firstFree, ordinal);
+        }
+    }
+
+    private void clearCategories(int ordinal) {
+        String[] nodes = categories.get(ordinal);
+        if (nodes != null) {
+            for (String nodeId : nodes) {
+                BitSet assets = assetsByCategory.get(nodeId);
+                assets.clear(ordinal);
+                if (assets.isEmpty()) {
+                    assetsByCategory.remove(nodeId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the node ids of all categories of an asset, including ancestors.
+     *
+     * @param asset asset with taxonomies
+     * @return category node ids, empty if none
+     */
+    public static Set<String> getCategoryNodeIds(Asset asset) {
+        Set<String> nodeIds = new LinkedHashSet<>();
+        ItemList<Taxonomy> taxonomies = asset.getTaxonomies();
+        if (taxonomies != null && taxonomies.getItems() != null) {
+            for (Taxonomy taxonomy : taxonomies.getItems()) {
+                ItemList<TaxonomyCategory> list = taxonomy.getCategories();
+                if (list == null || list.getItems() == null) {
+                    continue;
+                }
+                for (TaxonomyCategory category : list.getItems()) {
+                    if (category.getNodes() != null && !category.getNodes().isEmpty()) {
+                        for (TaxonomyCategory.Node node : category.getNodes()) {
+                            nodeIds.add(node.getId());
+                        }
+                    } else if (category.getId() != null) {
+                        nodeIds.add(category.getId());
+                    }
+                }
+            }
+        }
+        return nodeIds;
+    }
+
+    /**
+     * @param nodeId category node id
+     * @return number of indexed assets in the category
+     */
+    public synchronized int getCount(String nodeId) {
+        indexPending();
+        BitSet assets = assetsByCategory.get(nodeId);
+        return assets != null ? assets.cardinality() : 0;
+    }
+
+    /**
+     * Count the indexed assets in each category.
+     *
+     * @param nodeIds category node ids
+     * @return count by node id, in the order given
+     */
+    public Map<String, Integer> getFacetCounts(Collection<String> nodeIds) {
+        return getFacetCounts(nodeIds, null);
+    }
+
+    /**
+     * Count the indexed assets in each category that are also in all of the selected
+     * categories, as for a facet panel where some facets are already selected.
+     *
+     * @param nodeIds category node ids to count
+     * @param selectedNodeIds category node ids the assets must all be in, or null
+     * @return count by node id, in the order given
+     */
+    public synchronized Map<String, Integer> getFacetCounts(Collection<String> nodeIds, Collection<String> selectedNodeIds) {
+        indexPending();
+        BitSet selected = selectedNodeIds != null ? intersect(selectedNodeIds) : null;
+        BitSet scratch = new BitSet();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String nodeId : nodeIds) {
+            BitSet assets = assetsByCategory.get(nodeId);
+            int count = 0;
+            if (assets != null) {
+                if (selected == null) {
+                    count = assets.cardinality();
+                } else {
+                    scratch.clear();
+                    scratch.or(assets);
+                    scratch.and(selected);
+                    count = scratch.cardinality();
+                }
+            }
+            counts.put(nodeId, count);
+        }
+        return counts;
+    }
+
+    /**
+     * Get the ids of the indexed assets that are in all of the categories.
+     *
+     * @param nodeIds category node ids
+     * @return asset ids, in ordinal order
+     */
+    public synchronized List<String> getAssetIds(Collection<String> nodeIds) {
+        indexPending();
+        return toIds(intersect(nodeIds));
+    }
+
+    /**
+     * Get the ids of the indexed assets that are in any of the categories.
+     *
+     * @param nodeIds category node ids
+     * @return asset ids, in ordinal order
+     */
+    public synchronized List<String> getAssetIdsInAny(Collection<String> nodeIds) {
+        indexPending();
+        BitSet union = new BitSet();
+        for (String nodeId : nodeIds) {
+            BitSet assets = assetsByCategory.get(nodeId);
+            if (assets != null) {
+                union.or(assets);
+            }
+        }
+        return toIds(union);
+    }
+
+    // assets in all the categories, all indexed assets if no categories are given
+    private BitSet intersect(Collection<String> nodeIds) {
+        BitSet result = (BitSet) indexed.clone();
+        for (String nodeId : nodeIds) {
+            BitSet assets = assetsByCategory.get(nodeId);
+            if (assets == null) {
+                return new BitSet();
+            }
+            result.and(assets);
+        }
+        return result;
+    }
+
+    private List<String> toIds(BitSet assets) {
+        List<String> result = new ArrayList<>(assets.cardinality());
+        for (int i = assets.nextSetBit(0); i >= 0; i = assets.nextSetBit(i + 1)) {
+            result.add(ids.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * @param id asset id
+     * @return true if the asset is indexed
+     */
+    public synchronized boolean contains(String id) {
+        indexPending();
+        return ordinals.containsKey(id);
+    }
+
+    public synchronized void clear() {
+        pending.clear();
+        changedWhilePending.clear();
+        ordinals.clear();
+        ids.clear();
+        categories.clear();
+        assetsByCategory.clear();
+        indexed.clear();
+        firstFree = 0;
+    }
+
+    /**
+     * @return number of indexed assets
+     */
+    public synchronized int size() {
+        indexPending();
+        return indexed.cardinality();
+    }
+}
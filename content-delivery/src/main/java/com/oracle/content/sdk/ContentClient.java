@@ -11,12 +11,16 @@ import com.google.gson.JsonElement;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import okhttp3.Cache;
 import okhttp3.CacheControl;
 import okhttp3.HttpUrl;
+import okhttp3.EventListener;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -58,6 +62,12 @@ abstract public class ContentClient {
     // the authentication policy in use for this client
     final AuthenticationPolicy authenticationPolicy;
 
+    // slug to id index, null if disabled
+    final private ContentSlugIndex slugIndex;
+
+    // category to asset index, null if disabled
+    final private ContentCategoryIndex categoryIndex;
+
     // gson converter to use for converting json from SDK responses to objects
     protected static Gson gson;
 
@@ -86,6 +96,8 @@ abstract public class ContentClient {
     ) {
 
         this.settings = settings;
+        this.slugIndex = settings.getSlugIndexSize() > 0 ? new ContentSlugIndex(settings.getSlugIndexSize()) : null;
+        this.categoryIndex = settings.isCategoryIndexEnabled() ? new ContentCategoryIndex() : null;
 
         // base url into HttpUrl
         this.baseUrl = HttpUrl.parse(contentServer);
@@ -128,11 +140,104 @@ abstract public class ContentClient {
      * @param message Message to log
      */
     public static void log(Level priority, String tag, String message) {
-        if (sContentLogging.isEnabled()) {
+        if (sContentLogging.isEnabled(priority)) {
             sContentLogging.log(priority, tag, message);
         }
     }
 
+    /**
+     * Called internally to log messages that need to be built (e.g. string concatenation).
+     * The supplier is only called if the message will be logged, so there is no cost
+     * when logging is disabled.
+     *
+     * @param priority log priority (e.g. Log.DEBUG)
+     * @param tag Logging tag (e.g. class name)
+     * @param message Supplier of the message to log
+     */
+    public static void log(Level priority, String tag, Supplier<String> message) {
+        if (sContentLogging.isEnabled(priority)) {
+            sContentLogging.log(priority, tag, message.get());
+        }
+    }
+
+    /**
+     * Get the metrics set in the {@link ContentSettings} for this client.
+     *
+     * @return metrics for this client, or null if none
+     */
+    public ContentMetrics getMetrics() {
+        return settings.getMetrics();
+    }
+
+    /**
+     * Get the index of slugs to ids for assets deserialized by this client.
+     *
+     * @return slug index, or null if disabled in the {@link ContentSettings}
+     */
+    public ContentSlugIndex getSlugIndex() {
+        return slugIndex;
+    }
+
+    /**
+     * Get the index of taxonomy categories to assets deserialized by this client.
+     *
+     * @return category index, or null if not enabled in the {@link ContentSettings}
+     */
+    public ContentCategoryIndex getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    /**
+     * Are assets deserialized by this client compacted?  See {@link ContentSettings#setCompactAssets(boolean)}
+     *
+     * @return true if assets are compacted
+     */
+    public boolean isCompactAssets() {
+        return settings.isCompactAssets();
+    }
+
+    /**
+     * Do responses of this client drop their json once deserialized?  See {@link ContentSettings#setLeanResponses(boolean)}
+     *
+     * @return true if responses are lean
+     */
+    public boolean isLeanResponses() {
+        return settings.isLeanResponses();
+    }
+
+    /**
+     * Get the executor to deserialize large pages of items on.  See
+     * {@link ContentSettings#setParallelDeserialization(int, Executor)}
+     *
+     * @return executor, or null if items are not deserialized in parallel
+     */
+    public Executor getDeserializationExecutor() {
+        if (settings.getParallelDeserializationThreshold() <= 0) {
+            return null;
+        }
+        Executor executor = settings.getDeserializationExecutor();
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Get the number of items in a page needed to deserialize in parallel.
+     *
+     * @return number of items
+     */
+    public int getParallelDeserializationThreshold() {
+        return settings.getParallelDeserializationThreshold();
+    }
+
+    /**
+     * Get the endpoint name used by {@link ContentMetrics} for a request made by the SDK.
+     *
+     * @param request http request
+     * @return endpoint name
+     */
+    public static String getEndpointName(Request request) {
+        return ContentMetricsEventListener.getEndpointName(request);
+    }
+
     /**
      * For more detail, see {@link ContentDeliveryClient#buildDigitalAssetDownloadUrl(String)}
      * This is defined in the base class for future use in a management client.
@@ -236,6 +341,18 @@ abstract public class ContentClient {
 
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
 
+        // hedge slow requests?  must come first so each attempt runs the rest of the chain
+        HedgingInterceptor hedgingInterceptor = null;
+        if (settings.getHedgingPolicy() != null) {
+            hedgingInterceptor = new HedgingInterceptor(settings.getHedgingPolicy(), settings.getMetrics());
+            builder.addInterceptor(hedgingInterceptor);
+        }
+
+        // retry transient errors?
+        if (settings.getRetryPolicy() != null) {
+            builder.addInterceptor(new RetryInterceptor(settings.getRetryPolicy(), settings.getMetrics()));
+        }
+
         // authentication policy (this shouldn't be null)
         builder.addInterceptor(authenticationPolicy.getInterceptor());
 
@@ -257,16 +374,36 @@ abstract public class ContentClient {
 
         }
 
+        // circuit breaker?  comes after the offline cache so it can force a cached response
+        if (settings.getCircuitBreakerPolicy() != null) {
+            builder.addInterceptor(new CircuitBreakerInterceptor(settings.getCircuitBreakerPolicy(),
+                    settings.getMetrics(), cacheSettings != null && cacheSettings.isEnabled()));
+        }
+
+        // limit requests in flight?  after the circuit breaker so short circuited requests take no slot,
+        // the breaker does not count requests the limiter sheds
+        if (settings.getConcurrencyLimitPolicy() != null) {
+            builder.addInterceptor(new ConcurrencyLimitInterceptor(settings.getConcurrencyLimitPolicy(),
+                    settings.getMetrics()));
+        }
+
         // timeout for connection
         if (settings.getConnectionTimeoutSeconds() != null) {
             int secondsTimeout = settings.getConnectionTimeoutSeconds();
 
-            log(TAG, "override connection timeout value to " + secondsTimeout + "  seconds");
+            log(TAG, () -> "override connection timeout value to " + secondsTimeout + "  seconds");
             builder.connectTimeout(secondsTimeout, TimeUnit.SECONDS);
             builder.readTimeout(secondsTimeout, TimeUnit.SECONDS);
             builder.callTimeout(secondsTimeout, TimeUnit.SECONDS);
         }
 
+        // report call timings?
+        if (settings.getMetrics() != null) {
+            EventListener.Factory factory = ContentMetricsEventListener.factory(settings.getMetrics());
+            builder.eventListenerFactory(hedgingInterceptor != null ?
+                    HedgingInterceptor.attemptsOnly(factory) : factory);
+        }
+
         // is http logging enabled?
         if (sContentLogging.isHttpEnabled()) {
             log(TAG, "http logging enabled!");
@@ -276,7 +413,11 @@ abstract public class ContentClient {
             log(TAG, "http logging disabled");
         }
 
-        return builder.build();
+        OkHttpClient client = builder.build();
+        if (hedgingInterceptor != null) {
+            hedgingInterceptor.setClient(client);
+        }
+        return client;
     }
 
 
@@ -290,6 +431,17 @@ abstract public class ContentClient {
         log(Level.INFO, tag, message);
     }
 
+    /**
+     * Helper method to Log messages using the logging policy, the message is only
+     * built if it will be logged.
+     *
+     * @param tag logging tag
+     * @param message supplier of the logging message
+     */
+    static public void log(String tag, Supplier<String> message) {
+        log(Level.INFO, tag, message);
+    }
+
     /**
      * Helper method to generate a ContentException (used internally).
      *
@@ -315,17 +467,18 @@ abstract public class ContentClient {
                     contentError = gson.fromJson(errorBody.string(), ContentError.class);
                 } catch (Exception e) {
                     log(TAG, "error parsing json response:");
-                    log(TAG, errorBody.toString());
+                    log(TAG, errorBody::toString);
                 }
             } else {
                 log(TAG, "response error body is empty");
             }
             // was able to parse the error?
             if (contentError != null && contentError.getStatus() != null) {
-                responseCode = contentError.getStatus();
-                log(TAG, "contentError.detail=" + contentError.getDetail());
-                log(TAG, "contentError.title=" + contentError.getTitle());
-                log(TAG, "contentError.status=" + contentError.getStatus());
+                final ContentError error = contentError;
+                responseCode = error.getStatus();
+                log(TAG, () -> "contentError.detail=" + error.getDetail());
+                log(TAG, () -> "contentError.title=" + error.getTitle());
+                log(TAG, () -> "contentError.status=" + error.getStatus());
                 if (contentError.getStatus() == 404) {
                     reason = ContentException.REASON.itemNotFound;
                 }
@@ -7,6 +7,10 @@ package com.oracle.content.sdk;
 
 import com.oracle.content.sdk.model.digital.DigitalAsset;
 import com.oracle.content.sdk.model.digital.RenditionType;
+import com.oracle.content.sdk.mirror.ContentMirror;
+import com.oracle.content.sdk.mirror.InMemoryContentMirrorStore;
+import com.oracle.content.sdk.language.LanguageVariationResolver;
+import com.oracle.content.sdk.taxonomy.TaxonomyTreeLoader;
 import com.oracle.content.sdk.request.core.ContentRequest;
 import com.oracle.content.sdk.request.core.RestApiInterfaceV1;
 
@@ -115,6 +119,37 @@ public class ContentDeliveryClient extends ContentClient {
      */
     public RestApiInterfaceV1 getApi() {return apiInterfaceV1;}
 
+    /**
+     * Create a {@link ContentMirror} that keeps an in-memory replica of the assets matching
+     * the filter, synced incrementally from this client.
+     *
+     * @param filter SCIM filter for the assets to mirror, or null for the whole channel
+     * @return mirror (not yet synced)
+     */
+    public ContentMirror createMirror(String filter) {
+        return new ContentMirror(this, new InMemoryContentMirrorStore(), filter);
+    }
+
+    /**
+     * Create a {@link TaxonomyTreeLoader} that loads the published taxonomies and their
+     * categories from this client into an in-memory tree.
+     *
+     * @return loader (not yet loaded)
+     */
+    public TaxonomyTreeLoader createTaxonomyTreeLoader() {
+        return new TaxonomyTreeLoader(this);
+    }
+
+    /**
+     * Create a {@link LanguageVariationResolver} that resolves many items to their variation
+     * in a preferred language, caching the variation sets it learns.
+     *
+     * @return resolver with an empty cache
+     */
+    public LanguageVariationResolver createLanguageVariationResolver() {
+        return new LanguageVariationResolver(this);
+    }
+
     /**
      * When a DigitalAsset has been fully retrieved with all properties, the method
      * {@link DigitalAsset#getNativeDownloadUrl()} ()} should be used to get the download url
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import retrofit2.Call;
+
+/**
+ * Emits Java Flight Recorder events for SDK requests, used internally by the
+ * request classes.  Each request is recorded as a "com.oracle.content.sdk.Request" event
+ * with the endpoint, http status, {@link ContentResponse.CacheState}, response size,
+ * deserialization time and the {@link ContentException.REASON} if the request failed.
+ * <p>
+ * This is the Java 8 and Android version, where all methods do nothing.  The SDK jar is a
+ * multi-release jar, and on Java 11 or later this class is replaced by the version in
+ * META-INF/versions/11 that records the events.  Events are only created while a recording
+ * has the event enabled, for example:
+ * <pre>
+ *     java -XX:StartFlightRecording:filename=sdk.jfr ...
+ * </pre>
+ * The event objects are passed around as {@link Object} so that callers never load
+ * the jdk.jfr classes.  A null event means nothing is being recorded.
+ */
+public final class ContentEvents {
+
+    private ContentEvents() {}
+
+    /**
+     * Start recording a request.
+     *
+     * @param async true if the request is asynchronous
+     * @return the event, or null if request events are not being recorded
+     */
+    public static Object requestStart(boolean async) {
+        return null;
+    }
+
+    /**
+     * Record the http response for a request.
+     *
+     * @param event event from {@link #requestStart(boolean)}, may be null
+     * @param rawResponse the raw http response
+     */
+    public static void requestResponse(Object event, okhttp3.Response rawResponse) {
+    }
+
+    /**
+     * Record the time taken to deserialize the result object.
+     *
+     * @param event event from {@link #requestStart(boolean)}, may be null
+     * @param durationNanos deserialization time in nanoseconds
+     */
+    public static void requestDeserialized(Object event, long durationNanos) {
+    }
+
+    /**
+     * Finish recording a request and commit the event.
+     *
+     * @param event event from {@link #requestStart(boolean)}, may be null
+     * @param call the call, used for the endpoint if there was no response (may be null)
+     * @param response the SDK response
+     */
+    public static void requestEnd(Object event, Call<?> call, ContentResponse<?> response) {
+    }
+}
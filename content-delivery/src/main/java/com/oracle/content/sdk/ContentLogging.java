@@ -78,8 +78,28 @@ public class ContentLogging {
         return logLevel;
     }
 
+    /**
+     * Is any SDK logging enabled?  This is false for {@link LogLevel#NONE}.
+     *
+     * @return true if messages will be logged
+     */
     public boolean isEnabled() {
-        return logLevel != null;
+        return logLevel != null && logLevel != LogLevel.NONE;
+    }
+
+    /**
+     * Would a message at the given priority be logged?  {@link LogLevel#INFO} logs
+     * {@link Level#INFO} and above, {@link LogLevel#HTTP} logs all priorities.
+     * Use this to skip building log messages that would be discarded.
+     *
+     * @param priority log priority (e.g. Level.INFO)
+     * @return true if a message with this priority will be logged
+     */
+    public boolean isEnabled(Level priority) {
+        if (!isEnabled()) {
+            return false;
+        }
+        return logLevel == LogLevel.HTTP || priority.intValue() >= Level.INFO.intValue();
     }
 
     public boolean isHttpEnabled() {
@@ -87,7 +107,7 @@ public class ContentLogging {
     }
 
     public void log(Level priority, String tag, String message) {
-        if (isEnabled()) {
+        if (isEnabled(priority)) {
             logCallback.log( priority, tag, message);
         }
     }
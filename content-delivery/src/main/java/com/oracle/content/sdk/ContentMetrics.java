@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+/**
+ * Instrumentation interface for SDK calls.  Set an implementation with
+ * {@link ContentSettings#setMetrics(ContentMetrics)} to receive per-endpoint timings, cache
+ * results and bytes transferred, typically to forward them into a metrics registry such as
+ * Micrometer (e.g. one Timer per {@link Timing} tagged with the endpoint).
+ * <p>
+ * All methods have empty default implementations so only the values of interest need to be
+ * overridden.  When no metrics are set on the client no listener is installed, so there is no
+ * overhead.  Methods may be called from OkHttp dispatcher threads and must be thread-safe and fast.
+ * <p>
+ * The endpoint name is the relative url template of the REST call, for example
+ * "content/published/api/v1.1/items/{ID}", so it has a small fixed number of values.
+ */
+@SuppressWarnings("unused")
+public interface ContentMetrics {
+
+    /**
+     * Endpoint name used when the REST call could not be determined.
+     */
+    String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    /**
+     * The phases of an SDK call that are timed.
+     */
+    enum Timing {
+        DNS,                // dns lookup
+        CONNECT,            // tcp connect, including TLS
+        TLS,                // TLS handshake
+        TIME_TO_FIRST_BYTE, // request sent until response headers start
+        RESPONSE_BODY,      // reading the response body (includes json parsing, which is streamed)
+        CALL,               // entire http call, from start to end
+        TRANSFORM,          // building the ContentResponse and deserializing the result object
+        DESERIALIZE         // deserializing the json into the result object
+    }
+
+    /**
+     * How the http cache was used for a call.
+     */
+    enum CacheResult {
+        HIT,                // served from the cache
+        CONDITIONAL_HIT,    // cached response was validated with the server
+        MISS,               // not in the cache, fetched from the network
+        NONE                // cache not enabled for the client
+    }
+
+    /**
+     * State of the client circuit breaker, see {@link CircuitBreakerPolicy}.
+     */
+    enum CircuitState {
+        CLOSED,             // requests go to the server
+        OPEN,               // requests are answered from the cache or fail
+        HALF_OPEN           // a few probe requests go to the server
+    }
+
+    /**
+     * Record the duration of a single phase of a call.
+     *
+     * @param endpoint endpoint name
+     * @param timing the phase that was timed
+     * @param durationNanos duration in nanoseconds
+     */
+    default void recordTiming(String endpoint, Timing timing, long durationNanos) {
+    }
+
+    /**
+     * Record the completion of an http call.
+     *
+     * @param endpoint endpoint name
+     * @param httpCode http status code, or 0 if the call failed without a response
+     * @param cacheResult how the cache was used
+     * @param bytesReceived number of response body bytes read from the network
+     */
+    default void recordCall(String endpoint, int httpCode, CacheResult cacheResult, long bytesReceived) {
+    }
+
+    /**
+     * Record that a second request was made for a slow call, see {@link HedgingPolicy}.
+     * Called when the call completes.
+     *
+     * @param endpoint endpoint name
+     * @param hedgeWon true if the second request returned first
+     */
+    default void recordHedge(String endpoint, boolean hedgeWon) {
+    }
+
+    /**
+     * Record that a call is being retried after a transient error, see {@link RetryPolicy}.
+     *
+     * @param endpoint endpoint name
+     * @param httpCode http status code of the failed attempt, or 0 if it failed to connect
+     */
+    default void recordRetry(String endpoint, int httpCode) {
+    }
+
+    /**
+     * Record that a call failed with a transient error and was not retried again, because
+     * its retries or the client retry budget were used up.
+     *
+     * @param endpoint endpoint name
+     * @param httpCode http status code of the last attempt, or 0 if it failed to connect
+     * @param budgetExhausted true if the client retry budget was used up
+     */
+    default void recordRetryExhausted(String endpoint, int httpCode, boolean budgetExhausted) {
+    }
+
+    /**
+     * Record the concurrency limit of an endpoint, when it is first used and whenever it
+     * changes.  See {@link ConcurrencyLimitPolicy}
+     *
+     * @param endpoint endpoint name
+     * @param limit maximum requests in flight
+     */
+    default void recordConcurrencyLimit(String endpoint, int limit) {
+    }
+
+    /**
+     * Record that a request failed without being sent because the concurrency limit of the
+     * endpoint was reached.
+     *
+     * @param endpoint endpoint name
+     */
+    default void recordShed(String endpoint) {
+    }
+
+    /**
+     * Record that the circuit breaker changed state.
+     *
+     * @param state new state
+     */
+    default void recordCircuitState(CircuitState state) {
+    }
+
+    /**
+     * Record that a call was not sent to the server because the circuit breaker was open.
+     *
+     * @param endpoint endpoint name
+     * @param servedFromCache true if the call was answered from the cache, false if it failed
+     */
+    default void recordShortCircuit(String endpoint, boolean servedFromCache) {
+    }
+}
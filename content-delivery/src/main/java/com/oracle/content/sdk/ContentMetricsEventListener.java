@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+
+/**
+ * OkHttp event listener that reports the phases of a single call to {@link ContentMetrics}.
+ * A new listener is created for each call, so the state here is not shared between threads.
+ */
+class ContentMetricsEventListener extends EventListener {
+
+    // endpoint names resolved from the retrofit interface methods
+    private static final Map<Method, String> sEndpointNames = new ConcurrentHashMap<>();
+
+    final private ContentMetrics metrics;
+
+    final private String endpoint;
+
+    // start times in nanoseconds
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestSent;
+    private long responseBodyStart;
+
+    private int httpCode = 0;
+    private long bytesReceived = 0;
+    private ContentMetrics.CacheResult cacheResult = ContentMetrics.CacheResult.NONE;
+
+    ContentMetricsEventListener(ContentMetrics metrics, String endpoint) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Create the factory to install on the OkHttp client.
+     *
+     * @param metrics metrics to report to
+     * @return event listener factory
+     */
+    static EventListener.Factory factory(final ContentMetrics metrics) {
+        return call -> new ContentMetricsEventListener(metrics, getEndpointName(call.request()));
+    }
+
+    /**
+     * Get the endpoint name for a request, which is the relative url from the retrofit
+     * annotation of the REST call.
+     *
+     * @param request http request
+     * @return endpoint name
+     */
+    static String getEndpointName(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return ContentMetrics.UNKNOWN_ENDPOINT;
+        }
+        Method method = invocation.method();
+        String name = sEndpointNames.get(method);
+        if (name == null) {
+            name = resolveEndpointName(method);
+            sEndpointNames.put(method, name);
+        }
+        return name;
+    }
+
+    private static String resolveEndpointName(Method method) {
+        String path = null;
+        GET get = method.getAnnotation(GET.class);
+        if (get != null) {
+            path = get.value();
+        } else {
+            HTTP http = method.getAnnotation(HTTP.class);
+            if (http != null) {
+                path = http.path();
+            }
+        }
+        if (path == null || path.isEmpty()) {
+            return method.getName();
+        }
+        // "/content/..." and "content/..." are the same endpoint
+        return path.charAt(0) == '/' ? path.substring(1) : path;
+    }
+
+    private void record(ContentMetrics.Timing timing, long start) {
+        if (start != 0) {
+            metrics.recordTiming(endpoint, timing, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void callStart(@NotNull Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NotNull Call call, @NotNull String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NotNull Call call, @NotNull String domainName,
+                       @NotNull List<InetAddress> inetAddressList) {
+        record(ContentMetrics.Timing.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress,
+                             @NotNull Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NotNull Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NotNull Call call, Handshake handshake) {
+        record(ContentMetrics.Timing.TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress,
+                           @NotNull Proxy proxy, Protocol protocol) {
+        record(ContentMetrics.Timing.CONNECT, connectStart);
+    }
+
+    @Override
+    public void requestHeadersEnd(@NotNull Call call, @NotNull Request request) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(@NotNull Call call, long byteCount) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(@NotNull Call call) {
+        record(ContentMetrics.Timing.TIME_TO_FIRST_BYTE, requestSent);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NotNull Call call, @NotNull Response response) {
+        httpCode = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(@NotNull Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NotNull Call call, long byteCount) {
+        bytesReceived += byteCount;
+        record(ContentMetrics.Timing.RESPONSE_BODY, responseBodyStart);
+    }
+
+    @Override
+    public void cacheHit(@NotNull Call call, @NotNull Response response) {
+        httpCode = response.code();
+        cacheResult = ContentMetrics.CacheResult.HIT;
+    }
+
+    @Override
+    public void cacheConditionalHit(@NotNull Call call, @NotNull Response cachedResponse) {
+        cacheResult = ContentMetrics.CacheResult.CONDITIONAL_HIT;
+    }
+
+    @Override
+    public void cacheMiss(@NotNull Call call) {
+        cacheResult = ContentMetrics.CacheResult.MISS;
+    }
+
+    @Override
+    public void callEnd(@NotNull Call call) {
+        record(ContentMetrics.Timing.CALL, callStart);
+        metrics.recordCall(endpoint, httpCode, cacheResult, bytesReceived);
+    }
+
+    @Override
+    public void callFailed(@NotNull Call call, @NotNull IOException ioe) {
+        record(ContentMetrics.Timing.CALL, callStart);
+        metrics.recordCall(endpoint, 0, cacheResult, bytesReceived);
+    }
+}
@@ -153,7 +153,9 @@ public class ContentResponse<C extends AssetObject> implements Serializable {
     }
 
     /**
-     * Get response body as a JsonElement, or null in the case of an error
+     * Get response body as a JsonElement, or null in the case of an error.  This is also null
+     * for a client with lean responses, unless the request asked to keep the json.  See
+     * {@link ContentSettings#setLeanResponses(boolean)}
      *
      * @return return body of response as json element
      */
@@ -161,6 +163,14 @@ public class ContentResponse<C extends AssetObject> implements Serializable {
         return this.body;
     }
 
+    /**
+     * Drop the json body once the result has been deserialized, so only the result object
+     * is held.  {@link #getAsJson()} returns null afterwards.
+     */
+    public void releaseJson() {
+        this.body = null;
+    }
+
     /**
      * Is the response the result of a successful request?
      * If not, then get more detailed errors from {@link #getException()}
@@ -189,7 +199,7 @@ public class ContentResponse<C extends AssetObject> implements Serializable {
 
         // is the response cached?
         if (response != null && response.cacheResponse() != null) {
-            ContentClient.log(Level.INFO, TAG , "cached response");
+            ContentClient.log(Level.INFO, TAG, "cached response");
             this.cacheState = CacheState.CACHED;
         }
 
@@ -6,6 +6,7 @@
 package com.oracle.content.sdk;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 
 /**
  * For finer control over the SDK settings, such as enabling the cache or changing the connection timeout.
@@ -22,6 +23,39 @@ public class ContentSettings {
     // User-Agent header to send with requests
     private String userAgentHeader = null;
 
+    // metrics to report call timings to, null for none
+    private ContentMetrics metrics = null;
+
+    // number of slugs to map to ids, 0 to disable
+    private int slugIndexSize = 0;
+
+    // index asset categories for local facet counts
+    private boolean categoryIndexEnabled = false;
+
+    // reduce the memory held by deserialized assets
+    private boolean compactAssets = false;
+
+    // drop the json of responses once deserialized
+    private boolean leanResponses = false;
+
+    // deserialize pages of at least this many items in parallel, 0 for never
+    private int parallelDeserializationThreshold = 0;
+
+    // executor for parallel deserialization, null for the common ForkJoinPool
+    private Executor deserializationExecutor = null;
+
+    // policy for hedging slow requests, null for none
+    private HedgingPolicy hedgingPolicy = null;
+
+    // policy for retrying transient errors, null for none
+    private RetryPolicy retryPolicy = null;
+
+    // policy for the circuit breaker, null for none
+    private CircuitBreakerPolicy circuitBreakerPolicy = null;
+
+    // policy for limiting requests in flight per endpoint, null for no limit
+    private ConcurrencyLimitPolicy concurrencyLimitPolicy = null;
+
     /**
      * Construct general settings, using defaults (no cache, default timeout)
      */
@@ -52,6 +86,136 @@ public class ContentSettings {
         return this;
     }
 
+    /**
+     * Set the metrics implementation that will receive per-endpoint timings, cache results
+     * and bytes transferred for each SDK call.  See {@link ContentMetrics}
+     *
+     * @param metrics metrics to report to, or null for none (default)
+     * @return this
+     */
+    public ContentSettings setMetrics(ContentMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Set the number of slugs the client remembers the id for.  Requests by slug for a known
+     * asset are made by id, so they share the cache with requests by id.  Off by default,
+     * {@link ContentSlugIndex#DEFAULT_SIZE} is a reasonable size.  See {@link ContentSlugIndex}
+     *
+     * @param slugIndexSize maximum number of slugs, or 0 to always request by slug
+     * @return this
+     */
+    public ContentSettings setSlugIndexSize(int slugIndexSize) {
+        this.slugIndexSize = slugIndexSize;
+        return this;
+    }
+
+    /**
+     * Index the taxonomy categories of every asset the client deserializes, so facet counts
+     * can be answered locally.  Off by default since the index grows with every distinct asset
+     * seen, including the results of ad-hoc searches.  Assets removed from the index, e.g. by a
+     * {@link com.oracle.content.sdk.mirror.ContentMirror} sync, free their place for new ones,
+     * but a long-running client that sees many different assets outside a mirror should call
+     * {@link ContentCategoryIndex#clear()} from time to time.
+     * See {@link ContentCategoryIndex}
+     *
+     * @param categoryIndexEnabled true to index asset categories
+     * @return this
+     */
+    public ContentSettings setCategoryIndexEnabled(boolean categoryIndexEnabled) {
+        this.categoryIndexEnabled = categoryIndexEnabled;
+        return this;
+    }
+
+    /**
+     * Compact every asset the client deserializes, for apps that hold many assets in memory.
+     * Links are also dropped from assets requested with linksNone().
+     * See {@link com.oracle.content.sdk.model.Asset#compact(boolean)}
+     *
+     * @param compactAssets true to compact assets
+     * @return this
+     */
+    public ContentSettings setCompactAssets(boolean compactAssets) {
+        this.compactAssets = compactAssets;
+        return this;
+    }
+
+    /**
+     * Drop the json of each response once it has been deserialized, so a response only holds
+     * the result object.  The items of list results are then deserialized straight away
+     * instead of on first use.  {@link ContentResponse#getAsJson()} returns null, except for
+     * requests made with keepJson().
+     *
+     * @param leanResponses true to drop the json of responses
+     * @return this
+     */
+    public ContentSettings setLeanResponses(boolean leanResponses) {
+        this.leanResponses = leanResponses;
+        return this;
+    }
+
+    /**
+     * Deserialize the items of large list and search results in parallel.  Items keep the
+     * order of the response.  Smaller pages are deserialized on the calling thread, since
+     * handing them to other threads costs more than it saves.
+     *
+     * @param threshold number of items in a page needed to deserialize in parallel, 0 to never (default)
+     * @param executor executor to deserialize on, or null for the common ForkJoinPool
+     * @return this
+     */
+    public ContentSettings setParallelDeserialization(int threshold, Executor executor) {
+        this.parallelDeserializationThreshold = threshold;
+        this.deserializationExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Hedge slow GET requests by sending a second request and using the first response.
+     * See {@link HedgingPolicy}
+     *
+     * @param hedgingPolicy hedging policy, or null to never hedge (default)
+     * @return this
+     */
+    public ContentSettings setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        return this;
+    }
+
+    /**
+     * Retry idempotent requests that fail with a transient error.  See {@link RetryPolicy}
+     *
+     * @param retryPolicy retry policy, or null to never retry (default)
+     * @return this
+     */
+    public ContentSettings setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Stop calling the server while it is failing or slow, answering requests from the
+     * offline cache or failing them straight away.  See {@link CircuitBreakerPolicy}
+     *
+     * @param circuitBreakerPolicy circuit breaker policy, or null for none (default)
+     * @return this
+     */
+    public ContentSettings setCircuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+        this.circuitBreakerPolicy = circuitBreakerPolicy;
+        return this;
+    }
+
+    /**
+     * Limit the requests in flight to each endpoint, adapting the limit to the latency of the
+     * server.  See {@link ConcurrencyLimitPolicy}
+     *
+     * @param concurrencyLimitPolicy concurrency limit policy, or null for no limit (default)
+     * @return this
+     */
+    public ContentSettings setConcurrencyLimitPolicy(ConcurrencyLimitPolicy concurrencyLimitPolicy) {
+        this.concurrencyLimitPolicy = concurrencyLimitPolicy;
+        return this;
+    }
 
     /**
      * Set more specific set of cache settings.  See {@link CacheSettings}
@@ -78,4 +242,26 @@ public class ContentSettings {
     }
 
     public String getUserAgentHeader() { return userAgentHeader; }
+
+    public ContentMetrics getMetrics() { return metrics; }
+
+    public int getSlugIndexSize() { return slugIndexSize; }
+
+    public boolean isCategoryIndexEnabled() { return categoryIndexEnabled; }
+
+    public boolean isCompactAssets() { return compactAssets; }
+
+    public boolean isLeanResponses() { return leanResponses; }
+
+    public int getParallelDeserializationThreshold() { return parallelDeserializationThreshold; }
+
+    public Executor getDeserializationExecutor() { return deserializationExecutor; }
+
+    public HedgingPolicy getHedgingPolicy() { return hedgingPolicy; }
+
+    public RetryPolicy getRetryPolicy() { return retryPolicy; }
+
+    public CircuitBreakerPolicy getCircuitBreakerPolicy() { return circuitBreakerPolicy; }
+
+    public ConcurrencyLimitPolicy getConcurrencyLimitPolicy() { return concurrencyLimitPolicy; }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.content.sdk.model.Asset;
+
+/**
+ * Maps asset slugs to ids, learned from every asset the client deserializes.  A request by
+ * slug for an asset that is already known is made with the id instead, so it shares the
+ * cache entry with requests by id rather than being fetched and cached a second time.
+ * <p>
+ * The index holds up to a maximum number of slugs, dropping the least recently used.
+ * See {@link ContentSettings#setSlugIndexSize(int)}.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class ContentSlugIndex {
+
+    // default number of slugs to keep
+    public static final int DEFAULT_SIZE = 1000;
+
+    final private int maxSize;
+
+    // ids by slug, in access order so the least recently used is dropped first
+    final private LinkedHashMap<String, String> idsBySlug;
+
+    // slugs by id, to drop the old slug when an asset's slug changes
+    final private Map<String, String> slugsById = new HashMap<>();
+
+    /**
+     * Create a slug index.
+     *
+     * @param maxSize maximum number of slugs to keep
+     */
+    public ContentSlugIndex(int maxSize) {
+        this.maxSize = maxSize;
+        this.idsBySlug = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if (size() > ContentSlugIndex.this.maxSize) {
+                    slugsById.remove(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Record the slug and id of an asset.
+     *
+     * @param asset deserialized asset, ignored if null or without a slug
+     */
+    public void put(Asset asset) {
+        if (asset != null) {
+            put(asset.getSlug(), asset.getId());
+        }
+    }
+
+    /**
+     * Record that a slug belongs to an asset id.
+     *
+     * @param slug asset slug
+     * @param id asset id
+     */
+    public synchronized void put(String slug, String id) {
+        if (slug == null || id == null) {
+            return;
+        }
+        String previousSlug = slugsById.put(id, slug);
+        if (previousSlug != null && !previousSlug.equals(slug)) {
+            idsBySlug.remove(previousSlug);
+        }
+        String previousId = idsBySlug.put(slug, id);
+        if (previousId != null && !previousId.equals(id)) {
+            slugsById.remove(previousId);
+        }
+    }
+
+    /**
+     * Get the id for a slug.
+     *
+     * @param slug asset slug
+     * @return asset id or null if the slug is not known
+     */
+    public synchronized String getId(String slug) {
+        return slug != null ? idsBySlug.get(slug) : null;
+    }
+
+    /**
+     * Get the slug for an id.
+     *
+     * @param id asset id
+     * @return slug or null if not known
+     */
+    public synchronized String getSlug(String id) {
+        return id != null ? slugsById.get(id) : null;
+    }
+
+    /**
+     * Forget a slug, e.g. because it no longer resolves to the recorded id.
+     *
+     * @param slug asset slug
+     */
+    public synchronized void remove(String slug) {
+        String id = idsBySlug.remove(slug);
+        if (id != null) {
+            slugsById.remove(id);
+        }
+    }
+
+    public synchronized void clear() {
+        idsBySlug.clear();
+        slugsById.clear();
+    }
+
+    public synchronized int size() {
+        return idsBySlug.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp interceptor that hedges slow GET requests as set by a {@link HedgingPolicy}.
+ * <p>
+ * The request is made as a separate attempt call on the same OkHttpClient, so the loser can be
+ * cancelled without cancelling the caller's call.  If the attempt has not completed within
+ * the hedging delay and the budget allows, a second attempt is made and the first response
+ * from either is returned.  Attempts are tagged so they pass straight through this
+ * interceptor; it must be the first interceptor so the rest of the chain runs once per attempt.
+ */
+class HedgingInterceptor implements Interceptor {
+
+    final private static String TAG = "HedgingInterceptor";
+
+    // number of recent latencies kept per endpoint
+    private static final int WINDOW_SIZE = 128;
+
+    // hedging tokens that can build up while requests are fast
+    private static final double MAX_TOKENS = 10;
+
+    // how often to check whether the caller cancelled while waiting
+    private static final long CANCEL_CHECK_MILLIS = 50;
+
+    // attempts run on their own threads, as enqueueing would wait on the dispatcher
+    // limits that the caller's call may itself be holding
+    private static final ExecutorService sAttemptExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, TAG);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Tag marking a request as an attempt made by the interceptor.
+     */
+    static final class Attempt {
+        final boolean hedge;
+
+        Attempt(boolean hedge) {
+            this.hedge = hedge;
+        }
+    }
+
+    final private HedgingPolicy policy;
+
+    final private ContentMetrics metrics;
+
+    // set once the client is built
+    private volatile OkHttpClient client;
+
+    final private Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    // budget of hedges, each request adds the budget share and a hedge takes one
+    private double tokens = 0;
+
+    HedgingInterceptor(HedgingPolicy policy, ContentMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    void setClient(OkHttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Wrap an event listener factory so only attempt calls are reported, since the caller's
+     * call of a hedged request never reaches the network.
+     *
+     * @param factory factory to wrap
+     * @return factory returning no listener for the caller's GET calls
+     */
+    static EventListener.Factory attemptsOnly(final EventListener.Factory factory) {
+        return call -> isHedgeable(call.request()) && call.request().tag(Attempt.class) == null ?
+                EventListener.NONE : factory.create(call);
+    }
+
+    private static boolean isHedgeable(Request request) {
+        return "GET".equals(request.method()) || "HEAD".equals(request.method());
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isHedgeable(request) || request.tag(Attempt.class) != null) {
+            return chain.proceed(request);
+        }
+
+        addToken();
+        String endpoint = ContentClient.getEndpointName(request);
+        LatencyWindow window = latencies.computeIfAbsent(endpoint, key -> new LatencyWindow());
+        Race race = new Race();
+        race.start(request, false, window);
+
+        long delay = window.getDelayMillis();
+        try {
+            return race.result.get(delay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (takeToken()) {
+                ContentClient.log(TAG, () -> "hedging " + endpoint + " after " + delay + "ms");
+                race.start(request, true, window);
+            }
+        } catch (Exception e) {
+            throw race.unwrap(e);
+        }
+
+        // wait for the first response, cancelling the attempts if the caller cancels
+        while (true) {
+            if (chain.call().isCanceled()) {
+                race.cancelAll();
+                throw new IOException("Canceled");
+            }
+            try {
+                Response response = race.result.get(CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (race.hedged && metrics != null) {
+                    metrics.recordHedge(endpoint, response.request().tag(Attempt.class).hedge);
+                }
+                return response;
+            } catch (TimeoutException e) {
+                // keep waiting
+            } catch (Exception e) {
+                throw race.unwrap(e);
+            }
+        }
+    }
+
+    private synchronized void addToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + policy.budget);
+    }
+
+    private synchronized boolean takeToken() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The attempts for one request; the first response wins and the others are cancelled.
+     */
+    private class Race {
+
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+
+        final Call[] calls = new Call[2];
+
+        // attempts not finished yet
+        final AtomicInteger pending = new AtomicInteger();
+
+        volatile boolean hedged = false;
+
+        // when the caller's request started
+        final long startNanos = System.nanoTime();
+
+        synchronized void start(Request request, boolean hedge, LatencyWindow window) {
+            if (result.isDone()) {
+                return;
+            }
+            hedged |= hedge;
+            Call call = client.newCall(request.newBuilder().tag(Attempt.class, new Attempt(hedge)).build());
+            calls[hedge ? 1 : 0] = call;
+            pending.incrementAndGet();
+            sAttemptExecutor.execute(() -> {
+                Response response;
+                try {
+                    response = call.execute();
+                } catch (Throwable e) {
+                    // any error, not only an IOException, must finish the race or the caller waits forever
+                    if (pending.decrementAndGet() == 0) {
+                        result.completeExceptionally(e);
+                    }
+                    return;
+                }
+                if (result.complete(response)) {
+                    // the latency the caller saw, from the start of the request including any hedge delay
+                    window.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    cancelOthers(call);
+                } else {
+                    response.close();
+                }
+                pending.decrementAndGet();
+            });
+        }
+
+        synchronized void cancelOthers(Call winner) {
+            for (Call call : calls) {
+                if (call != null && call != winner) {
+                    call.cancel();
+                }
+            }
+        }
+
+        void cancelAll() {
+            cancelOthers(null);
+        }
+
+        IOException unwrap(Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                return (IOException) cause;
+            }
+            cancelAll();
+            return new IOException(cause);
+        }
+    }
+
+    /**
+     * Recent latencies of one endpoint, with the hedging delay recomputed as they are added.
+     */
+    private class LatencyWindow {
+
+        final long[] samples = new long[WINDOW_SIZE];
+
+        int count = 0;
+
+        volatile long delayMillis = policy.initialDelayMillis;
+
+        synchronized void add(long millis) {
+            samples[count % WINDOW_SIZE] = millis;
+            count++;
+            // recompute every few samples rather than on every request
+            if (count >= policy.minSamples && count % 8 == 0) {
+                int size = Math.min(count, WINDOW_SIZE);
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int index = (int) Math.min(size - 1, Math.ceil(policy.percentile * size) - 1);
+                delayMillis = Math.max(policy.minDelayMillis, sorted[Math.max(0, index)]);
+            }
+        }
+
+        long getDelayMillis() {
+            return delayMillis;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code HedgingPolicy} specifies when the SDK sends a second, identical request for a GET
+ * that is slow to complete, taking whichever response arrives first and cancelling the other.
+ * This cuts tail latency at the cost of some extra requests.  Set it with
+ * {@link ContentSettings#setHedgingPolicy(HedgingPolicy)}.
+ * <pre>   {@code
+ *
+ *  // hedge requests slower than the 95th percentile of the endpoint, at most 5% of requests
+ *  HedgingPolicy policy = new HedgingPolicy().setPercentile(0.95).setBudget(0.05);
+ * }</pre>
+ * The delay before hedging is the given percentile of the recent latencies of each endpoint.
+ * Until enough latencies have been seen the initial delay is used.  The budget limits the
+ * share of requests that may be hedged, so a slow server does not see double the traffic.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public final class HedgingPolicy {
+
+    // percentile of recent latencies to wait before hedging
+    double percentile = 0.95;
+
+    // delay before hedging until enough latencies are seen
+    long initialDelayMillis = 500;
+
+    // lower bound for the delay, so fast endpoints are not hedged on noise
+    long minDelayMillis = 10;
+
+    // number of latencies needed before the percentile is used
+    int minSamples = 20;
+
+    // share of requests that may be hedged
+    double budget = 0.05;
+
+    /**
+     * Construct a policy with the defaults: hedge at the 95th percentile, 500ms until 20
+     * latencies have been seen, and hedge at most 5% of requests.
+     */
+    public HedgingPolicy() {
+    }
+
+    /**
+     * Percentile of the recent latencies of an endpoint to wait before hedging.
+     *
+     * @param percentile percentile between 0 and 1, e.g. 0.95
+     * @return this
+     */
+    public HedgingPolicy setPercentile(double percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * Delay before hedging, used until enough latencies of the endpoint have been seen.
+     *
+     * @param delay delay
+     * @param unit unit for the delay
+     * @return this
+     */
+    public HedgingPolicy setInitialDelay(long delay, TimeUnit unit) {
+        this.initialDelayMillis = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * Minimum delay before hedging.
+     *
+     * @param delay delay
+     * @param unit unit for the delay
+     * @return this
+     */
+    public HedgingPolicy setMinDelay(long delay, TimeUnit unit) {
+        this.minDelayMillis = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * Number of latencies of an endpoint that must be seen before the percentile is used.
+     *
+     * @param minSamples number of latencies
+     * @return this
+     */
+    public HedgingPolicy setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+        return this;
+    }
+
+    /**
+     * Maximum share of requests that may be hedged.
+     *
+     * @param budget share between 0 and 1, e.g. 0.05 for 5%
+     * @return this
+     */
+    public HedgingPolicy setBudget(double budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp interceptor that retries idempotent requests that failed with a transient error, as
+ * set by a {@link RetryPolicy}.
+ * <p>
+ * Only failures that are safe and likely to succeed on another try are retried: a failure to
+ * connect (the request was never sent), a 502, 503 or 504 response, or a 429 response with a
+ * Retry-After header.  Other errors are returned to the caller straight away.
+ */
+class RetryInterceptor implements Interceptor {
+
+    final private static String TAG = "RetryInterceptor";
+
+    final private RetryPolicy policy;
+
+    final private ContentMetrics metrics;
+
+    // retry budget shared by all requests of the client
+    private double tokens;
+
+    RetryInterceptor(RetryPolicy policy, ContentMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+        this.tokens = policy.minRetries;
+    }
+
+    private static boolean isIdempotent(Request request) {
+        switch (request.method()) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+            case "PUT":
+            case "DELETE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // the request was not sent, so it is safe to retry
+    private static boolean isConnectFailure(IOException e) {
+        return e instanceof ConnectException || e instanceof NoRouteToHostException;
+    }
+
+    private static boolean isRetryableCode(int code) {
+        return code == 502 || code == 503 || code == 504 || code == 429;
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isIdempotent(request) || policy.maxRetries <= 0) {
+            return chain.proceed(request);
+        }
+
+        deposit();
+        String endpoint = ContentClient.getEndpointName(request);
+        for (int retry = 1; ; retry++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (!isConnectFailure(e) || chain.call().isCanceled()) {
+                    throw e;
+                }
+                failure = e;
+            }
+
+            long waitMillis;
+            int code = response != null ? response.code() : 0;
+            if (response == null) {
+                waitMillis = getBackoffMillis(retry);
+            } else if (!isRetryableCode(code)) {
+                return response;
+            } else {
+                long retryAfter = getRetryAfterMillis(response);
+                if (retryAfter > policy.maxRetryAfterMillis || (code == 429 && retryAfter < 0)) {
+                    // 429 can only be retried once the server says when
+                    return response;
+                }
+                waitMillis = retryAfter >= 0 ? retryAfter : getBackoffMillis(retry);
+            }
+
+            if (retry > policy.maxRetries || !withdraw()) {
+                boolean budgetExhausted = retry <= policy.maxRetries;
+                ContentClient.log(TAG, () -> "not retrying " + endpoint + ", " +
+                        (budgetExhausted ? "retry budget exhausted" : "retries exhausted"));
+                if (metrics != null) {
+                    metrics.recordRetryExhausted(endpoint, code, budgetExhausted);
+                }
+                if (response != null) {
+                    return response;
+                }
+                throw failure;
+            }
+
+            if (response != null) {
+                response.close();
+            }
+            int attempt = retry;
+            ContentClient.log(TAG, () -> "retry " + attempt + " of " + endpoint + " after " +
+                    (code != 0 ? "http " + code : "connect failure") + ", waiting " + waitMillis + "ms");
+            if (metrics != null) {
+                metrics.recordRetry(endpoint, code);
+            }
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted waiting to retry");
+            }
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+        }
+    }
+
+    // full jitter: random wait up to the exponential backoff
+    private long getBackoffMillis(int retry) {
+        long backoff = policy.baseBackoffMillis << Math.min(retry - 1, 30);
+        if (backoff <= 0 || backoff > policy.maxBackoffMillis) {
+            backoff = policy.maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+    // Retry-After as seconds or an http date, -1 if not set or not valid
+    private static long getRetryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    private synchronized void deposit() {
+        tokens = Math.min(policy.minRetries, tokens + policy.budget);
+    }
+
+    private synchronized boolean withdraw() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+}
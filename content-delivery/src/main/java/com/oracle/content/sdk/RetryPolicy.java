@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code RetryPolicy} specifies how the SDK retries idempotent requests that failed with a
+ * transient error: a failure to connect, a 502, 503 or 504 response, or a 429 response with a
+ * Retry-After header.  Set it with {@link ContentSettings#setRetryPolicy(RetryPolicy)}.
+ * <pre>   {@code
+ *
+ *  RetryPolicy policy = new RetryPolicy().setMaxRetries(3).setBackoff(100, 5000, TimeUnit.MILLISECONDS);
+ * }</pre>
+ * Retries wait for an exponential backoff with full jitter, or the Retry-After time if the
+ * server sent one.  A retry budget shared by all requests of the client limits retries to a
+ * share of the requests made, so retries do not multiply the load on a server that is
+ * already failing.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public final class RetryPolicy {
+
+    // maximum retries of a single request
+    int maxRetries = 3;
+
+    // backoff before the first retry, doubled for each retry up to the max
+    long baseBackoffMillis = 100;
+    long maxBackoffMillis = 5000;
+
+    // longest Retry-After that is waited for, longer responses are returned as is
+    long maxRetryAfterMillis = 30000;
+
+    // share of requests that may be retried, and retries allowed before any requests are made
+    double budget = 0.2;
+    int minRetries = 10;
+
+    /**
+     * Construct a policy with the defaults: up to 3 retries with a backoff from 100ms to 5s,
+     * waiting at most 30s for a Retry-After, with a budget of 20% of requests.
+     */
+    public RetryPolicy() {
+    }
+
+    /**
+     * Maximum number of times a single request is retried.
+     *
+     * @param maxRetries retries, 0 to never retry
+     * @return this
+     */
+    public RetryPolicy setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Exponential backoff between retries.  The wait before retry n is a random time between
+     * 0 and min(max, base * 2^(n-1)).
+     *
+     * @param base backoff before the first retry
+     * @param max maximum backoff
+     * @param unit unit for the backoff values
+     * @return this
+     */
+    public RetryPolicy setBackoff(long base, long max, TimeUnit unit) {
+        this.baseBackoffMillis = unit.toMillis(base);
+        this.maxBackoffMillis = unit.toMillis(max);
+        return this;
+    }
+
+    /**
+     * Longest Retry-After time to wait for.  A response asking for a longer wait is returned
+     * without retrying.
+     *
+     * @param maxRetryAfter maximum wait
+     * @param unit unit for the wait
+     * @return this
+     */
+    public RetryPolicy setMaxRetryAfter(long maxRetryAfter, TimeUnit unit) {
+        this.maxRetryAfterMillis = unit.toMillis(maxRetryAfter);
+        return this;
+    }
+
+    /**
+     * Retry budget for the client.  Each request adds the budget share to a token bucket
+     * holding at most minRetries tokens, and each retry takes a token, so over time retries
+     * are limited to the given share of requests.
+     *
+     * @param budget share of requests that may be retried, e.g. 0.2 for 20%
+     * @param minRetries tokens the bucket starts with and can hold
+     * @return this
+     */
+    public RetryPolicy setBudget(double budget, int minRetries) {
+        this.budget = budget;
+        this.minRetries = minRetries;
+        return this;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getBaseBackoffMillis() {
+        return baseBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public long getMaxRetryAfterMillis() {
+        return maxRetryAfterMillis;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    public int getMinRetries() {
+        return minRetries;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.language;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.AssetLanguageVariations;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.model.field.FieldName;
+import com.oracle.content.sdk.request.GetItemLanguageVariationsRequest;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+/**
+ * Resolves many content items to their variation in a preferred language.  For a list of item ids and a locale fallback chain such as
+ * {@code ["fr-CA", "fr", "en"]}, each item is replaced with the variation for the first
+ * language in the chain that its variation set has.  Items with no variation in any of the
+ * languages, or with no variations at all, resolve to themselves.
+ * <p>
+ * The variation sets of items not seen before are requested concurrently, and cached as
+ * setId to language to item id so later calls for any item in the set need no variation
+ * request.  The chosen items are then fetched concurrently with searches of up to
+ * {@link #batchSize(int)} ids each.
+ * <p>
+ * Once the variation sets are cached a call takes a constant number of round-trips, the
+ * searches for the chosen items.  While the cache is cold there is one variations request per
+ * item not seen before, and OkHttp runs at most 5 requests to the same host at once by
+ * default, so the rest wait in its queue.  Resolving n new items takes about n / 5 round-trips
+ * before the searches; {@link #put(AssetLanguageVariations)} can warm the cache with sets
+ * already requested.
+ * <pre>{@code
+ *   LanguageVariationResolver resolver = deliveryClient.createLanguageVariationResolver();
+ *
+ *   Map<String, Asset> localized = resolver.resolve(referencedIds, Arrays.asList("fr-CA", "fr", "en"));
+ * }</pre>
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class LanguageVariationResolver {
+
+    final private static String TAG = "LanguageVariationResolver";
+
+    // default number of ids per search when fetching the chosen items
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    // set id cached for items without variations
+    final private static String NO_VARIATIONS = "";
+
+    final private ContentDeliveryClient client;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // fields to return for the chosen items
+    private String fields = FieldName.ALL.getValue();
+
+    // variation set id by item id
+    final private Map<String, String> setIds = new ConcurrentHashMap<>();
+
+    // item id by language by set id, the inner maps are never modified once cached
+    final private Map<String, Map<String, String>> variations = new ConcurrentHashMap<>();
+
+    /**
+     * Create a resolver for the items published to the client's channel.
+     *
+     * @param client delivery client to request from
+     */
+    public LanguageVariationResolver(@NotNull ContentDeliveryClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Maximum number of item ids to fetch in one search request.
+     *
+     * @param batchSize ids per search
+     * @return this
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public LanguageVariationResolver batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Fields to return for the chosen items, all fields by default.  See
+     * {@link SearchAssetsRequest#fields(String)}.
+     *
+     * @param fields comma separated fields
+     * @return this
+     */
+    public LanguageVariationResolver fields(String fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    /**
+     * Resolve items to their variation in the first available language of the chain and
+     * fetch them.
+     *
+     * @param itemIds ids of items in any language
+     * @param languages languages in order of preference (e.g. "fr-CA", "fr", "en")
+     * @return chosen item by requested item id, in the order requested; items that could not
+     *         be fetched are left out
+     * @throws ContentException if a request failed
+     */
+    public Map<String, Asset> resolve(Collection<String> itemIds, List<String> languages) throws ContentException {
+        Map<String, String> chosenIds = resolveIds(itemIds, languages);
+
+        // fetch each chosen item once, in batches
+        List<String> fetchIds = new ArrayList<>(new LinkedHashSet<>(chosenIds.values()));
+        List<CompletableFuture<AssetSearchResult>> batches = new ArrayList<>();
+        for (int i = 0; i < fetchIds.size(); i += batchSize) {
+            List<String> batch = fetchIds.subList(i, Math.min(fetchIds.size(), i + batchSize));
+            SearchAssetsRequest request = new SearchAssetsRequest(client)
+                    .idList(batch)
+                    .limit(batch.size())
+                    .fields(fields);
+            batches.add(request.futureResult());
+        }
+        Map<String, Asset> assetsById = new HashMap<>();
+        for (CompletableFuture<AssetSearchResult> batch : batches) {
+            for (Asset asset : join(batch).getItems()) {
+                assetsById.put(asset.getId(), asset);
+            }
+        }
+
+        Map<String, Asset> result = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : chosenIds.entrySet()) {
+            Asset asset = assetsById.get(entry.getValue());
+            if (asset != null) {
+                result.put(entry.getKey(), asset);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resolve items to the id of their variation in the first available language of the
+     * chain, without fetching them.
+     *
+     * @param itemIds ids of items in any language
+     * @param languages languages in order of preference (e.g. "fr-CA", "fr", "en")
+     * @return chosen item id by requested item id, in the order requested
+     * @throws ContentException if a variations request failed
+     */
+    public Map<String, String> resolveIds(Collection<String> itemIds, List<String> languages) throws ContentException {
+        // request the variation sets not cached yet, all at once
+        Map<String, CompletableFuture<AssetLanguageVariations>> pending = new LinkedHashMap<>();
+        for (String itemId : itemIds) {
+            if (!setIds.containsKey(itemId) && !pending.containsKey(itemId)) {
+                pending.put(itemId, fetchVariations(itemId));
+            }
+        }
+        for (Map.Entry<String, CompletableFuture<AssetLanguageVariations>> entry : pending.entrySet()) {
+            AssetLanguageVariations set = join(entry.getValue());
+            if (set == null || set.getSetId() == null || set.getItems() == null) {
+                setIds.put(entry.getKey(), NO_VARIATIONS);
+            } else {
+                put(set);
+                // the requested item is in its set, even if the response left it out
+                setIds.put(entry.getKey(), set.getSetId());
+            }
+        }
+        if (!pending.isEmpty()) {
+            ContentClient.log(TAG, () -> "requested " + pending.size() + " variation sets");
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String itemId : itemIds) {
+            result.put(itemId, choose(itemId, languages));
+        }
+        return result;
+    }
+
+    // the variation of the item for the first language in the set, or the item itself
+    private String choose(String itemId, List<String> languages) {
+        String setId = setIds.get(itemId);
+        Map<String, String> byLanguage = setId != null ? variations.get(setId) : null;
+        if (byLanguage != null) {
+            for (String language : languages) {
+                String variationId = byLanguage.get(language);
+                if (variationId != null) {
+                    return variationId;
+                }
+            }
+        }
+        return itemId;
+    }
+
+    /**
+     * Cache a variation set, e.g. one already requested with
+     * {@link GetItemLanguageVariationsRequest}.
+     *
+     * @param set language variations of an item
+     */
+    public void put(AssetLanguageVariations set) {
+        if (set.getSetId() == null || set.getItems() == null) {
+            return;
+        }
+        Map<String, String> byLanguage = new HashMap<>();
+        for (AssetLanguageVariations.Item item : set.getItems()) {
+            if (item.getId() != null && item.getValue() != null) {
+                byLanguage.put(item.getValue(), item.getId());
+            }
+        }
+        variations.put(set.getSetId(), Collections.unmodifiableMap(byLanguage));
+        for (String id : byLanguage.values()) {
+            setIds.put(id, set.getSetId());
+        }
+    }
+
+    /**
+     * Get the cached variations of an item.
+     *
+     * @param itemId item id
+     * @return item id by language, or null if not cached or the item has no variations
+     */
+    public Map<String, String> getVariations(String itemId) {
+        String setId = setIds.get(itemId);
+        return setId != null ? variations.get(setId) : null;
+    }
+
+    /**
+     * Forget all cached variation sets, e.g. after new translations are published.
+     */
+    public void clear() {
+        setIds.clear();
+        variations.clear();
+    }
+
+    // null result if the item has no variations
+    private CompletableFuture<AssetLanguageVariations> fetchVariations(String itemId) {
+        return new GetItemLanguageVariationsRequest(client, itemId).futureResult().exceptionally(e -> {
+            ContentException exception = (ContentException) e;
+            if (exception.getReason() == ContentException.REASON.itemNotFound ||
+                    exception.getResponseCode() == 404) {
+                return null;
+            }
+            throw exception;
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws ContentException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            ContentException exception = e.getCause() instanceof ContentException ?
+                    (ContentException) e.getCause() :
+                    new ContentException(ContentException.REASON.networkError,
+                            String.valueOf(e.getCause().getMessage()), e.getCause());
+            ContentClient.log(Level.WARNING, TAG, () -> "request failed: " + exception.getMessage());
+            throw exception;
+        }
+    }
+}
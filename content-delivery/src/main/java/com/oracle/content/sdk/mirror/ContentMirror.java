@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.mirror;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import com.oracle.content.sdk.ContentCategoryIndex;
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.model.date.ContentDate;
+import com.oracle.content.sdk.model.field.FieldName;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+import com.oracle.content.sdk.request.core.SearchQueryBuilder;
+
+/**
+ * Keeps a local replica of the assets in a channel so reads can be served without a network
+ * call, and keep being served if the delivery server is unavailable.
+ * <p>
+ * The first {@link #sync()} pages through all assets matching the mirror filter.  Each
+ * following sync only requests assets with {@code updatedDate ge <watermark>}, where the
+ * watermark is the latest updatedDate seen so far.  Assets that are deleted or unpublished
+ * are not returned by an incremental sync, so {@link #fullSync()} should be called
+ * occasionally to remove them.
+ * <p>
+ * Results are sorted by updatedDate and paged by that date rather than by offset: each page
+ * requests {@code updatedDate ge <last date seen>} and skips the assets already applied at
+ * that date.  An asset updated while a sync is paging moves to the end of the results
+ * without shifting the assets that have not been seen yet, and an asset published later with
+ * the same updatedDate as the watermark is still picked up.
+ * <pre>{@code
+ *   ContentMirror mirror = deliveryClient.createMirror(null);
+ *   mirror.sync();                           // initial full sync
+ *   mirror.startSync(5, TimeUnit.MINUTES);   // then incremental sync in the background
+ *
+ *   Asset asset = mirror.getAssetBySlug("my-page");
+ * }</pre>
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class ContentMirror implements Closeable {
+
+    final private static String TAG = "ContentMirror";
+
+    // default number of assets requested per page
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    final private ContentDeliveryClient client;
+
+    final private ContentMirrorStore store;
+
+    // filter for the assets to mirror, or null for the whole channel
+    final private String filter;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    // only one sync runs at a time
+    final private Object syncLock = new Object();
+
+    // time of the last successful sync (epoch ms) or 0 if never synced
+    private volatile long lastSyncTime = 0;
+
+    // error from the last sync or null if successful
+    private volatile ContentException lastSyncError = null;
+
+    // background sync, if started
+    private ScheduledExecutorService scheduler = null;
+
+    // incremented whenever a sync changes the store
+    final private AtomicLong changeCount = new AtomicLong();
+
+    // search index and the change count it was built at, guarded by indexLock
+    final private Object indexLock = new Object();
+    private LocalSearchIndex searchIndex = null;
+    private long searchIndexChangeCount = -1;
+
+    /**
+     * Create a mirror of the assets matching the filter.
+     *
+     * @param client delivery client to sync from
+     * @param store local store for the assets
+     * @param filter SCIM filter for the assets to mirror (e.g. from {@link SearchQueryBuilder}),
+     *               or null to mirror the whole channel
+     */
+    public ContentMirror(@NotNull ContentDeliveryClient client, @NotNull ContentMirrorStore store, String filter) {
+        this.client = client;
+        this.store = store;
+        this.filter = filter;
+
+        // assets already in the store (e.g. from a snapshot) were not deserialized by the client,
+        // index them on the first facet query so opening a snapshot doesn't decode every asset
+        ContentCategoryIndex categoryIndex = client.getCategoryIndex();
+        if (categoryIndex != null && store.getWatermark() != null) {
+            categoryIndex.putLater(store::getAll);
+        }
+    }
+
+    /**
+     * Number of assets to request per page when syncing.
+     *
+     * @param pageSize page size
+     * @return this
+     */
+    public ContentMirror pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sync changes from the server.  Performs a full sync if nothing has been synced yet,
+     * otherwise only requests assets updated since the last sync.  If the sync fails the
+     * exception is thrown and the mirror keeps its current content.
+     *
+     * @return number of assets added or updated
+     * @throws ContentException if the sync failed
+     */
+    public int sync() throws ContentException {
+        synchronized (syncLock) {
+            String watermark = store.getWatermark();
+            if (watermark == null) {
+                return fullSync();
+            }
+            int count = pull(watermark, null);
+            ContentClient.log(TAG, () -> "incremental sync updated " + count + " assets");
+            return count;
+        }
+    }
+
+    /**
+     * Sync all assets matching the filter from the server, removing any assets from the store
+     * that are no longer returned.
+     *
+     * @return number of assets added or updated
+     * @throws ContentException if the sync failed
+     */
+    public int fullSync() throws ContentException {
+        synchronized (syncLock) {
+            Set<String> seenIds = new HashSet<>();
+            int count = pull(null, seenIds);
+
+            // remove anything no longer on the server
+            Set<String> removedIds = store.getIds();
+            removedIds.removeAll(seenIds);
+            ContentCategoryIndex categoryIndex = client.getCategoryIndex();
+            for (String id : removedIds) {
+                store.remove(id);
+                if (categoryIndex != null) {
+                    categoryIndex.remove(id);
+                }
+            }
+            if (!removedIds.isEmpty()) {
+                changeCount.incrementAndGet();
+            }
+            ContentClient.log(TAG, () -> "full sync updated " + count + " assets, removed " + removedIds.size());
+            return count;
+        }
+    }
+
+    // filter for the assets updated at or after a date
+    private static String updatedSince(String date) {
+        return new SearchQueryBuilder().startExpression(
+                FieldName.UPDATED_DATE.getValue(),
+                SearchQueryBuilder.QueryOperator.GREATER_OR_EQUAL,
+                date).build();
+    }
+
+    // was this asset applied by an earlier sync? true for an asset at the watermark date
+    private boolean isStored(Asset asset) {
+        Asset stored = store.get(asset.getId());
+        return stored != null && stored.getUpdatedTime() == asset.getUpdatedTime();
+    }
+
+    // page through the search results by updatedDate from the given date, or all assets for
+    // null, and apply them to the store
+    private int pull(String since, Set<String> seenIds) throws ContentException {
+        String watermark = store.getWatermark();
+        long watermarkTime = watermark != null ? new ContentDate(watermark, null, null).getEpochMillis() : ContentDate.INVALID_TIME;
+        long sinceTime = since != null ? new ContentDate(since, null, null).getEpochMillis() : ContentDate.INVALID_TIME;
+
+        // the date of the next page, and the ids applied at that date which it returns again
+        String cursor = since;
+        long cursorTime = sinceTime;
+        Set<String> appliedAtCursor = new HashSet<>();
+        // only used when more assets than a page have the same updatedDate
+        int offset = 0;
+
+        int count = 0;
+        try {
+            while (true) {
+                SearchAssetsRequest request = new SearchAssetsRequest(client)
+                        .limit(pageSize)
+                        .offset(offset)
+                        .sortByField(FieldName.UPDATED_DATE.getValue())
+                        .noCache();
+                if (filter != null) {
+                    // group the filter so an OR expression is not combined with the date
+                    request.filter("(" + filter + ")");
+                }
+                if (cursor != null) {
+                    request.filter(updatedSince(cursor));
+                }
+
+                AssetSearchResult result = request.fetchResult();
+                List<Asset> items = result.getItems();
+                int applied = 0;
+                for (Asset asset : items) {
+                    if (seenIds != null) {
+                        seenIds.add(asset.getId());
+                    }
+                    long updatedTime = asset.getUpdatedTime();
+                    // returned again by "ge", already applied by this sync or the last one
+                    if (updatedTime == cursorTime && (appliedAtCursor.contains(asset.getId()) ||
+                            (since != null && updatedTime == sinceTime && isStored(asset)))) {
+                        continue;
+                    }
+                    store.put(asset);
+                    if (updatedTime != ContentDate.INVALID_TIME && updatedTime > watermarkTime) {
+                        watermarkTime = updatedTime;
+                        watermark = asset.getUpdatedDate().getValue();
+                    }
+                    applied++;
+                    count++;
+                }
+                if (applied > 0) {
+                    changeCount.incrementAndGet();
+                }
+
+                if (items.isEmpty() || !Boolean.TRUE.equals(result.hasMore())) {
+                    break;
+                }
+
+                // the next page starts at the date of the last asset, results are sorted by date
+                Asset last = items.get(items.size() - 1);
+                long lastTime = last.getUpdatedTime();
+                if (lastTime == ContentDate.INVALID_TIME || lastTime == cursorTime) {
+                    // a whole page at one date (or without dates), page through those by offset
+                    for (Asset asset : items) {
+                        appliedAtCursor.add(asset.getId());
+                    }
+                    offset += items.size();
+                } else {
+                    cursor = last.getUpdatedDate().getValue();
+                    cursorTime = lastTime;
+                    appliedAtCursor.clear();
+                    for (Asset asset : items) {
+                        if (asset.getUpdatedTime() == lastTime) {
+                            appliedAtCursor.add(asset.getId());
+                        }
+                    }
+                    offset = 0;
+                }
+            }
+        } catch (ContentException e) {
+            lastSyncError = e;
+            ContentClient.log(Level.WARNING, TAG, () -> "sync failed: " + e.getMessage());
+            throw e;
+        }
+
+        // only move the watermark once all pages have been applied
+        store.setWatermark(watermark);
+        lastSyncTime = System.currentTimeMillis();
+        lastSyncError = null;
+        return count;
+    }
+
+    /**
+     * Get a search index over the mirrored assets.  The index is rebuilt on the first call
+     * after a sync has changed the mirror, and shared until the next change.
+     *
+     * @return search index
+     */
+    public LocalSearchIndex getSearchIndex() {
+        synchronized (indexLock) {
+            long changes = changeCount.get();
+            if (searchIndex == null || searchIndexChangeCount != changes) {
+                searchIndex = new LocalSearchIndex(store.getAll());
+                searchIndexChangeCount = changes;
+            }
+            return searchIndex;
+        }
+    }
+
+    /**
+     * Search the mirrored assets.  The search is answered by the local {@link LocalSearchIndex}
+     * if the mirror has been synced and the filter is supported, otherwise it falls back to a
+     * {@link SearchAssetsRequest} to the server, restricted to the mirror filter.
+     *
+     * @param filter SCIM filter, null for all assets
+     * @param orderBy attribute to order by with an optional ":asc" or ":des" suffix, or null
+     * @param offset offset of the first asset to return
+     * @param limit maximum number of assets to return
+     * @return matching assets
+     * @throws ContentException if the search fell back to the server and failed
+     */
+    public List<Asset> search(String filter, String orderBy, int offset, int limit) throws ContentException {
+        if (store.getWatermark() != null && LocalSearchIndex.isSupported(filter)) {
+            return getSearchIndex().search(filter, orderBy, offset, limit);
+        }
+
+        ContentClient.log(TAG, () -> "searching server for filter " + filter);
+        SearchAssetsRequest request = new SearchAssetsRequest(client).offset(offset).limit(limit);
+        if (this.filter != null) {
+            request.filter("(" + this.filter + ")");
+        }
+        if (filter != null) {
+            request.filter("(" + filter + ")");
+        }
+        if (orderBy != null) {
+            int colon = orderBy.lastIndexOf(':');
+            request.sortByField(colon > 0 ? orderBy.substring(0, colon) : orderBy);
+            request.sortOrderDescending(colon > 0 && "des".equalsIgnoreCase(orderBy.substring(colon + 1)));
+        }
+        return request.fetchResult().getItems();
+    }
+
+    /**
+     * Export the mirrored assets and watermark to a {@link ContentSnapshot} file.  The snapshot
+     * can be used later with a {@link SnapshotContentMirrorStore} to start a mirror without a
+     * full sync.
+     *
+     * @param file snapshot file, replaced if it exists
+     * @throws IOException if the file could not be written
+     */
+    public void exportSnapshot(@NotNull File file) throws IOException {
+        synchronized (syncLock) {
+            ContentSnapshot.write(store.getAll(), store.getWatermark(), file);
+        }
+    }
+
+    /**
+     * Start syncing in the background on a fixed schedule.  Errors are logged and available
+     * from {@link #getLastSyncError()}; the mirror keeps serving its current content.
+     *
+     * @param period time between syncs
+     * @param unit unit for the period
+     */
+    public synchronized void startSync(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                // logged in pull, keep the schedule running
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * Stop any background sync.
+     */
+    public synchronized void stopSync() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stopSync();
+    }
+
+    /**
+     * Get an asset from the mirror by id.
+     *
+     * @param id asset id
+     * @return asset or null if not in the mirror
+     */
+    public Asset getAsset(String id) {
+        return store.get(id);
+    }
+
+    /**
+     * Get an asset from the mirror by slug.
+     *
+     * @param slug asset slug
+     * @return asset or null if not in the mirror
+     */
+    public Asset getAssetBySlug(String slug) {
+        return store.getBySlug(slug);
+    }
+
+    /**
+     * Get all mirrored assets.
+     *
+     * @return mirrored assets
+     */
+    public Collection<Asset> getAssets() {
+        return store.getAll();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public ContentMirrorStore getStore() {
+        return store;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * The updatedDate value used for the next incremental sync.
+     *
+     * @return watermark or null if never synced
+     */
+    public String getWatermark() {
+        return store.getWatermark();
+    }
+
+    /**
+     * Time of the last successful sync.
+     *
+     * @return time in epoch milliseconds, or 0 if never synced
+     */
+    public long getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    /**
+     * Error from the last sync attempt.
+     *
+     * @return exception or null if the last sync was successful
+     */
+    public ContentException getLastSyncError() {
+        return lastSyncError;
+    }
+}
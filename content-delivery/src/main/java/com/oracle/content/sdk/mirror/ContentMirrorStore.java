@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.mirror;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.oracle.content.sdk.model.Asset;
+
+/**
+ * Local store used by {@link ContentMirror} to hold the replicated assets.  Implementations
+ * must be thread-safe, as reads are expected to happen while a sync is applying changes.
+ * See {@link InMemoryContentMirrorStore} for the default implementation.
+ */
+public interface ContentMirrorStore {
+
+    /**
+     * Add or replace an asset, keyed by its id.
+     *
+     * @param asset asset to store
+     */
+    void put(Asset asset);
+
+    /**
+     * Remove an asset.
+     *
+     * @param id id of the asset to remove
+     */
+    void remove(String id);
+
+    /**
+     * Get an asset by id.
+     *
+     * @param id asset id
+     * @return the asset or null if not in the store
+     */
+    Asset get(String id);
+
+    /**
+     * Get an asset by slug.
+     *
+     * @param slug asset slug
+     * @return the asset or null if not in the store
+     */
+    Asset getBySlug(String slug);
+
+    /**
+     * Get all assets in the store.
+     *
+     * @return unmodifiable view or copy of the stored assets
+     */
+    Collection<Asset> getAll();
+
+    /**
+     * Get the ids of all assets in the store.
+     *
+     * @return copy of the stored ids
+     */
+    Set<String> getIds();
+
+    /**
+     * Number of assets in the store.
+     *
+     * @return asset count
+     */
+    int size();
+
+    /**
+     * The updatedDate value of the most recently updated asset that has been synced, used
+     * as the starting point for the next incremental sync.
+     *
+     * @return watermark date value, or null if nothing has been synced
+     */
+    String getWatermark();
+
+    /**
+     * Set the sync watermark.
+     *
+     * @param watermark updatedDate value
+     */
+    void setWatermark(String watermark);
+}
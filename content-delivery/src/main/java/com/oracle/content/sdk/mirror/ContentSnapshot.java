@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.mirror;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.request.core.ContentAssetRequest;
+
+/**
+ * Compact binary snapshot of a set of assets (for example the content of a {@link ContentMirror}),
+ * which is read through a memory-mapped file so opening a snapshot does not deserialize it.
+ * Only the assets that are requested with {@link #get(String)} or {@link #getBySlug(String)}
+ * are decoded.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   header        magic, version, asset count, string count, string table offset,
+ *                 id index offset, slug index offset, watermark string
+ *   records       one record per asset, the asset json encoded as tagged values that
+ *                 refer to the string table
+ *   string table  offsets followed by the UTF-8 bytes of each unique string, so type names,
+ *                 field names and repeated values are only stored once
+ *   id index      (hash, id string, record offset) sorted by hash
+ *   slug index    (hash, slug string, record offset) sorted by hash
+ * </pre>
+ * Snapshots are written to a temporary file and moved into place, since a mapped file must
+ * not be modified while it is being read.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public final class ContentSnapshot {
+
+    // "OCES"
+    static final int MAGIC = 0x4F434553;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    // size of an index entry: hash, string, record offset
+    private static final int INDEX_ENTRY_SIZE = 12;
+
+    // no string, e.g. no watermark
+    private static final int NO_STRING = -1;
+
+    // value tags
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_TRUE = 1;
+    private static final byte TAG_FALSE = 2;
+    private static final byte TAG_NUMBER = 3;
+    private static final byte TAG_STRING = 4;
+    private static final byte TAG_ARRAY = 5;
+    private static final byte TAG_OBJECT = 6;
+
+    // mapped file content, only read with absolute gets or duplicates
+    private final ByteBuffer buffer;
+
+    private final int count;
+    private final int stringCount;
+    private final int stringOffsetsPosition;
+    private final int stringDataPosition;
+    private final int idIndexPosition;
+    private final int slugIndexPosition;
+    private final int slugCount;
+    private final String watermark;
+
+    // strings decoded so far, shared by all assets read from the snapshot
+    private final String[] strings;
+
+    private ContentSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a content snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported content snapshot version " + buffer.getInt(4));
+        }
+        count = buffer.getInt(8);
+        stringCount = buffer.getInt(12);
+        stringOffsetsPosition = buffer.getInt(16);
+        stringDataPosition = stringOffsetsPosition + 4 * (stringCount + 1);
+        idIndexPosition = buffer.getInt(20);
+        slugIndexPosition = buffer.getInt(24);
+        slugCount = (buffer.limit() - slugIndexPosition) / INDEX_ENTRY_SIZE;
+        strings = new String[stringCount];
+        int watermarkRef = buffer.getInt(28);
+        watermark = watermarkRef == NO_STRING ? null : getString(watermarkRef);
+    }
+
+    /**
+     * Open a snapshot file.  The file is memory-mapped, nothing is deserialized until assets
+     * are requested.
+     *
+     * @param file snapshot file written by {@link #write(Collection, String, File)}
+     * @return snapshot
+     * @throws IOException if the file could not be read or is not a snapshot
+     */
+    public static ContentSnapshot open(@NotNull File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            // the mapping stays valid after the channel is closed
+            return new ContentSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // json for an asset, compact assets hold their dates as epoch millis so add them back
+    private static JsonElement toJsonTree(Asset asset) {
+        JsonElement json = ContentClient.gson().toJsonTree(asset);
+        if (asset.isCompact()) {
+            JsonObject object = json.getAsJsonObject();
+            if (asset.getCreatedDate() != null) {
+                object.add("createdDate", ContentClient.gson().toJsonTree(asset.getCreatedDate()));
+            }
+            if (asset.getUpdatedDate() != null) {
+                object.add("updatedDate", ContentClient.gson().toJsonTree(asset.getUpdatedDate()));
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Write a snapshot of the assets.
+     *
+     * @param assets assets to write
+     * @param watermark sync watermark to store with the snapshot (may be null)
+     * @param file file to write, replaced if it exists
+     * @throws IOException if the file could not be written
+     */
+    public static void write(
+            @NotNull Collection<? extends Asset> assets,
+            String watermark,
+            @NotNull File file) throws IOException {
+
+        StringTable stringTable = new StringTable();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        List<int[]> idIndex = new ArrayList<>(assets.size());
+        List<int[]> slugIndex = new ArrayList<>(assets.size());
+
+        for (Asset asset : assets) {
+            int recordOffset = HEADER_SIZE + records.size();
+            writeValue(records, toJsonTree(asset), stringTable);
+            idIndex.add(new int[]{asset.getId().hashCode(), stringTable.ref(asset.getId()), recordOffset});
+            if (asset.getSlug() != null) {
+                slugIndex.add(new int[]{asset.getSlug().hashCode(), stringTable.ref(asset.getSlug()), recordOffset});
+            }
+        }
+        int watermarkRef = watermark != null ? stringTable.ref(watermark) : NO_STRING;
+
+        idIndex.sort((a, b) -> Integer.compare(a[0], b[0]));
+        slugIndex.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        // encode the strings
+        List<byte[]> stringBytes = new ArrayList<>(stringTable.strings.size());
+        int stringDataSize = 0;
+        for (String s : stringTable.strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            stringBytes.add(bytes);
+            stringDataSize += bytes.length;
+        }
+
+        int stringOffsetsPosition = HEADER_SIZE + records.size();
+        int idIndexPosition = stringOffsetsPosition + 4 * (stringBytes.size() + 1) + stringDataSize;
+        int slugIndexPosition = idIndexPosition + INDEX_ENTRY_SIZE * idIndex.size();
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(idIndex.size());
+            out.writeInt(stringBytes.size());
+            out.writeInt(stringOffsetsPosition);
+            out.writeInt(idIndexPosition);
+            out.writeInt(slugIndexPosition);
+            out.writeInt(watermarkRef);
+
+            records.writeTo(out);
+
+            int offset = 0;
+            for (byte[] bytes : stringBytes) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : stringBytes) {
+                out.write(bytes);
+            }
+
+            for (int[] entry : idIndex) {
+                out.writeInt(entry[0]);
+                out.writeInt(entry[1]);
+                out.writeInt(entry[2]);
+            }
+            for (int[] entry : slugIndex) {
+                out.writeInt(entry[0]);
+                out.writeInt(entry[1]);
+                out.writeInt(entry[2]);
+            }
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Number of assets in the snapshot.
+     *
+     * @return asset count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The sync watermark stored with the snapshot.
+     *
+     * @return watermark or null
+     */
+    public String getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Is the asset in the snapshot?
+     *
+     * @param id asset id
+     * @return true if the snapshot has the asset
+     */
+    public boolean contains(String id) {
+        return findRecord(idIndexPosition, count, id) >= 0;
+    }
+
+    /**
+     * Get an asset by id, decoding only that asset.  Decoded assets are not cached, so every
+     * call decodes the record again into a new asset, at about the cost of deserializing the
+     * asset json (strings are shared and only decoded once).  Keep the asset rather than
+     * getting it again if it is used repeatedly.
+     *
+     * @param id asset id
+     * @return the asset or null if it is not in the snapshot
+     */
+    public Asset get(String id) {
+        return decodeAsset(findRecord(idIndexPosition, count, id));
+    }
+
+    /**
+     * Get an asset by slug, decoding only that asset, on every call as for {@link #get(String)}.
+     *
+     * @param slug asset slug
+     * @return the asset or null if it is not in the snapshot
+     */
+    public Asset getBySlug(String slug) {
+        return decodeAsset(findRecord(slugIndexPosition, slugCount, slug));
+    }
+
+    /**
+     * Get the json for an asset, as it would be returned by the server.
+     *
+     * @param id asset id
+     * @return json or null if the asset is not in the snapshot
+     */
+    public JsonElement getAsJson(String id) {
+        int record = findRecord(idIndexPosition, count, id);
+        return record < 0 ? null : readValue(record);
+    }
+
+    /**
+     * Get the ids of all assets in the snapshot.
+     *
+     * @return list of ids
+     */
+    public List<String> getIds() {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(getString(buffer.getInt(idIndexPosition + i * INDEX_ENTRY_SIZE + 4)));
+        }
+        return ids;
+    }
+
+    private Asset decodeAsset(int record) {
+        return record < 0 ? null : ContentAssetRequest.deserializeContentBaseItem(readValue(record));
+    }
+
+    // binary search an index for the key, returns the record offset or -1
+    private int findRecord(int indexPosition, int entries, String key) {
+        if (key == null) {
+            return -1;
+        }
+        int hash = key.hashCode();
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midHash = buffer.getInt(indexPosition + mid * INDEX_ENTRY_SIZE);
+            if (midHash < hash) {
+                low = mid + 1;
+            } else if (midHash > hash) {
+                high = mid - 1;
+            } else {
+                // back up to the first entry with the hash, then check each for a match
+                while (mid > 0 && buffer.getInt(indexPosition + (mid - 1) * INDEX_ENTRY_SIZE) == hash) {
+                    mid--;
+                }
+                byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                for (int i = mid; i < entries; i++) {
+                    int entry = indexPosition + i * INDEX_ENTRY_SIZE;
+                    if (buffer.getInt(entry) != hash) {
+                        break;
+                    }
+                    if (stringEquals(buffer.getInt(entry + 4), keyBytes)) {
+                        return buffer.getInt(entry + 8);
+                    }
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // compare a string in the table to the key without decoding it
+    private boolean stringEquals(int ref, byte[] keyBytes) {
+        int start = stringDataPosition + buffer.getInt(stringOffsetsPosition + 4 * ref);
+        int end = stringDataPosition + buffer.getInt(stringOffsetsPosition + 4 * (ref + 1));
+        if (end - start != keyBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(start + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // get a string from the table, decoding it the first time
+    private String getString(int ref) {
+        String s = strings[ref];
+        if (s == null) {
+            int start = buffer.getInt(stringOffsetsPosition + 4 * ref);
+            int end = buffer.getInt(stringOffsetsPosition + 4 * (ref + 1));
+            byte[] bytes = new byte[end - start];
+            ByteBuffer source = buffer.duplicate();
+            source.position(stringDataPosition + start);
+            source.get(bytes);
+            // a race just decodes the string twice
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[ref] = s;
+        }
+        return s;
+    }
+
+    private JsonElement readValue(int position) {
+        ByteBuffer source = buffer.duplicate();
+        source.position(position);
+        return readValue(source);
+    }
+
+    private JsonElement readValue(ByteBuffer source) {
+        byte tag = source.get();
+        switch (tag) {
+            case TAG_NULL:
+                return JsonNull.INSTANCE;
+            case TAG_TRUE:
+                return new JsonPrimitive(Boolean.TRUE);
+            case TAG_FALSE:
+                return new JsonPrimitive(Boolean.FALSE);
+            case TAG_NUMBER:
+                return new JsonPrimitive(new BigDecimal(getString(readVarInt(source))));
+            case TAG_STRING:
+                return new JsonPrimitive(getString(readVarInt(source)));
+            case TAG_ARRAY: {
+                int size = readVarInt(source);
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readValue(source));
+                }
+                return array;
+            }
+            case TAG_OBJECT: {
+                int size = readVarInt(source);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String name = getString(readVarInt(source));
+                    object.add(name, readValue(source));
+                }
+                return object;
+            }
+            default:
+                throw new IllegalStateException("Corrupt content snapshot, unknown tag " + tag);
+        }
+    }
+
+    private static int readVarInt(ByteBuffer source) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = source.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeValue(ByteArrayOutputStream out, JsonElement element, StringTable stringTable) {
+        if (element == null || element.isJsonNull()) {
+            out.write(TAG_NULL);
+        } else if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.write(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            } else if (primitive.isNumber()) {
+                out.write(TAG_NUMBER);
+                writeVarInt(out, stringTable.ref(primitive.getAsString()));
+            } else {
+                out.write(TAG_STRING);
+                writeVarInt(out, stringTable.ref(primitive.getAsString()));
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            out.write(TAG_ARRAY);
+            writeVarInt(out, array.size());
+            for (JsonElement child : array) {
+                writeValue(out, child, stringTable);
+            }
+        } else {
+            JsonObject object = element.getAsJsonObject();
+            out.write(TAG_OBJECT);
+            writeVarInt(out, object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeVarInt(out, stringTable.ref(entry.getKey()));
+                writeValue(out, entry.getValue(), stringTable);
+            }
+        }
+    }
+
+    // unique strings in the order they are first used
+    private static class StringTable {
+        final Map<String, Integer> refs = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+
+        int ref(String s) {
+            Integer ref = refs.get(s);
+            if (ref == null) {
+                ref = strings.size();
+                refs.put(s, ref);
+                strings.add(s);
+            }
+            return ref;
+        }
+    }
+}
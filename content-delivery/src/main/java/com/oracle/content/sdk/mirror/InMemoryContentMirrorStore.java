@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.mirror;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.content.sdk.model.Asset;
+
+/**
+ * Default {@link ContentMirrorStore} that keeps assets in memory, indexed by id and slug.
+ */
+public class InMemoryContentMirrorStore implements ContentMirrorStore {
+
+    // assets by id
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+
+    // asset ids by slug
+    private final Map<String, String> slugIndex = new ConcurrentHashMap<>();
+
+    private volatile String watermark = null;
+
+    @Override
+    public void put(Asset asset) {
+        Asset previous = assets.put(asset.getId(), asset);
+        // slug may have changed
+        if (previous != null && previous.getSlug() != null && !previous.getSlug().equals(asset.getSlug())) {
+            slugIndex.remove(previous.getSlug(), previous.getId());
+        }
+        if (asset.getSlug() != null) {
+            slugIndex.put(asset.getSlug(), asset.getId());
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        Asset previous = assets.remove(id);
+        if (previous != null && previous.getSlug() != null) {
+            slugIndex.remove(previous.getSlug(), id);
+        }
+    }
+
+    @Override
+    public Asset get(String id) {
+        return assets.get(id);
+    }
+
+    @Override
+    public Asset getBySlug(String slug) {
+        String id = slugIndex.get(slug);
+        return id != null ? assets.get(id) : null;
+    }
+
+    @Override
+    public Collection<Asset> getAll() {
+        return Collections.unmodifiableCollection(assets.values());
+    }
+
+    @Override
+    public Set<String> getIds() {
+        return new HashSet<>(assets.keySet());
+    }
+
+    @Override
+    public int size() {
+        return assets.size();
+    }
+
+    @Override
+    public String getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public void setWatermark(String watermark) {
+        this.watermark = watermark;
+    }
+}
@@ -0,0 +1,643 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.mirror;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.ItemList;
+import com.oracle.content.sdk.model.date.ContentDate;
+import com.oracle.content.sdk.model.field.FieldName;
+import com.oracle.content.sdk.model.taxonomy.Taxonomy;
+import com.oracle.content.sdk.model.taxonomy.TaxonomyCategory;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+import com.oracle.content.sdk.request.core.SearchQueryBuilder;
+
+/**
+ * Inverted index over a set of assets (for example the content of a {@link ContentMirror}) that
+ * evaluates search filters locally instead of sending a {@link SearchAssetsRequest}.
+ * <p>
+ * The supported filter syntax is the subset of SCIM produced by {@link SearchQueryBuilder}:
+ * {@code eq}, {@code co}, {@code sw}, {@code ge}, {@code le}, {@code gt} and {@code lt}
+ * expressions combined with AND/OR and parenthesized groups, on id, type, typeCategory,
+ * name, description, slug, language, fileGroup, createdDate, updatedDate,
+ * taxonomies.categories.nodes.id and {@code fields.*}.  String comparisons ignore case,
+ * {@code co} matches a substring, and range operators compare numerically when the value is
+ * a number.  Dates compare as instants, so "2023-01-01T00:00:00.000-05:00" is after
+ * "2023-01-01T04:00:00Z".  Use {@link #isSupported(String)} to check whether a filter can be evaluated
+ * locally before falling back to the server.
+ * <p>
+ * The index is immutable once built, so it can be searched from any thread.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class LocalSearchIndex {
+
+    // prefix used for custom field references
+    final private static String FIELD_PREFIX = "fields.";
+
+    // top-level attributes that are indexed
+    final private static Set<String> ATTRIBUTES = new HashSet<>(Arrays.asList(
+            FieldName.ID.getValue(),
+            FieldName.TYPE.getValue(),
+            FieldName.TYPE_CATEGORY.getValue(),
+            FieldName.NAME.getValue(),
+            FieldName.DESCRIPTION.getValue(),
+            FieldName.SLUG.getValue(),
+            FieldName.LANGUAGE.getValue(),
+            FieldName.FILE_GROUP.getValue(),
+            FieldName.CREATED_DATE.getValue(),
+            FieldName.UPDATED_DATE.getValue(),
+            FieldName.TAXONOMY_CATEGORY_NODES_ID.getValue()));
+
+    // supported comparison operators
+    final private static Set<String> OPERATORS = new HashSet<>(Arrays.asList(
+            SearchQueryBuilder.QueryOperator.EQUALS.toString(),
+            SearchQueryBuilder.QueryOperator.CONTAINS.toString(),
+            SearchQueryBuilder.QueryOperator.STARTS_WITH.toString(),
+            SearchQueryBuilder.QueryOperator.GREATER_OR_EQUAL.toString(),
+            SearchQueryBuilder.QueryOperator.LESS_OR_EQUAL.toString(),
+            SearchQueryBuilder.QueryOperator.GREATER_THAN.toString(),
+            SearchQueryBuilder.QueryOperator.LESS_THAN.toString()));
+
+    // assets by ordinal, ordered by id
+    final private Asset[] assets;
+
+    // lower case string values to the ordinals of the assets with that value, per attribute
+    final private Map<String, TreeMap<String, BitSet>> stringPostings = new HashMap<>();
+
+    // numeric values to the ordinals of the assets with that value, per attribute
+    final private Map<String, TreeMap<Double, BitSet>> numberPostings = new HashMap<>();
+
+    // sort key per ordinal, built the first time an attribute is used in orderBy
+    final private Map<String, Comparable<?>[]> sortKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Build an index over the assets.
+     *
+     * @param assets assets to index
+     */
+    public LocalSearchIndex(Collection<? extends Asset> assets) {
+        List<Asset> sorted = new ArrayList<>(assets);
+        sorted.sort(Comparator.comparing(Asset::getId));
+        this.assets = sorted.toArray(new Asset[0]);
+
+        List<Object> values = new ArrayList<>();
+        for (int ordinal = 0; ordinal < this.assets.length; ordinal++) {
+            Asset asset = this.assets[ordinal];
+            for (String attribute : ATTRIBUTES) {
+                values.clear();
+                addAttributeValues(asset, attribute, values);
+                index(attribute, values, ordinal);
+            }
+            for (Map.Entry<String, Object> field : asset.getRawFields().entrySet()) {
+                values.clear();
+                addFieldValues(field.getValue(), values);
+                index(FIELD_PREFIX + field.getKey(), values, ordinal);
+            }
+        }
+    }
+
+    /**
+     * Can the filter be evaluated by a local index?
+     *
+     * @param filter SCIM filter, null for all assets
+     * @return true if the filter only uses supported operators and attributes
+     */
+    public static boolean isSupported(String filter) {
+        try {
+            parse(filter);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Number of indexed assets.
+     *
+     * @return asset count
+     */
+    public int size() {
+        return assets.length;
+    }
+
+    /**
+     * Count the assets matching the filter.
+     *
+     * @param filter SCIM filter, null for all assets
+     * @return number of matching assets
+     * @throws IllegalArgumentException if the filter is not supported
+     */
+    public int count(String filter) {
+        return evaluate(filter).cardinality();
+    }
+
+    /**
+     * Search for the assets matching the filter.
+     *
+     * @param filter SCIM filter, null for all assets
+     * @param orderBy attribute to order by, with an optional ":asc" or ":des" suffix as used
+     *                by the orderBy parameter, or null to order by id
+     * @param offset offset of the first asset to return
+     * @param limit maximum number of assets to return
+     * @return matching assets
+     * @throws IllegalArgumentException if the filter is not supported
+     */
+    public List<Asset> search(String filter, String orderBy, int offset, int limit) {
+        BitSet matches = evaluate(filter);
+        int[] ordinals = matches.stream().toArray();
+        if (orderBy != null) {
+            ordinals = sort(ordinals, orderBy);
+        }
+
+        int end = (int) Math.min(ordinals.length, (long) offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        List<Asset> page = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            page.add(assets[ordinals[i]]);
+        }
+        return page;
+    }
+
+    private BitSet evaluate(String filter) {
+        Node node = parse(filter);
+        if (node == null) {
+            BitSet all = new BitSet(assets.length);
+            all.set(0, assets.length);
+            return all;
+        }
+        return node.evaluate(this);
+    }
+
+    private void index(String attribute, List<Object> values, int ordinal) {
+        for (Object value : values) {
+            if (value instanceof Number) {
+                numberPostings.computeIfAbsent(attribute, key -> new TreeMap<>())
+                        .computeIfAbsent(((Number) value).doubleValue(), key -> new BitSet())
+                        .set(ordinal);
+            } else {
+                stringPostings.computeIfAbsent(attribute, key -> new TreeMap<>())
+                        .computeIfAbsent(value.toString().toLowerCase(Locale.ROOT), key -> new BitSet())
+                        .set(ordinal);
+            }
+        }
+    }
+
+    // values of a top-level attribute
+    private static void addAttributeValues(Asset asset, String attribute, List<Object> values) {
+        switch (attribute) {
+            case "id":
+                addValue(asset.getId(), values);
+                break;
+            case "type":
+                addValue(asset.getType(), values);
+                break;
+            case "typeCategory":
+                addValue(asset.getTypeCategory(), values);
+                break;
+            case "name":
+                addValue(asset.getName(), values);
+                break;
+            case "description":
+                addValue(asset.getDescription(), values);
+                break;
+            case "slug":
+                addValue(asset.getSlug(), values);
+                break;
+            case "language":
+                addValue(asset.getLanguage(), values);
+                break;
+            case "fileGroup":
+                addValue(asset.getFileGroup(), values);
+                break;
+            case "createdDate":
+                addDate(asset.getCreatedDate(), values);
+                break;
+            case "updatedDate":
+                addDate(asset.getUpdatedDate(), values);
+                break;
+            case "taxonomies.categories.nodes.id":
+                addTaxonomyNodeIds(asset, values);
+                break;
+        }
+    }
+
+    private static void addValue(Object value, List<Object> values) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    // a date is indexed by its instant, so ranges compare dates with different offsets or
+    // precision correctly, and by its text for co and sw
+    private static void addDate(ContentDate date, List<Object> values) {
+        if (date != null && date.getEpochMillis() != ContentDate.INVALID_TIME) {
+            values.add(date.getEpochMillis());
+        }
+        if (date != null) {
+            addValue(date.getValue(), values);
+        }
+    }
+
+    private static boolean isDateAttribute(String attribute) {
+        return FieldName.CREATED_DATE.getValue().equals(attribute) || FieldName.UPDATED_DATE.getValue().equals(attribute);
+    }
+
+    // a date operand is milliseconds, or parsed like the dates of the assets
+    private static Double parseDate(String value) {
+        Double number = parseNumber(value);
+        if (number != null || value.isEmpty()) {
+            return number;
+        }
+        long millis = new ContentDate(value, null, null).getEpochMillis();
+        return millis != ContentDate.INVALID_TIME ? (double) millis : null;
+    }
+
+    private static void addTaxonomyNodeIds(Asset asset, List<Object> values) {
+        ItemList<Taxonomy> taxonomies = asset.getTaxonomies();
+        if (taxonomies == null || taxonomies.getItems() == null) {
+            return;
+        }
+        for (Taxonomy taxonomy : taxonomies.getItems()) {
+            if (taxonomy.getCategories() == null || taxonomy.getCategories().getItems() == null) {
+                continue;
+            }
+            for (TaxonomyCategory category : taxonomy.getCategories().getItems()) {
+                if (category.getNodes() != null) {
+                    for (TaxonomyCategory.Node node : category.getNodes()) {
+                        addValue(node.getId(), values);
+                    }
+                }
+            }
+        }
+    }
+
+    // values of a custom field: primitives, the elements of a list, the id of a reference or
+    // the value of a date
+    private static void addFieldValues(Object value, List<Object> values) {
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                addFieldValues(element, values);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (map.get("id") != null) {
+                addValue(map.get("id"), values);
+            } else if (map.get("value") instanceof String) {
+                addValue(map.get("value"), values);
+            }
+        } else {
+            addValue(value, values);
+        }
+    }
+
+    // evaluate a single comparison
+    private BitSet match(String attribute, String operator, String value) {
+        BitSet result = new BitSet(assets.length);
+        TreeMap<String, BitSet> strings = stringPostings.get(attribute);
+        TreeMap<Double, BitSet> numbers = numberPostings.get(attribute);
+        String key = value.toLowerCase(Locale.ROOT);
+        Double number = isDateAttribute(attribute) ? parseDate(value) : parseNumber(value);
+
+        switch (operator) {
+            case "eq":
+                if (strings != null) {
+                    or(result, strings.get(key));
+                }
+                if (numbers != null && number != null) {
+                    or(result, numbers.get(number));
+                }
+                break;
+            case "co":
+                if (strings != null) {
+                    for (Map.Entry<String, BitSet> entry : strings.entrySet()) {
+                        if (entry.getKey().contains(key)) {
+                            result.or(entry.getValue());
+                        }
+                    }
+                }
+                break;
+            case "sw":
+                if (strings != null) {
+                    orAll(result, strings.subMap(key, true, key + Character.MAX_VALUE, false));
+                }
+                break;
+            default:
+                if (number != null) {
+                    if (numbers != null) {
+                        orAll(result, range(numbers, operator, number));
+                    }
+                } else if (strings != null) {
+                    orAll(result, range(strings, operator, key));
+                }
+                break;
+        }
+        return result;
+    }
+
+    private static <K> NavigableMap<K, BitSet> range(NavigableMap<K, BitSet> map, String operator, K key) {
+        switch (operator) {
+            case "gt":
+                return map.tailMap(key, false);
+            case "ge":
+                return map.tailMap(key, true);
+            case "lt":
+                return map.headMap(key, false);
+            default:
+                return map.headMap(key, true);
+        }
+    }
+
+    private static void or(BitSet result, BitSet postings) {
+        if (postings != null) {
+            result.or(postings);
+        }
+    }
+
+    private static void orAll(BitSet result, Map<?, BitSet> postings) {
+        for (BitSet bits : postings.values()) {
+            result.or(bits);
+        }
+    }
+
+    private static Double parseNumber(String value) {
+        if (value.isEmpty() || !(Character.isDigit(value.charAt(0)) || value.charAt(0) == '-')) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private int[] sort(int[] ordinals, String orderBy) {
+        String attribute = orderBy;
+        boolean descending = false;
+        int colon = orderBy.lastIndexOf(':');
+        if (colon > 0) {
+            attribute = orderBy.substring(0, colon);
+            descending = "des".equalsIgnoreCase(orderBy.substring(colon + 1));
+        }
+        if (!isAttribute(attribute)) {
+            throw new IllegalArgumentException("Unsupported orderBy attribute: " + attribute);
+        }
+
+        Comparable<?>[] keys = sortKeys.computeIfAbsent(attribute, this::buildSortKeys);
+        Comparator<Integer> comparator = (a, b) -> compareKeys(keys[a], keys[b]);
+        if (descending) {
+            comparator = comparator.reversed();
+        }
+        // assets without a value always sort last, then by id
+        Comparator<Integer> withMissingLast =
+                Comparator.<Integer, Boolean>comparing(ordinal -> keys[ordinal] == null)
+                .thenComparing(comparator)
+                .thenComparing(Comparator.naturalOrder());
+
+        Integer[] boxed = new Integer[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            boxed[i] = ordinals[i];
+        }
+        Arrays.sort(boxed, withMissingLast);
+        int[] sorted = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    // first value of the attribute for each asset, numbers as doubles and strings in lower case
+    private Comparable<?>[] buildSortKeys(String attribute) {
+        Comparable<?>[] keys = new Comparable<?>[assets.length];
+        List<Object> values = new ArrayList<>();
+        for (int ordinal = 0; ordinal < assets.length; ordinal++) {
+            values.clear();
+            if (attribute.startsWith(FIELD_PREFIX)) {
+                addFieldValues(assets[ordinal].getRawFields().get(attribute.substring(FIELD_PREFIX.length())), values);
+            } else {
+                addAttributeValues(assets[ordinal], attribute, values);
+            }
+            if (!values.isEmpty()) {
+                Object value = values.get(0);
+                keys[ordinal] = value instanceof Number
+                        ? (Comparable<?>) ((Number) value).doubleValue()
+                        : value.toString().toLowerCase(Locale.ROOT);
+            }
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Comparable<?> a, Comparable<?> b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        if (a.getClass() != b.getClass()) {
+            // numbers before strings
+            return a instanceof Double ? -1 : 1;
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static boolean isAttribute(String attribute) {
+        return ATTRIBUTES.contains(attribute)
+                || (attribute.startsWith(FIELD_PREFIX) && attribute.length() > FIELD_PREFIX.length());
+    }
+
+    // parse a filter, returns null for an empty filter
+    private static Node parse(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        Parser parser = new Parser(filter);
+        Node node = parser.parseOr();
+        parser.skipWhitespace();
+        if (parser.position < filter.length()) {
+            throw parser.error("Unexpected input");
+        }
+        return node;
+    }
+
+    // node of a parsed filter
+    private interface Node {
+        BitSet evaluate(LocalSearchIndex index);
+    }
+
+    private static class Comparison implements Node {
+        final String attribute;
+        final String operator;
+        final String value;
+
+        Comparison(String attribute, String operator, String value) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        public BitSet evaluate(LocalSearchIndex index) {
+            return index.match(attribute, operator, value);
+        }
+    }
+
+    private static class And implements Node {
+        final Node left;
+        final Node right;
+
+        And(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public BitSet evaluate(LocalSearchIndex index) {
+            BitSet result = left.evaluate(index);
+            if (!result.isEmpty()) {
+                result.and(right.evaluate(index));
+            }
+            return result;
+        }
+    }
+
+    private static class Or implements Node {
+        final Node left;
+        final Node right;
+
+        Or(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public BitSet evaluate(LocalSearchIndex index) {
+            BitSet result = left.evaluate(index);
+            result.or(right.evaluate(index));
+            return result;
+        }
+    }
+
+    // recursive descent parser, AND binds tighter than OR
+    private static class Parser {
+        final String filter;
+        int position = 0;
+
+        Parser(String filter) {
+            this.filter = filter;
+        }
+
+        Node parseOr() {
+            Node node = parseAnd();
+            while (keyword(SearchQueryBuilder.QueryOperator.OR.toString())) {
+                node = new Or(node, parseAnd());
+            }
+            return node;
+        }
+
+        Node parseAnd() {
+            Node node = parsePrimary();
+            while (keyword(SearchQueryBuilder.QueryOperator.AND.toString())) {
+                node = new And(node, parsePrimary());
+            }
+            return node;
+        }
+
+        Node parsePrimary() {
+            skipWhitespace();
+            if (position < filter.length() && filter.charAt(position) == '(') {
+                position++;
+                Node node = parseOr();
+                skipWhitespace();
+                if (position >= filter.length() || filter.charAt(position) != ')') {
+                    throw error("Expected ')'");
+                }
+                position++;
+                return node;
+            }
+
+            String attribute = word();
+            if (!isAttribute(attribute)) {
+                throw error("Unsupported attribute '" + attribute + "'");
+            }
+            String operator = word().toLowerCase(Locale.ROOT);
+            if (!OPERATORS.contains(operator)) {
+                throw error("Unsupported operator '" + operator + "'");
+            }
+            return new Comparison(attribute, operator, value());
+        }
+
+        boolean keyword(String keyword) {
+            skipWhitespace();
+            int end = position + keyword.length();
+            if (filter.regionMatches(true, position, keyword, 0, keyword.length())
+                    && (end == filter.length() || Character.isWhitespace(filter.charAt(end)) || filter.charAt(end) == '(')) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        String word() {
+            skipWhitespace();
+            int start = position;
+            while (position < filter.length()
+                    && !Character.isWhitespace(filter.charAt(position))
+                    && "()\"".indexOf(filter.charAt(position)) < 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a name");
+            }
+            return filter.substring(start, position);
+        }
+
+        // quoted string, or an unquoted word such as a number
+        String value() {
+            skipWhitespace();
+            if (position >= filter.length() || filter.charAt(position) != '"') {
+                return word();
+            }
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < filter.length()) {
+                char c = filter.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\' && position < filter.length()) {
+                    c = filter.charAt(position++);
+                }
+                value.append(c);
+            }
+            throw error("Unterminated string");
+        }
+
+        void skipWhitespace() {
+            while (position < filter.length() && Character.isWhitespace(filter.charAt(position))) {
+                position++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + position + " in filter: " + filter);
+        }
+    }
+}
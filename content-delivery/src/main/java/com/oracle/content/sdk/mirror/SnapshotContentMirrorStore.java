@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.mirror;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.content.sdk.model.Asset;
+
+/**
+ * {@link ContentMirrorStore} that starts from a {@link ContentSnapshot}, so a mirror can serve
+ * reads immediately at startup and then sync incrementally from the snapshot watermark.
+ * Assets in the snapshot are decoded when they are read, and decoded again on every read, see
+ * {@link ContentSnapshot#get(String)}; assets put by a sync are held in memory on top of the
+ * snapshot.
+ * <pre>{@code
+ *   ContentSnapshot snapshot = ContentSnapshot.open(file);
+ *   ContentMirror mirror = new ContentMirror(deliveryClient, new SnapshotContentMirrorStore(snapshot), null);
+ *   mirror.sync();    // only requests assets updated since the snapshot was exported
+ * }</pre>
+ */
+public class SnapshotContentMirrorStore implements ContentMirrorStore {
+
+    private final ContentSnapshot snapshot;
+
+    // assets added or updated since the snapshot
+    private final InMemoryContentMirrorStore changes = new InMemoryContentMirrorStore();
+
+    // ids put or removed since the snapshot, hiding any snapshot asset with the id
+    private final Set<String> overridden = ConcurrentHashMap.newKeySet();
+
+    // number of snapshot assets that have been replaced or removed
+    private final AtomicInteger hidden = new AtomicInteger();
+
+    private volatile String watermark;
+
+    public SnapshotContentMirrorStore(@NotNull ContentSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.watermark = snapshot.getWatermark();
+    }
+
+    @Override
+    public void put(Asset asset) {
+        changes.put(asset);
+        override(asset.getId());
+    }
+
+    @Override
+    public void remove(String id) {
+        changes.remove(id);
+        override(id);
+    }
+
+    private void override(String id) {
+        if (overridden.add(id) && snapshot.contains(id)) {
+            hidden.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get an asset.  An asset from the snapshot is decoded on each call.
+     *
+     * @param id asset id
+     * @return the asset or null if not stored
+     */
+    @Override
+    public Asset get(String id) {
+        Asset asset = changes.get(id);
+        if (asset == null && !overridden.contains(id)) {
+            asset = snapshot.get(id);
+        }
+        return asset;
+    }
+
+    @Override
+    public Asset getBySlug(String slug) {
+        Asset asset = changes.getBySlug(slug);
+        if (asset == null) {
+            asset = snapshot.getBySlug(slug);
+            // the slug in the snapshot is stale if the asset has changed since
+            if (asset != null && overridden.contains(asset.getId())) {
+                asset = null;
+            }
+        }
+        return asset;
+    }
+
+    /**
+     * Get all assets.  This decodes every asset in the snapshot that has not been replaced.
+     *
+     * @return copy of the stored assets
+     */
+    @Override
+    public Collection<Asset> getAll() {
+        List<Asset> assets = new ArrayList<>(changes.getAll());
+        for (String id : snapshot.getIds()) {
+            if (!overridden.contains(id)) {
+                assets.add(snapshot.get(id));
+            }
+        }
+        return Collections.unmodifiableList(assets);
+    }
+
+    @Override
+    public Set<String> getIds() {
+        Set<String> ids = changes.getIds();
+        for (String id : snapshot.getIds()) {
+            if (!overridden.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public int size() {
+        // the snapshot count is in its header, the changes are counted as they are made
+        return snapshot.size() - hidden.get() + changes.size();
+    }
+
+    @Override
+    public String getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public void setWatermark(String watermark) {
+        this.watermark = watermark;
+    }
+
+    public ContentSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
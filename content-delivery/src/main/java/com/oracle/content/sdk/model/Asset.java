@@ -26,8 +26,17 @@ import com.oracle.content.sdk.model.taxonomy.Taxonomy;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 
@@ -37,6 +46,21 @@ import java.util.Map;
 @SuppressWarnings("unused")
 public abstract class Asset extends AssetLinksObject {
 
+    /**
+     * Orders assets by created date, oldest first.  Dates are parsed once per item so
+     * each comparison is a primitive comparison.  Items without a valid date sort first.
+     */
+    public static final Comparator<Asset> CREATED_DATE_COMPARATOR =
+            Comparator.comparingLong(Asset::getCreatedTime);
+
+    /**
+     * Orders assets by updated date, oldest first.  Dates are parsed once per item so
+     * each comparison is a primitive comparison.  Items without a valid date sort first.
+     * Use {@code UPDATED_DATE_COMPARATOR.reversed()} for most recently updated first.
+     */
+    public static final Comparator<Asset> UPDATED_DATE_COMPARATOR =
+            Comparator.comparingLong(Asset::getUpdatedTime);
+
     @SerializedName("id")
     @Expose
     protected String id;
@@ -92,6 +116,99 @@ public abstract class Asset extends AssetLinksObject {
     @Expose
     protected Map<String, Object> fields;
 
+    // set by compact(), the dates are then held as epoch millis with a pooled timezone
+    // and createdDate/updatedDate are null.  These are transient so Gson leaves them out of
+    // the json of an asset, writeObject() keeps them for Java serialization.
+    transient private boolean compact = false;
+    transient private long createdTime;
+    transient private String createdTimezone;
+    transient private long updatedTime;
+    transient private String updatedTimezone;
+
+    // dates of a compact asset, built the first time they are asked for
+    transient private volatile ContentDate compactCreatedDate;
+    transient private volatile ContentDate compactUpdatedDate;
+
+    // format of the dates of a compact asset, always with milliseconds so every date parser reads it
+    private static final DateTimeFormatter COMPACT_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US).withZone(ZoneOffset.UTC);
+
+    /**
+     * Reduce the memory held by this asset, for clients that keep many assets in memory.
+     * Repeated strings such as the type, language and mime type are pooled, the created and
+     * updated dates are held as epoch millis, and the fields are held in a flat read-only map.
+     * This is done for every asset deserialized by a client with
+     * {@link com.oracle.content.sdk.ContentSettings#setCompactAssets(boolean)} set.
+     * <p>
+     * The dates returned by {@link #getCreatedDate()} and {@link #getUpdatedDate()} are then
+     * built on first use, with the value as a UTC instant such as "2023-01-31T10:15:30.100Z".
+     *
+     * @param dropLinks true to also drop the links of the asset.  Links inside field values,
+     *                  such as the rendition urls of a digital asset, are kept.
+     */
+    public void compact(boolean dropLinks) {
+        type = StringPool.intern(type);
+        typeCategory = StringPool.intern(typeCategory);
+        language = StringPool.intern(language);
+        mimeType = StringPool.intern(mimeType);
+        fileGroup = StringPool.intern(fileGroup);
+        fileExtension = StringPool.intern(fileExtension);
+
+        if (isCompactDate(createdDate)) {
+            createdTime = createdDate.getEpochMillis();
+            createdTimezone = StringPool.intern(createdDate.getTimezone());
+            createdDate = null;
+        }
+        if (isCompactDate(updatedDate)) {
+            updatedTime = updatedDate.getEpochMillis();
+            updatedTimezone = StringPool.intern(updatedDate.getTimezone());
+            updatedDate = null;
+        }
+
+        if (dropLinks) {
+            links = null;
+        }
+        if (fields != null) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> compactFields = (Map<String, Object>) CompactFieldMap.compact(fields);
+            fields = compactFields;
+        }
+        compact = true;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeBoolean(compact);
+        out.writeLong(createdTime);
+        out.writeObject(createdTimezone);
+        out.writeLong(updatedTime);
+        out.writeObject(updatedTimezone);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        compact = in.readBoolean();
+        createdTime = in.readLong();
+        createdTimezone = StringPool.intern((String) in.readObject());
+        updatedTime = in.readLong();
+        updatedTimezone = StringPool.intern((String) in.readObject());
+    }
+
+    // dates with a description or a value that does not parse are kept as they are
+    private static boolean isCompactDate(ContentDate date) {
+        return date != null && date.getDescription() == null &&
+                date.getTimezone() != null && date.getEpochMillis() != ContentDate.INVALID_TIME;
+    }
+
+    /**
+     * Has {@link #compact(boolean)} been called on this asset?
+     *
+     * @return true if this asset is compact
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
 
     public ItemList<Taxonomy> getTaxonomies() {
         return taxonomies;
@@ -142,6 +259,15 @@ public abstract class Asset extends AssetLinksObject {
      * @return Created date for item.
      */
     public ContentDate getCreatedDate() {
+        if (createdTimezone != null) {
+            ContentDate date = compactCreatedDate;
+            if (date == null) {
+                // threads racing here build equal dates, either can be kept
+                date = compactDate(createdTime, createdTimezone);
+                compactCreatedDate = date;
+            }
+            return date;
+        }
         return createdDate;
     }
 
@@ -152,9 +278,39 @@ public abstract class Asset extends AssetLinksObject {
      */
 
     public ContentDate getUpdatedDate() {
+        if (updatedTimezone != null) {
+            ContentDate date = compactUpdatedDate;
+            if (date == null) {
+                date = compactDate(updatedTime, updatedTimezone);
+                compactUpdatedDate = date;
+            }
+            return date;
+        }
         return updatedDate;
     }
 
+    private static ContentDate compactDate(long time, String timezone) {
+        return new ContentDate(COMPACT_DATE_FORMAT.format(Instant.ofEpochMilli(time)), timezone, null);
+    }
+
+    /**
+     * Get created date for item as milliseconds since epoch.
+     *
+     * @return created time or {@link ContentDate#INVALID_TIME} if not available
+     */
+    public long getCreatedTime() {
+        return createdTimezone != null ? createdTime : ContentDate.getEpochMillis(createdDate);
+    }
+
+    /**
+     * Get updated date for item as milliseconds since epoch.
+     *
+     * @return updated time or {@link ContentDate#INVALID_TIME} if not available
+     */
+    public long getUpdatedTime() {
+        return updatedTimezone != null ? updatedTime : ContentDate.getEpochMillis(updatedDate);
+    }
+
     /*
      * If the item is only a reference it will contain basic fields like name, id, and
      * lack the full set of fields such as date.
@@ -163,7 +319,7 @@ public abstract class Asset extends AssetLinksObject {
      */
     public boolean isReferenceOnly() {
         // if date is empty, assume this is a reference
-        return (createdDate == null);
+        return (createdDate == null && createdTimezone == null);
     }
 
     /**
@@ -232,6 +388,16 @@ public abstract class Asset extends AssetLinksObject {
         return translatable;
     }
 
+    /**
+     * Get the field values as they were deserialized from json, without converting them to
+     * {@link ContentField} objects.  Values are strings, numbers, booleans, lists and maps.
+     *
+     * @return unmodifiable map of field name to raw value, empty if there are no fields
+     */
+    public Map<String, Object> getRawFields() {
+        return fields != null ? Collections.unmodifiableMap(fields) : Collections.emptyMap();
+    }
+
     /**
      * This method will "guess" the field type based on the value of the field.
      * If you know the type of the field, you should always use {@link #getFieldFromType(String, FieldType)}
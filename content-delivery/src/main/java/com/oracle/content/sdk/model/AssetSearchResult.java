@@ -5,6 +5,8 @@
 
 package com.oracle.content.sdk.model;
 
+import com.oracle.content.sdk.ContentCategoryIndex;
+import com.oracle.content.sdk.ContentSlugIndex;
 import com.oracle.content.sdk.model.digital.DigitalAsset;
 import com.oracle.content.sdk.model.item.ContentItem;
 import com.oracle.content.sdk.request.core.ContentAssetRequest;
@@ -21,9 +23,59 @@ import com.oracle.content.sdk.request.SearchAssetsRequest;
  */
 public class AssetSearchResult extends PaginatedListResult<Asset> {
 
+    // index to record the slugs of deserialized items, may be null
+    private transient ContentSlugIndex slugIndex = null;
+
+    /**
+     * Set the index that the slug of each item is recorded in when the items are deserialized.
+     *
+     * @param slugIndex slug index or null
+     */
+    public void setSlugIndex(ContentSlugIndex slugIndex) {
+        this.slugIndex = slugIndex;
+    }
+
+    // index to record the categories of deserialized items, may be null
+    private transient ContentCategoryIndex categoryIndex = null;
+
+    /**
+     * Set the index that the categories of each item are recorded in when the items are
+     * deserialized.
+     *
+     * @param categoryIndex category index or null
+     */
+    public void setCategoryIndex(ContentCategoryIndex categoryIndex) {
+        this.categoryIndex = categoryIndex;
+    }
+
+    // compact deserialized items, and drop their links
+    private transient boolean compactAssets = false;
+    private transient boolean dropLinks = false;
+
+    /**
+     * Compact each item when it is deserialized, see {@link Asset#compact(boolean)}
+     *
+     * @param compactAssets true to compact items
+     * @param dropLinks true to also drop the links of the items
+     */
+    public void setCompactAssets(boolean compactAssets, boolean dropLinks) {
+        this.compactAssets = compactAssets;
+        this.dropLinks = dropLinks;
+    }
+
     @Override
     protected Asset deserializeObject(JsonElement jsonElement) {
-        return ContentAssetRequest.deserializeContentBaseItem(jsonElement);
+        Asset asset = ContentAssetRequest.deserializeContentBaseItem(jsonElement);
+        if (compactAssets) {
+            asset.compact(dropLinks);
+        }
+        if (slugIndex != null) {
+            slugIndex.put(asset);
+        }
+        if (categoryIndex != null) {
+            categoryIndex.put(asset);
+        }
+        return asset;
     }
 
     /**
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.model;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map of the field values of a compact asset, held in two arrays instead of the tree
+ * of entry nodes Gson deserializes into.  Assets have few fields, so lookups scan the keys.
+ * Keys, and the values of keys that hold low-cardinality strings, come from the
+ * {@link StringPool}.
+ * <p>
+ * The map is serializable like the rest of the asset, its keys and values are pooled again
+ * when it is read back.
+ */
+final class CompactFieldMap extends AbstractMap<String, Object> implements Serializable {
+    static final long serialVersionUID = 6327149042731864051L;
+
+    // keys whose string values repeat across assets and are worth pooling
+    private static final Set<String> POOLED_VALUE_KEYS = new HashSet<>(Arrays.asList(
+            "type", "typeCategory", "timezone", "language", "mimeType", "fileGroup",
+            "fileExtension", "rel", "method", "mediaType"));
+
+    final private String[] keys;
+    final private Object[] values;
+
+    private CompactFieldMap(Map<?, ?> map) {
+        String[] keys = new String[map.size()];
+        Object[] values = new Object[map.size()];
+        int index = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            Object value = entry.getValue();
+            keys[index] = StringPool.intern(key);
+            values[index] = value instanceof String && POOLED_VALUE_KEYS.contains(key) ?
+                    StringPool.intern((String) value) : compact(value);
+            index++;
+        }
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Compact a value deserialized by Gson: maps become compact maps and lists are copied at
+     * their exact size, recursively.  Other values are returned as they are.
+     *
+     * @param value value to compact
+     * @return compacted value
+     */
+    static Object compact(Object value) {
+        if (value instanceof CompactFieldMap) {
+            return value;
+        } else if (value instanceof Map) {
+            return new CompactFieldMap((Map<?, ?>) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            ArrayList<Object> compacted = new ArrayList<>(list.size());
+            for (Object item : list) {
+                compacted.add(compact(item));
+            }
+            return compacted;
+        }
+        return value;
+    }
+
+    // pool the strings of a deserialized map, nested maps have already been resolved
+    private Object readResolve() {
+        return new CompactFieldMap(this);
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
@@ -11,6 +11,10 @@ import com.google.gson.annotations.SerializedName;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Level;
 
 import com.oracle.content.sdk.ContentClient;
@@ -41,10 +45,24 @@ public abstract class PaginatedListResult<T> extends AssetLinksObject {
     private Integer totalResults;
     @SerializedName("items")
     @Expose
-    protected List<JsonElement> items = null;
+    protected volatile List<JsonElement> items = null;
 
-    // The actual deserialized list of items
-    protected List<T> deserializedItems = null;
+    // The actual deserialized list of items, published once so results can be shared between threads
+    protected volatile List<T> deserializedItems = null;
+
+    // placeholder published by the thread that deserializes the items, other threads wait on it
+    private transient volatile CompletableFuture<List<T>> deserializing = null;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PaginatedListResult, CompletableFuture> DESERIALIZING =
+            AtomicReferenceFieldUpdater.newUpdater(PaginatedListResult.class, CompletableFuture.class, "deserializing");
+
+    // smallest number of items in each parallel task
+    private static final int MIN_ITEMS_PER_TASK = 16;
+
+    // executor to deserialize items in parallel, and the number of items needed to use it
+    private transient Executor deserializeExecutor = null;
+    private transient int parallelThreshold = 0;
 
     /**
      * Are there more pages of results?
@@ -126,25 +144,123 @@ public abstract class PaginatedListResult<T> extends AssetLinksObject {
      */
     protected abstract T deserializeObject(JsonElement jsonElement);
 
+    /**
+     * Deserialize the items in parallel when there are at least the given number of items.
+     * The items keep the order of the response.
+     *
+     * @param threshold number of items needed to deserialize in parallel
+     * @param executor executor to deserialize on, or null to always deserialize on the calling thread
+     */
+    public void setParallelDeserialization(int threshold, Executor executor) {
+        this.parallelThreshold = threshold;
+        this.deserializeExecutor = executor;
+    }
+
+    /**
+     * Deserialize the items now and drop their json, so only the deserialized items are held.
+     */
+    public void releaseJson() {
+        deserializeItemFields();
+        items = null;
+    }
+
     /**
      * Go through and deserialize each json item into the deserializedItems.  This can be overriden
      * to provide custom deserialization.
+     * <p>
+     * This is safe to call from several threads.  The items are deserialized once by the first
+     * caller, and any caller that races it waits for that same list.
      */
     public void deserializeItemFields() {
         // only deserialize if not already done
-        if (deserializedItems == null && items != null) {
-            deserializedItems = new ArrayList<>(items.size());
-            for(JsonElement jsonElement : items) {
-                try {
-                    // deserialize each object in the list
-                    T object = deserializeObject(jsonElement);
-                    if (object != null) {
-                        deserializedItems.add(object);
-                    }
-                } catch (Exception e) {
-                    ContentClient.log(Level.SEVERE, TAG,"Error deserializing the response");
+        if (deserializedItems != null) {
+            return;
+        }
+        CompletableFuture<List<T>> pending = deserializing;
+        if (pending != null) {
+            join(pending);
+            return;
+        }
+        // items is cleared by releaseJson() only after deserializedItems is set
+        List<JsonElement> jsonItems = items;
+        if (jsonItems == null) {
+            return;
+        }
+        CompletableFuture<List<T>> claim = new CompletableFuture<>();
+        if (!DESERIALIZING.compareAndSet(this, null, claim)) {
+            // claimed by another thread, or it failed and a retry can claim it
+            deserializeItemFields();
+            return;
+        }
+        try {
+            List<T> objects;
+            if (deserializeExecutor != null && jsonItems.size() >= parallelThreshold) {
+                objects = deserializeParallel(jsonItems, deserializeExecutor);
+            } else {
+                objects = new ArrayList<>(jsonItems.size());
+                deserializeItems(jsonItems, objects);
+            }
+            deserializedItems = objects;
+            claim.complete(objects);
+        } catch (Throwable t) {
+            // the threads waiting get the error, later callers try again
+            DESERIALIZING.compareAndSet(this, claim, null);
+            claim.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    // wait for the items deserialized by another thread, with the exception it failed with
+    private static void join(CompletableFuture<?> pending) {
+        try {
+            pending.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    // deserialize each json item into the list, skipping items that fail
+    private void deserializeItems(List<JsonElement> jsonItems, List<T> objects) {
+        for(JsonElement jsonElement : jsonItems) {
+            try {
+                // deserialize each object in the list
+                T object = deserializeObject(jsonElement);
+                if (object != null) {
+                    objects.add(object);
                 }
+            } catch (Exception e) {
+                ContentClient.log(Level.SEVERE, TAG,"Error deserializing the response");
             }
         }
     }
+
+    // split the items into ranges deserialized on the executor, the calling thread takes the first
+    private List<T> deserializeParallel(List<JsonElement> jsonItems, Executor executor) {
+        int size = jsonItems.size();
+        int tasks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_ITEMS_PER_TASK));
+        int itemsPerTask = (size + tasks - 1) / tasks;
+
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(tasks);
+        for (int start = itemsPerTask; start < size; start += itemsPerTask) {
+            List<JsonElement> range = jsonItems.subList(start, Math.min(size, start + itemsPerTask));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<T> objects = new ArrayList<>(range.size());
+                deserializeItems(range, objects);
+                return objects;
+            }, executor));
+        }
+
+        List<T> objects = new ArrayList<>(size);
+        deserializeItems(jsonItems.subList(0, Math.min(size, itemsPerTask)), objects);
+        for (CompletableFuture<List<T>> future : futures) {
+            objects.addAll(future.join());
+        }
+        return objects;
+    }
 }
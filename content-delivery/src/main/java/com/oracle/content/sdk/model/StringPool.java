@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool of the strings that repeat across many assets, such as type names, languages, mime types,
+ * timezones and field names.  Compact assets (see {@link Asset#compact(boolean)}) share one
+ * instance of each of these strings instead of holding a copy per asset.
+ */
+public final class StringPool {
+
+    // bound on the pool, values past this are not pooled so the pool cannot grow without limit
+    static final int MAX_SIZE = 10000;
+
+    private static final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+
+    private StringPool() {}
+
+    /**
+     * Get the pooled instance of a string.
+     *
+     * @param value string to pool, may be null
+     * @return pooled string equal to the value, or the value itself if the pool is full
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pool.size() >= MAX_SIZE) {
+            return value;
+        }
+        pooled = pool.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+}
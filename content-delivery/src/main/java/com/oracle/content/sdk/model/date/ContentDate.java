@@ -8,6 +8,13 @@ package com.oracle.content.sdk.model.date;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Level;
+
+import com.oracle.content.sdk.ContentClient;
 import com.oracle.content.sdk.model.AssetObject;
 
 /**
@@ -19,6 +26,12 @@ public class ContentDate extends AssetObject {
 
     public static String DEFAULT_TIMEZONE = "UTC";
 
+    /**
+     * Value returned by {@link #getEpochMillis()} when the date could not be parsed.
+     * Sorts before any valid date.
+     */
+    public static final long INVALID_TIME = Long.MIN_VALUE;
+
     /**
      * Create Content Date field.
      *
@@ -42,6 +55,32 @@ public class ContentDate extends AssetObject {
     @Expose
     String description;
 
+    /**
+     * Result of parsing {@link #value}, computed once on first use.
+     */
+    static final class ParsedValue {
+
+        // marker for a value that could not be parsed
+        static final ParsedValue INVALID = new ParsedValue(null);
+
+        final ZonedDateTime dateTime;
+        final Instant instant;
+        final long epochMillis;
+
+        ParsedValue(ZonedDateTime dateTime) {
+            this.dateTime = dateTime;
+            this.instant = dateTime != null ? dateTime.toInstant() : null;
+            this.epochMillis = instant != null ? instant.toEpochMilli() : INVALID_TIME;
+        }
+    }
+
+    // memoized parse result (not part of serialized data)
+    transient private volatile ParsedValue parsedValue;
+
+    // memoized parsers, these only hold a reference back to this date
+    transient private volatile ContentDateParser dateParser;
+    transient private volatile ContentDateParser legacyDateParser;
+
     /**
      * Get raw string value of the date  Use {@link ContentDateParser} to parse the value.
      * @return string value of date.
@@ -74,7 +113,12 @@ public class ContentDate extends AssetObject {
      * @return {@link ContentDateParser} to parse and display dates
      */
     public ContentDateParser getDateParser() {
-        return new ContentDateParserZonedDateTime(this);
+        ContentDateParser parser = dateParser;
+        if (parser == null) {
+            parser = new ContentDateParserZonedDateTime(this);
+            dateParser = parser;
+        }
+        return parser;
     }
 
     /**
@@ -83,11 +127,66 @@ public class ContentDate extends AssetObject {
      * @return {@link ContentDateParser} to parse and display dates
      */
     public ContentDateParser getLegacyDateParser() {
-        return new ContentDateParserCalendar(this);
+        ContentDateParser parser = legacyDateParser;
+        if (parser == null) {
+            parser = new ContentDateParserCalendar(this);
+            legacyDateParser = parser;
+        }
+        return parser;
+    }
+
+    /**
+     * Get the date value as an {@link Instant}.  The value is parsed on the first call
+     * and the result is reused for subsequent calls.
+     *
+     * @return instant for the date or null if the value is empty or could not be parsed
+     */
+    public Instant getInstant() {
+        return getParsedValue().instant;
     }
 
+    /**
+     * Get the date value as milliseconds since epoch.  The value is parsed on the first call
+     * and later calls only read the stored primitive, which makes this suitable for sorting
+     * large lists of items by date.
+     *
+     * @return milliseconds since epoch or {@link #INVALID_TIME} if the value could not be parsed
+     */
+    public long getEpochMillis() {
+        return getParsedValue().epochMillis;
+    }
 
+    /**
+     * Get milliseconds since epoch for a date that may be null.
+     *
+     * @param date date to get the time for (may be null)
+     * @return milliseconds since epoch or {@link #INVALID_TIME} if the date is null or invalid
+     */
+    public static long getEpochMillis(ContentDate date) {
+        return date != null ? date.getEpochMillis() : INVALID_TIME;
+    }
 
+    // parse the value once, concurrent callers may both parse but will compute the same result
+    ParsedValue getParsedValue() {
+        ParsedValue parsed = parsedValue;
+        if (parsed == null) {
+            parsed = parse(value);
+            parsedValue = parsed;
+        }
+        return parsed;
+    }
 
+    private static ParsedValue parse(String value) {
+        if (value == null || value.isEmpty())
+            return ParsedValue.INVALID;
+
+        try {
+            // parse string coming from server
+            return new ParsedValue(ZonedDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        } catch (DateTimeParseException e) {
+            ContentClient.log(Level.WARNING, "[ContentDate]", () -> "Parsing Error:" + e);
+            return ParsedValue.INVALID;
+        }
+    }
 
 }
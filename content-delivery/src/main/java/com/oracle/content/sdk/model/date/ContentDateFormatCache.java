@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.model.date;
+
+import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of date formatters keyed by pattern and locale, used by the {@link ContentDateParser}
+ * implementations so formatting thousands of dates does not rebuild the same formatter each time.
+ * <p>
+ * {@link DateTimeFormatter} is immutable and shared across threads.  {@link SimpleDateFormat}
+ * is not thread-safe, so those instances are cached per thread.
+ */
+final class ContentDateFormatCache {
+
+    // upper bound on cached patterns, protects against callers building patterns dynamically
+    static final int MAX_CACHED_PATTERNS = 64;
+
+    // shared, thread-safe formatters
+    private static final Map<String, DateTimeFormatter> sDateTimeFormatters = new ConcurrentHashMap<>();
+
+    // SimpleDateFormat is mutable, so keep one cache per thread
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> sSimpleDateFormats =
+            ThreadLocal.withInitial(HashMap::new);
+
+    private ContentDateFormatCache() {}
+
+    // key used for both caches
+    private static String key(String pattern, Locale locale) {
+        return locale.toLanguageTag() + '|' + pattern;
+    }
+
+    /**
+     * Get a shared {@link DateTimeFormatter} for the pattern and locale.
+     *
+     * @param pattern output pattern (e.g. "M/d/yyyy")
+     * @param locale locale for the formatter
+     * @return cached formatter
+     */
+    static DateTimeFormatter getDateTimeFormatter(String pattern, Locale locale) {
+        String key = key(pattern, locale);
+        DateTimeFormatter formatter = sDateTimeFormatters.get(key);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern, locale);
+            if (sDateTimeFormatters.size() >= MAX_CACHED_PATTERNS) {
+                sDateTimeFormatters.clear();
+            }
+            sDateTimeFormatters.put(key, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * Get a {@link SimpleDateFormat} for the pattern and locale that is owned by the calling thread.
+     * Callers must set any time zone they rely on, since the instance is reused.
+     *
+     * @param pattern date pattern
+     * @param locale locale for the format
+     * @return cached format for the current thread
+     */
+    static SimpleDateFormat getSimpleDateFormat(String pattern, Locale locale) {
+        Map<String, SimpleDateFormat> formats = sSimpleDateFormats.get();
+        String key = key(pattern, locale);
+        SimpleDateFormat format = formats.get(key);
+        if (format == null) {
+            format = new SimpleDateFormat(pattern, locale);
+            if (formats.size() >= MAX_CACHED_PATTERNS) {
+                formats.clear();
+            }
+            formats.put(key, format);
+        }
+        return format;
+    }
+}
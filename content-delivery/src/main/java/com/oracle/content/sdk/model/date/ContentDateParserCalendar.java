@@ -27,6 +27,9 @@ public class ContentDateParserCalendar extends ContentDateParser {
     static final String PARSE_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
     static final String PARSE_DATE_FORMAT2 = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
 
+    // time zone used when parsing server values
+    static final TimeZone UTC = TimeZone.getTimeZone(ContentDate.DEFAULT_TIMEZONE);
+
     ContentDateParserCalendar(ContentDate date) {
         this.date = date;
     }
@@ -41,13 +44,14 @@ public class ContentDateParserCalendar extends ContentDateParser {
         if (date.value == null || date.value.isEmpty())
             return null;
 
-        SimpleDateFormat format = new SimpleDateFormat(PARSE_DATE_FORMAT, Locale.US);
-        format.setTimeZone(TimeZone.getTimeZone(ContentDate.DEFAULT_TIMEZONE));
+        // formats are cached per thread, so always reset the time zone
+        SimpleDateFormat format = ContentDateFormatCache.getSimpleDateFormat(PARSE_DATE_FORMAT, Locale.US);
+        format.setTimeZone(UTC);
         try {
             // parse string coming from server
             return format.parse(date.value);
         } catch (ParseException e) {
-            ContentClient.log(Level.WARNING, "[ContentDate]", "Parsing Error:" + e);
+            ContentClient.log(Level.WARNING, "[ContentDate]", () -> "Parsing Error:" + e);
             return null;
         }
 
@@ -87,7 +91,8 @@ public class ContentDateParserCalendar extends ContentDateParser {
         if (dateValue == null)
             return null;
 
-        SimpleDateFormat newFormat = new SimpleDateFormat(outputPattern, Locale.US);
+        SimpleDateFormat newFormat = ContentDateFormatCache.getSimpleDateFormat(outputPattern, Locale.US);
+        newFormat.setTimeZone(TimeZone.getDefault());
         String display =  newFormat.format(dateValue);
         // add time zone at end (this matches what the web UI does)
         if (displayType == ContentDateDisplayType.DateTimeZone) {
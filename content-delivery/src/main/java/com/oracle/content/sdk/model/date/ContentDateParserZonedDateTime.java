@@ -5,12 +5,10 @@
 
 package com.oracle.content.sdk.model.date;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.logging.Level;
-
-import com.oracle.content.sdk.ContentClient;
+import java.util.Locale;
 
 /**
  * This implementation of {@link ContentDateParser} uses the newer Java 8/Android API 26+
@@ -27,21 +25,12 @@ public class ContentDateParserZonedDateTime extends ContentDateParser {
 
     /**
      * Parse the server string value and return as a "ZonedDateTime" object.
+     * The value is only parsed once per {@link ContentDate}.
      *
      * @return ZonedDate object if value or null
      */
     public ZonedDateTime getAsZonedDateTime() {
-        if (date.value == null || date.value.isEmpty())
-            return null;
-
-        try {
-            // parse string coming from server
-            return ZonedDateTime.parse(date.value, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-        } catch (DateTimeParseException e) {
-            ContentClient.log(Level.WARNING, "[ContentDate]", "Parsing Error:" + e);
-            return null;
-        }
-
+        return date.getParsedValue().dateTime;
     }
 
     /**
@@ -53,10 +42,10 @@ public class ContentDateParserZonedDateTime extends ContentDateParser {
     @Override
     public Long getTimeInMilliseconds() {
 
-        ZonedDateTime zonedDateTime = getAsZonedDateTime();
+        Instant instant = date.getInstant();
 
-        if (zonedDateTime != null) {
-            return zonedDateTime.toInstant().toEpochMilli();
+        if (instant != null) {
+            return instant.toEpochMilli();
         } else {
             return null;
         }
@@ -78,9 +67,9 @@ public class ContentDateParserZonedDateTime extends ContentDateParser {
         if (ldt == null)
             return null;
 
-        // pattern to display
-        DateTimeFormatter formatter =
-                DateTimeFormatter.ofPattern(outputPattern);//.withZone(ZoneId.of(timezone));
+        // pattern to display (cached per pattern and default locale)
+        DateTimeFormatter formatter = ContentDateFormatCache.getDateTimeFormatter(
+                outputPattern, Locale.getDefault(Locale.Category.FORMAT));
 
         String dateTime = ldt.format(formatter);
 
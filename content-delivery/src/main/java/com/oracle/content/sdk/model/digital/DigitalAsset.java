@@ -7,6 +7,9 @@ package com.oracle.content.sdk.model.digital;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import com.oracle.content.sdk.ContentClient;
 import com.oracle.content.sdk.model.Asset;
@@ -36,8 +39,15 @@ public class DigitalAsset extends Asset {
                     AssetType.TYPE_ASSET_VIDEO,
                     AssetType.TYPE_ASSET_VIDEO_PLUS));
 
-    // "fields" will be deserialized to this
-    transient private DigitalAssetFields digitalAssetFields = null;
+    // "fields" will be deserialized to this, published once so assets can be shared between threads
+    transient private volatile DigitalAssetFields digitalAssetFields = null;
+
+    // placeholder published by the thread that deserializes the fields, other threads wait on it
+    transient private volatile CompletableFuture<DigitalAssetFields> deserializing = null;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DigitalAsset, CompletableFuture> DESERIALIZING =
+            AtomicReferenceFieldUpdater.newUpdater(DigitalAsset.class, CompletableFuture.class, "deserializing");
 
     /**
      * Get the digital asset fields structure, which contains all of metadata/rendition information for the digital asset.
@@ -45,16 +55,63 @@ public class DigitalAsset extends Asset {
      * @return Digital asset fields
      */
     public DigitalAssetFields getAssetFields() {
+        DigitalAssetFields assetFields = digitalAssetFields;
+        if (assetFields != null) {
+            return assetFields;
+        }
+        CompletableFuture<DigitalAssetFields> pending = deserializing;
+        if (pending != null) {
+            return join(pending);
+        }
+        // only the thread that publishes the placeholder deserializes, a thread that raced it waits
+        CompletableFuture<DigitalAssetFields> claim = new CompletableFuture<>();
+        if (!DESERIALIZING.compareAndSet(this, null, claim)) {
+            // claimed by another thread, or it failed and a retry can claim it
+            return getAssetFields();
+        }
+        try {
+            assetFields = deserializeAssetFields();
+            digitalAssetFields = assetFields;
+            claim.complete(assetFields);
+            return assetFields;
+        } catch (Throwable t) {
+            // the threads waiting get the error, later callers try again
+            DESERIALIZING.compareAndSet(this, claim, null);
+            claim.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    // wait for the fields deserialized by another thread, with the exception it failed with
+    private static DigitalAssetFields join(CompletableFuture<DigitalAssetFields> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
 
-        if (digitalAssetFields == null && fields != null) {
-            String jsonString = ContentClient.gson().toJson(fields);
-            digitalAssetFields = ContentClient.gson().fromJson(jsonString, DigitalAssetFields.class);
+    private DigitalAssetFields deserializeAssetFields() {
+        DigitalAssetFields assetFields = null;
+        if (fields != null) {
+            // bind from a json tree of the deserialized fields rather than writing them out as a string
+            assetFields = ContentClient.gson().fromJson(ContentClient.gson().toJsonTree(fields), DigitalAssetFields.class);
         }
         // don't allow "null" value for digital asset fields, just return empty class
-        if (digitalAssetFields == null) {
-            digitalAssetFields = new DigitalAssetFields();
+        if (assetFields == null) {
+            assetFields = new DigitalAssetFields();
+        } else if (assetFields.getRenditions() != null) {
+            for (DigitalAssetRendition rendition : assetFields.getRenditions()) {
+                rendition.nameFormats();
+            }
         }
-        return digitalAssetFields;
+        return assetFields;
     }
 
     // is this a custom asset type with attributes?
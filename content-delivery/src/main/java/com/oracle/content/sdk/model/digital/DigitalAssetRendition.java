@@ -37,8 +37,10 @@ public class DigitalAssetRendition extends AssetLinksObject {
 
         /**
          * RenditionType name set by {@link #getBestMatchingFormat(String)}, not part of serialized data.
+         * Only ever set to the name of the rendition holding the format, so concurrent callers
+         * write the same value.
          */
-        private String renditionName;
+        private volatile String renditionName;
 
         /**
          * This will be a value such as "jpg" or "webp"
@@ -141,6 +143,15 @@ public class DigitalAssetRendition extends AssetLinksObject {
         return type;
     }
 
+    // set the rendition name of each format, before the rendition is shared
+    void nameFormats() {
+        if (formats != null) {
+            for (RenditionFormat format : formats) {
+                format.renditionName = name;
+            }
+        }
+    }
+
     /**
      * Search for a specific format (e.g. "jpg") but will return the first
      * format in the list if there is not an exact match.
@@ -165,7 +176,8 @@ public class DigitalAssetRendition extends AssetLinksObject {
             }
         }
 
-        if (bestMatch != null) {
+        // formats are shared by all readers of a cached asset, only write the name once
+        if (bestMatch != null && bestMatch.renditionName == null) {
             bestMatch.renditionName = name;
         }
         return bestMatch;
@@ -7,7 +7,9 @@ package com.oracle.content.sdk.model.field;
 import com.oracle.content.sdk.request.core.SearchQueryBuilder;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Enumeration of the standard reserved field names that can be used in expressions, such
@@ -52,11 +54,15 @@ public enum FieldName {
     // stores a list of all the name values
     public static List<String> sAllNames;
 
+    // the same names, for lookups
+    private static final Set<String> sReservedNames;
+
     static {
         sAllNames = new ArrayList<>();
         for (FieldName field : FieldName.values()) {
             sAllNames.add(field.value);
         }
+        sReservedNames = new HashSet<>(sAllNames);
     }
 
     /**
@@ -66,7 +72,7 @@ public enum FieldName {
      * @return true if the string matches an enum value
      */
     public static boolean isReservedFieldName(String s) {
-        return sAllNames.contains(s);
+        return sReservedNames.contains(s);
     }
 
     @Override
@@ -17,7 +17,6 @@ import com.oracle.content.sdk.model.field.ContentFieldTextList;
 import com.oracle.content.sdk.model.field.FieldType;
 import com.oracle.content.sdk.request.core.ContentAssetRequest;
 import com.google.gson.JsonObject;
-import com.google.gson.internal.LinkedTreeMap;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
@@ -118,7 +117,7 @@ public class AssetFields {
                     field = constructor.newInstance();
                     // OLD CODE (deprecated in Java 9) field = type.fieldClass.newInstance();
                 } catch (Exception e) {
-                    ContentClient.log(TAG, "Error creating instance of " + type);
+                    ContentClient.log(TAG, () -> "Error creating instance of " + type);
                     field = null;
                 }
             } else {
@@ -149,8 +148,9 @@ public class AssetFields {
             }
         } else if (value instanceof ArrayList) {
             field = getArrayField((ArrayList)value);
-        } else if (value instanceof LinkedTreeMap) {
-            LinkedTreeMap objectMap = (LinkedTreeMap)value;
+        } else if (value instanceof Map) {
+            // LinkedTreeMap from gson, or the flat map of a compact asset
+            Map<?, ?> objectMap = (Map<?, ?>) value;
             // look for timezone field as clue this is a date
             if (objectMap.containsKey("timezone")) {
                 field = getDateField(objectMap);
@@ -166,7 +166,7 @@ public class AssetFields {
         if (type != null && field != null) {
             // verify that the field type matches what was passed in
             if (type.fieldClass != field.getClass()) {
-                ContentClient.log(TAG, "Expected fields did not match for " + type);
+                ContentClient.log(TAG, () -> "Expected fields did not match for " + type);
                 return null;
             }
         }
@@ -175,18 +175,18 @@ public class AssetFields {
 
     }
 
-    static private ContentFieldJson getJsonField(LinkedTreeMap objectMap) {
+    static private ContentFieldJson getJsonField(Map<?, ?> objectMap) {
         JsonObject jsonObject = ContentClient.gson().toJsonTree(objectMap).getAsJsonObject();
         return new ContentFieldJson(jsonObject.toString());
     }
 
-    static private ContentFieldDate getDateField(LinkedTreeMap objectMap) {
+    static private ContentFieldDate getDateField(Map<?, ?> objectMap) {
         JsonObject jsonObject = ContentClient.gson().toJsonTree(objectMap).getAsJsonObject();
         ContentDate date = ContentClient.gson().fromJson(jsonObject, ContentDate.class);
         return new ContentFieldDate(date);
     }
 
-    static private ContentFieldReference getItemReference(LinkedTreeMap objectMap) {
+    static private ContentFieldReference getItemReference(Map<?, ?> objectMap) {
         JsonObject jsonObject = ContentClient.gson().toJsonTree(objectMap).getAsJsonObject();
         Asset item = ContentAssetRequest.deserializeContentBaseItem(jsonObject);
 
@@ -220,8 +220,8 @@ public class AssetFields {
         List<ContentFieldReference> fieldList = new ArrayList<>();
         boolean isDigitalAsset = false;
         for(Object value : arrayList) {
-            if (value instanceof LinkedTreeMap) {
-                ContentFieldReference reference = getItemReference((LinkedTreeMap)value);
+            if (value instanceof Map) {
+                ContentFieldReference reference = getItemReference((Map)value);
                 fieldList.add(reference);
             }
         }
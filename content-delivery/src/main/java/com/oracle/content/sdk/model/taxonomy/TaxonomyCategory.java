@@ -25,6 +25,12 @@ public class TaxonomyCategory extends AssetLinksObject {
     @SerializedName("name")
     @Expose
     private String name;
+    @SerializedName("apiName")
+    @Expose
+    private String apiName;
+    @SerializedName("parentId")
+    @Expose
+    private String parentId;
     @SerializedName("nodes")
     @Expose
     private List<Node> nodes = null;
@@ -56,6 +62,25 @@ public class TaxonomyCategory extends AssetLinksObject {
         return name;
     }
 
+    public String getApiName() {
+        return apiName;
+    }
+
+    /**
+     * Id of the parent category, returned when listing the categories of a taxonomy.
+     *
+     * @return parent category id or null for a top-level category
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * The path of categories from the top-level category down to this category, returned
+     * for the categories of an asset.
+     *
+     * @return path nodes or null
+     */
     public List<Node> getNodes() {
         return nodes;
     }
@@ -240,6 +240,16 @@ public class SearchAssetsRequest extends PaginatedListRequest<SearchAssetsReques
 
     }
 
+    // items record their slugs and categories in the client indexes when deserialized
+    @Override
+    protected AssetSearchResult deserializeObject(JsonElement jsonElement) {
+        AssetSearchResult result = super.deserializeObject(jsonElement);
+        result.setSlugIndex(client.getSlugIndex());
+        result.setCategoryIndex(client.getCategoryIndex());
+        result.setCompactAssets(client.isCompactAssets(), isLinksNone());
+        return result;
+    }
+
     /**
      * Get retrofit call to use for search request
      */
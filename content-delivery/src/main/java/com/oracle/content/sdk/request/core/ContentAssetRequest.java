@@ -9,8 +9,14 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.util.List;
+import java.util.logging.Level;
 
+import com.oracle.content.sdk.ContentCallback;
+import com.oracle.content.sdk.ContentClient;
 import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentCategoryIndex;
+import com.oracle.content.sdk.ContentSlugIndex;
 import com.oracle.content.sdk.model.Asset;
 import com.oracle.content.sdk.model.AssetType;
 import com.oracle.content.sdk.model.item.ContentItem;
@@ -31,6 +37,12 @@ public abstract class ContentAssetRequest<T extends ContentAssetRequest, C exten
     // expand field (default to null)
     protected String expand = null;
 
+    // id the slug resolved to from the slug index, used for the call instead of the slug
+    private String resolvedId = null;
+
+    // set after a resolved id did not match the slug, so the call is made by slug
+    private boolean requestBySlug = false;
+
 
     public ContentAssetRequest(ContentDeliveryClient client, Class<C> objectClass, String id, IdType idType) {
         super(client, objectClass, id, idType);
@@ -101,10 +113,85 @@ public abstract class ContentAssetRequest<T extends ContentAssetRequest, C exten
         return expand;
     }
 
+    // record the slug of the asset so later requests by slug can use the id,
+    // and its categories for local facet counts
+    @Override
+    protected C deserializeObject(JsonElement jsonElement) {
+        C asset = super.deserializeObject(jsonElement);
+        if (asset != null && client.isCompactAssets()) {
+            asset.compact(isLinksNone());
+        }
+        ContentSlugIndex slugIndex = client.getSlugIndex();
+        if (slugIndex != null) {
+            slugIndex.put(asset);
+        }
+        ContentCategoryIndex categoryIndex = client.getCategoryIndex();
+        if (categoryIndex != null) {
+            categoryIndex.put(asset);
+        }
+        return asset;
+    }
+
+    /**
+     * Fetch the asset.  A request by slug for a slug in the {@link ContentSlugIndex} is made
+     * by id, and repeated by slug if the asset no longer has that slug.
+     *
+     * @return returns the {@link ContentResponse} after completion of the call
+     */
+    @Override
+    public ContentResponse<C> fetch() {
+        ContentResponse<C> response = super.fetch();
+        if (isStaleSlug(response)) {
+            response = super.fetch();
+        }
+        return response;
+    }
+
+    @Override
+    public void fetchAsync(ContentCallback<C> callback) {
+        super.fetchAsync(response -> {
+            if (isStaleSlug(response)) {
+                super.fetchAsync(callback);
+            } else {
+                callback.onResponse(response);
+            }
+        });
+    }
+
+    // did a request made with the resolved id not find the asset, or find it with another slug?
+    // other failures say nothing about the slug and aren't repeated
+    private boolean isStaleSlug(ContentResponse<C> response) {
+        if (resolvedId == null) {
+            return false;
+        }
+        C asset = response.getResult();
+        boolean slugChanged = response.isSuccess() && asset != null &&
+                asset.getSlug() != null && !id.equals(asset.getSlug());
+        if (!slugChanged && response.getHttpCode() != 404) {
+            return false;
+        }
+        ContentClient.log(Level.FINE, "[ContentAssetRequest]", () -> "slug " + id + " no longer resolves to " + resolvedId);
+        client.getSlugIndex().remove(id);
+        resolvedId = null;
+        requestBySlug = true;
+        return true;
+    }
+
     @Override
     public Call<JsonElement> getCall() {
 
-        if (idType == IdType.SLUG) {
+        resolvedId = null;
+        if (idType == IdType.SLUG && !requestBySlug && client.getSlugIndex() != null) {
+            resolvedId = client.getSlugIndex().getId(id);
+        }
+
+        if (resolvedId != null) {
+            return client.getApi().getContentItem(
+                    resolvedId,
+                    links,
+                    expand,
+                    getCacheControl());
+        } else if (idType == IdType.SLUG) {
             return client.getApi().getContentItemBySlug(
                     id,
                     links,
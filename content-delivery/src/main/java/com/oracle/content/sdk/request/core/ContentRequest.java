@@ -11,15 +11,20 @@ import com.google.gson.stream.MalformedJsonException;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+
 import io.reactivex.rxjava3.core.Single;
 
 import com.oracle.content.sdk.ContentCallback;
 import com.oracle.content.sdk.ContentClient;
 import com.oracle.content.sdk.ContentDeliveryClient;
 import com.oracle.content.sdk.ContentErrorString;
+import com.oracle.content.sdk.ContentEvents;
 import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.ContentMetrics;
 import com.oracle.content.sdk.ContentResponse;
 import com.oracle.content.sdk.model.AssetObject;
+import com.oracle.content.sdk.model.PaginatedListResult;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -52,6 +57,9 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
     // set boolean to true to disable cache for a single call
     private boolean noCache = false;
 
+    // set boolean to true to keep the response json when the client uses lean responses
+    private boolean keepJson = false;
+
     // "links" parameter for SDK request
     protected String links = null;
 
@@ -117,16 +125,49 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
      * appropriate object.
      *
      * @param restResponse retrofit response to get json from
+     * @param event flight recorder event for the request, or null
      * @return content response with de-serialized result object
      */
-    private ContentResponse<C> transformResponse(Response<JsonElement> restResponse) {
+    private ContentResponse<C> transformResponse(Response<JsonElement> restResponse, Object event) {
+
+        ContentEvents.requestResponse(event, restResponse.raw());
+
+        // only time the transform if metrics are in use
+        ContentMetrics metrics = client.getMetrics();
+        if (metrics == null) {
+            return transformResponse(restResponse, null, null, event);
+        }
+
+        String endpoint = ContentClient.getEndpointName(restResponse.raw().request());
+        long start = System.nanoTime();
+        ContentResponse<C> response = transformResponse(restResponse, metrics, endpoint, event);
+        metrics.recordTiming(endpoint, ContentMetrics.Timing.TRANSFORM, System.nanoTime() - start);
+        return response;
+    }
+
+    // transform the response, timing the deserialization if metrics or event is not null
+    private ContentResponse<C> transformResponse(
+            Response<JsonElement> restResponse,
+            ContentMetrics metrics,
+            String endpoint,
+            Object event) {
 
         // constructing the response will parse errors returned by SDK
         ContentResponse<C> response = new ContentResponse<>(restResponse);
         try {
             if (response.isSuccess()) {
                 // deserialize the response into the object
-                response.setResult(deserializeObject(response.getAsJson()));
+                if (metrics == null && event == null) {
+                    response.setResult(deserializeResponse(response));
+                } else {
+                    long start = System.nanoTime();
+                    response.setResult(deserializeResponse(response));
+                    long duration = System.nanoTime() - start;
+                    if (metrics != null) {
+                        metrics.recordTiming(endpoint, ContentMetrics.Timing.DESERIALIZE, duration);
+                    }
+                    ContentEvents.requestDeserialized(event, duration);
+                }
             } else {
                 ContentClient.log("[ContentRequest]", "response not successful");
             }
@@ -142,6 +183,22 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
         return response;
     }
 
+    // deserialize the result, dropping the json afterwards for lean responses
+    private C deserializeResponse(ContentResponse<C> response) {
+        C result = deserializeObject(response.getAsJson());
+        if (result instanceof PaginatedListResult && client.getDeserializationExecutor() != null) {
+            ((PaginatedListResult<?>) result).setParallelDeserialization(
+                    client.getParallelDeserializationThreshold(), client.getDeserializationExecutor());
+        }
+        if (client.isLeanResponses() && !keepJson) {
+            if (result instanceof PaginatedListResult) {
+                ((PaginatedListResult<?>) result).releaseJson();
+            }
+            response.releaseJson();
+        }
+        return result;
+    }
+
     /**
      * This is a synchronous method to make the SDK request that will return with a
      * {@link ContentResponse} object.  This method will not throw an exception but
@@ -164,13 +221,20 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
      */
     public ContentResponse<C> fetch() {
 
+        // flight recorder event (null if not recording)
+        Object event = ContentEvents.requestStart(false);
+        Call<JsonElement> call = null;
+        ContentResponse<C> response;
+
         // synchronous version of the call
         try {
             // setup the call
-            Call<JsonElement> call = getCall();
+            call = getCall();
             // execute the REST call synchronously and wait for the response.
-            return transformResponse(call.execute());
+            response = transformResponse(call.execute(), event);
         } catch (ContentException ce) {
+            // the exception is passed on, but the event still records its reason
+            ContentEvents.requestEnd(event, call, new ContentResponse<>(ce));
             throw ce;
         } catch (Exception e) {
             ContentException.REASON reason = ContentException.REASON.generalError;
@@ -179,8 +243,10 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
             }
             ContentException contentException = ContentClient.getContentException(reason,
                     e, ContentErrorString.SDK_RESPONSE_ERROR, null);
-            return new ContentResponse<>(contentException);
+            response = new ContentResponse<>(contentException);
         }
+        ContentEvents.requestEnd(event, call, response);
+        return response;
     }
 
 
@@ -206,6 +272,9 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
      */
     public void fetchAsync(ContentCallback<C> callback) {
 
+        // flight recorder event (null if not recording)
+        Object event = ContentEvents.requestStart(true);
+
         // get the REST call we'll make
         Call<JsonElement> call = getCall();
 
@@ -216,7 +285,9 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
             @Override
             @EverythingIsNonNull
             public void onResponse(Call<JsonElement> call, Response<JsonElement> response) {
-                callback.onResponse(transformResponse(response));
+                ContentResponse<C> contentResponse = transformResponse(response, event);
+                ContentEvents.requestEnd(event, call, contentResponse);
+                callback.onResponse(contentResponse);
             }
 
             // retrofit callback when REST call failed
@@ -228,12 +299,39 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
                         t.getCause() != null ? t.getCause() : t,
                         ContentErrorString.SDK_RESPONSE_ERROR,
                         null);
+                ContentResponse<C> contentResponse = new ContentResponse<>(exception);
+                ContentEvents.requestEnd(event, call, contentResponse);
                 // callback with error response
-                callback.onResponse(new ContentResponse<>(exception));
+                callback.onResponse(contentResponse);
             }
         });
     }
 
+    /**
+     * Make the REST call asynchronously and complete a future with the result object, or
+     * exceptionally with the {@link ContentException} if the call failed.  Used to combine
+     * many concurrent requests, as the call runs on the OkHttp dispatcher like
+     * {@link #fetchAsync(ContentCallback)} instead of blocking a thread.
+     *
+     * <pre>{@code
+     *     CompletableFuture<ContentItem> first = new GetContentItemRequest(clientAPI, firstID).futureResult();
+     *     CompletableFuture<ContentItem> second = new GetContentItemRequest(clientAPI, secondID).futureResult();
+     * }</pre>
+     *
+     * @return future for the result object
+     */
+    public CompletableFuture<C> futureResult() {
+        CompletableFuture<C> future = new CompletableFuture<>();
+        fetchAsync(response -> {
+            if (response.isSuccess()) {
+                future.complete(response.getResult());
+            } else {
+                future.completeExceptionally(response.getException());
+            }
+        });
+        return future;
+    }
+
     /**
      * Create an RxJava Single observable object which can then be subscribed on to get the result object as part
      * of the response.  If the full {@link ContentResponse} object is needed, use {@link #observable()}}.
@@ -328,6 +426,18 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
         return getThis();
     }
 
+    /**
+     * Keep the response json available from {@link ContentResponse#getAsJson()} even when
+     * the client drops it after deserialization.  See
+     * {@link com.oracle.content.sdk.ContentSettings#setLeanResponses(boolean)}
+     *
+     * @return this
+     */
+    public T keepJson() {
+        this.keepJson = true;
+        return getThis();
+    }
+
 
     /**
      * Cache-control string to use (will be set to no-cache if noCache is set)
@@ -361,6 +471,15 @@ public abstract class ContentRequest<T extends ContentRequest, C extends AssetOb
         return getThis();
     }
 
+    /**
+     * Was {@link #linksNone()} requested?
+     *
+     * @return true if no links are returned
+     */
+    protected boolean isLinksNone() {
+        return NO_LINKS.equals(links);
+    }
+
     /**
      * The gson object to use for deserialization
      * @return gson instance
@@ -36,6 +36,7 @@ import com.oracle.content.sdk.request.SearchAssetsRequest;
  *     .endGroup()
  *    .build();
  * </pre>
+ * For filters built over and over with different values, compile a {@link SearchQueryTemplate} once instead.
  */
 @SuppressWarnings({"WeakerAccess","unused"})
 public class SearchQueryBuilder {
@@ -68,8 +69,8 @@ public class SearchQueryBuilder {
 
     }
 
-    // string buffer to construct filter
-    final private StringBuffer filter = new StringBuffer();
+    // string builder to construct filter
+    final private StringBuilder filter = new StringBuilder();
 
     // keep track of nested parens so we match at end when building
     private int groupExpressionCount = 0;
@@ -113,7 +114,8 @@ public class SearchQueryBuilder {
     // helper method to add criteria to string, clause is something like "and"
     private String getCriteria(String clause, String expression){
         // if we are at the very start of an expression don't add the clause
-        String clausePrefix = filter.toString().endsWith("(")?"":" " + clause + " ";
+        boolean startOfGroup = filter.length() > 0 && filter.charAt(filter.length() - 1) == '(';
+        String clausePrefix = startOfGroup?"":" " + clause + " ";
         return clausePrefix + expression;
     }
 
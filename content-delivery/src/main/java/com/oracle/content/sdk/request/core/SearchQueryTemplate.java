@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.request.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+/**
+ * A search filter with named parameters, compiled once and then built with different values
+ * for each {@link SearchAssetsRequest}.  Use this instead of {@link SearchQueryBuilder} for
+ * filters that are built over and over with the same shape, for example:
+ * <pre> {@code
+ *  static final SearchQueryTemplate MENU_ITEMS =
+ *      SearchQueryTemplate.compile("type eq \"menu_type\" AND fields.item_type eq {itemType}");
+ *
+ *  String filter = MENU_ITEMS.build("breakfast");
+ * }</pre>
+ * A parameter {@code {name}} is replaced with its value as a quoted string, escaping any quotes
+ * and backslashes in the value.  A list parameter {@code {name...}} must follow a field and an
+ * operator, and matches any of the values in a list, so {@code "id eq {ids...}"} built with the
+ * ids a, b and c gives {@code (id eq "a" OR id eq "b" OR id eq "c")}.
+ * <p>
+ * Field names are used as they are written in the template, so custom fields need the
+ * "fields." prefix.  The template is validated when compiled: quotes and parentheses must
+ * match and parameters must be well formed.  A compiled template is immutable and can be
+ * shared between threads.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public final class SearchQueryTemplate {
+
+    // suffix of a list parameter name
+    final private static String LIST_SUFFIX = "...";
+
+    final private String template;
+
+    // text before each parameter, then the text after the last one
+    final private String[] literals;
+
+    // index into names of the value for each parameter
+    final private int[] parameters;
+
+    // field and operator of each list parameter, null for other parameters
+    final private String[] listFields;
+    final private String[] listOperators;
+
+    // distinct parameter names in the order they first appear
+    final private List<String> names;
+
+    // length of the text without parameters, to size the filter when building
+    final private int literalLength;
+
+    private SearchQueryTemplate(String template, List<String> literals, List<Integer> parameters,
+                                List<String> listFields, List<String> listOperators, List<String> names) {
+        this.template = template;
+        this.literals = literals.toArray(new String[0]);
+        this.parameters = new int[parameters.size()];
+        for (int i = 0; i < this.parameters.length; i++) {
+            this.parameters[i] = parameters.get(i);
+        }
+        this.listFields = listFields.toArray(new String[0]);
+        this.listOperators = listOperators.toArray(new String[0]);
+        this.names = Collections.unmodifiableList(names);
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse and validate a search filter template.
+     *
+     * @param template filter with {@code {name}} and {@code {name...}} parameters
+     * @return compiled template
+     * @throws IllegalArgumentException if the template is not valid
+     */
+    public static SearchQueryTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> parameters = new ArrayList<>();
+        List<String> listFields = new ArrayList<>();
+        List<String> listOperators = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+        int groups = 0;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (quoted) {
+                literal.append(c);
+                if (c == '\\' && i + 1 < template.length()) {
+                    literal.append(template.charAt(++i));
+                } else if (c == '"') {
+                    quoted = false;
+                }
+                continue;
+            }
+
+            if (c == '"') {
+                quoted = true;
+            } else if (c == '(') {
+                groups++;
+            } else if (c == ')' && --groups < 0) {
+                throw error("Unmatched ')'", i, template);
+            } else if (c == '{') {
+                int end = template.indexOf('}', i);
+                if (end < 0) {
+                    throw error("Unterminated parameter", i, template);
+                }
+                String name = template.substring(i + 1, end);
+                boolean list = name.endsWith(LIST_SUFFIX);
+                if (list) {
+                    name = name.substring(0, name.length() - LIST_SUFFIX.length());
+                }
+                if (!isParameterName(name)) {
+                    throw error("Invalid parameter name '" + name + "'", i, template);
+                }
+
+                if (list) {
+                    // the field and operator are repeated for each value, so take them off the text
+                    int operatorEnd = skipWhitespaceBack(literal, literal.length());
+                    int operatorStart = wordStart(literal, operatorEnd);
+                    int fieldEnd = skipWhitespaceBack(literal, operatorStart);
+                    int fieldStart = wordStart(literal, fieldEnd);
+                    if (operatorStart == operatorEnd || fieldStart == fieldEnd) {
+                        throw error("Expected a field and operator before list parameter '" + name + "'", i, template);
+                    }
+                    listFields.add(literal.substring(fieldStart, fieldEnd));
+                    listOperators.add(literal.substring(operatorStart, operatorEnd));
+                    literal.setLength(fieldStart);
+                } else {
+                    listFields.add(null);
+                    listOperators.add(null);
+                }
+
+                int index = names.indexOf(name);
+                if (index < 0) {
+                    index = names.size();
+                    names.add(name);
+                }
+                parameters.add(index);
+                literals.add(literal.toString());
+                literal.setLength(0);
+                i = end;
+                continue;
+            }
+            literal.append(c);
+        }
+
+        if (quoted) {
+            throw error("Unterminated string", template.length(), template);
+        }
+        if (groups > 0) {
+            throw error("Unmatched '('", template.length(), template);
+        }
+        literals.add(literal.toString());
+        return new SearchQueryTemplate(template, literals, parameters, listFields, listOperators, names);
+    }
+
+    private static boolean isParameterName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespaceBack(CharSequence text, int end) {
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int wordStart(CharSequence text, int end) {
+        int start = end;
+        while (start > 0 && !Character.isWhitespace(text.charAt(start - 1))
+                && "()\"".indexOf(text.charAt(start - 1)) < 0) {
+            start--;
+        }
+        return start;
+    }
+
+    private static IllegalArgumentException error(String message, int position, String template) {
+        return new IllegalArgumentException(message + " at " + position + " in query template: " + template);
+    }
+
+    /**
+     * Get the names of the parameters, in the order the values are passed to {@link #build(Object...)}.
+     *
+     * @return distinct parameter names in the order they first appear in the template
+     */
+    public List<String> getParameterNames() {
+        return names;
+    }
+
+    /**
+     * Build the filter with a value for each parameter, in the order returned by
+     * {@link #getParameterNames()}.  The value of a list parameter can be a collection or
+     * an array, other values are converted with {@link String#valueOf(Object)}.
+     *
+     * @param values parameter values
+     * @return filter expression to use for search
+     * @throws IllegalArgumentException if there is not one value for each parameter
+     */
+    public String build(Object... values) {
+        if (values.length != names.size()) {
+            throw new IllegalArgumentException("Expected " + names.size() + " values for " + names +
+                    " but got " + values.length + " for query template: " + template);
+        }
+        return format(values);
+    }
+
+    /**
+     * Build the filter with the values of the parameters by name.
+     *
+     * @param values parameter values by name
+     * @return filter expression to use for search
+     * @throws IllegalArgumentException if a parameter has no value
+     */
+    public String build(Map<String, ?> values) {
+        Object[] ordered = new Object[names.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = values.get(names.get(i));
+        }
+        return format(ordered);
+    }
+
+    private String format(Object[] values) {
+        StringBuilder filter = new StringBuilder(literalLength + 16 * parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            filter.append(literals[i]);
+            String name = names.get(parameters[i]);
+            Object value = values[parameters[i]];
+            if (value == null) {
+                throw new IllegalArgumentException("No value for parameter '" + name +
+                        "' in query template: " + template);
+            }
+            if (listFields[i] == null) {
+                if (value instanceof Iterable || value instanceof Object[]) {
+                    throw new IllegalArgumentException("List value for parameter '" + name +
+                            "', use {" + name + LIST_SUFFIX + "} in query template: " + template);
+                }
+                appendQuoted(filter, String.valueOf(value));
+            } else {
+                appendList(filter, listFields[i], listOperators[i], name, value);
+            }
+        }
+        filter.append(literals[parameters.length]);
+        return filter.toString();
+    }
+
+    // field op "value", or (field op "value1" OR field op "value2" ...) for more than one value
+    private void appendList(StringBuilder filter, String field, String operator, String name, Object value) {
+        Iterator<?> iterator;
+        if (value instanceof Iterable) {
+            iterator = ((Iterable<?>) value).iterator();
+        } else if (value instanceof Object[]) {
+            iterator = Arrays.asList((Object[]) value).iterator();
+        } else {
+            iterator = Collections.singletonList(value).iterator();
+        }
+        if (!iterator.hasNext()) {
+            throw new IllegalArgumentException("Empty list for parameter '" + name +
+                    "' in query template: " + template);
+        }
+
+        int groupStart = filter.length();
+        int count = 0;
+        while (iterator.hasNext()) {
+            if (count++ > 0) {
+                filter.append(' ').append(SearchQueryBuilder.QueryOperator.OR.name).append(' ');
+            }
+            filter.append(field).append(' ').append(operator).append(' ');
+            appendQuoted(filter, String.valueOf(iterator.next()));
+        }
+        if (count > 1) {
+            filter.insert(groupStart, '(').append(')');
+        }
+    }
+
+    // append a value as a quoted string, escaping quotes and backslashes
+    private static void appendQuoted(StringBuilder filter, String value) {
+        filter.append('"');
+        if (value.indexOf('"') < 0 && value.indexOf('\\') < 0) {
+            filter.append(value);
+        } else {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    filter.append('\\');
+                }
+                filter.append(c);
+            }
+        }
+        filter.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
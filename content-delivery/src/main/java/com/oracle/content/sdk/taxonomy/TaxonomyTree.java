@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.taxonomy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.content.sdk.model.taxonomy.Taxonomy;
+import com.oracle.content.sdk.model.taxonomy.TaxonomyCategory;
+
+/**
+ * Immutable snapshot of the published taxonomies and their categories, linked into a tree.
+ * Lookups by category (node) id, parent, children and path are constant time.  A tree is
+ * loaded with a {@link TaxonomyTreeLoader}.
+ * <pre>{@code
+ *   TaxonomyTree tree = loader.getTree();
+ *   TaxonomyTreeCategory category = tree.getCategory(nodeId);
+ *   List<TaxonomyTreeCategory> breadcrumbs = category.getPath();
+ * }</pre>
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class TaxonomyTree {
+
+    // guards against a parent cycle in bad data
+    static final int MAX_DEPTH = 100;
+
+    // taxonomies by id, in load order
+    final private Map<String, Taxonomy> taxonomies;
+
+    // all categories by id
+    final private Map<String, TaxonomyTreeCategory> categories;
+
+    // top-level categories per taxonomy id
+    final private Map<String, List<TaxonomyTreeCategory>> roots;
+
+    // time the tree was loaded (epoch ms)
+    final private long loadTime;
+
+    /**
+     * Build a tree.  The parent of each category is its parentId, or if that is not set the
+     * previous node in its path.
+     *
+     * @param taxonomies taxonomies, each with its categories
+     */
+    public TaxonomyTree(Map<Taxonomy, List<TaxonomyCategory>> taxonomies) {
+        Map<String, Taxonomy> taxonomiesById = new LinkedHashMap<>();
+        Map<String, TaxonomyTreeCategory> categories = new HashMap<>();
+        for (Map.Entry<Taxonomy, List<TaxonomyCategory>> entry : taxonomies.entrySet()) {
+            taxonomiesById.put(entry.getKey().getId(), entry.getKey());
+            for (TaxonomyCategory category : entry.getValue()) {
+                categories.put(category.getId(), new TaxonomyTreeCategory(category, entry.getKey()));
+            }
+        }
+
+        Map<String, List<TaxonomyTreeCategory>> roots = new HashMap<>();
+        for (Map.Entry<Taxonomy, List<TaxonomyCategory>> entry : taxonomies.entrySet()) {
+            for (TaxonomyCategory category : entry.getValue()) {
+                TaxonomyTreeCategory node = categories.get(category.getId());
+                TaxonomyTreeCategory parent = categories.get(getParentId(category));
+                if (parent != null && parent != node) {
+                    node.setParent(parent);
+                } else {
+                    roots.computeIfAbsent(entry.getKey().getId(), id -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+        for (TaxonomyTreeCategory node : categories.values()) {
+            node.freeze();
+        }
+        for (Map.Entry<String, List<TaxonomyTreeCategory>> entry : roots.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        this.taxonomies = Collections.unmodifiableMap(taxonomiesById);
+        this.categories = Collections.unmodifiableMap(categories);
+        this.roots = roots;
+        this.loadTime = System.currentTimeMillis();
+    }
+
+    private static String getParentId(TaxonomyCategory category) {
+        if (category.getParentId() != null) {
+            return category.getParentId();
+        }
+        List<TaxonomyCategory.Node> nodes = category.getNodes();
+        if (nodes != null && nodes.size() > 1) {
+            return nodes.get(nodes.size() - 2).getId();
+        }
+        return null;
+    }
+
+    /**
+     * @return all taxonomies in the tree
+     */
+    public Collection<Taxonomy> getTaxonomies() {
+        return taxonomies.values();
+    }
+
+    /**
+     * @param taxonomyId taxonomy id
+     * @return taxonomy or null
+     */
+    public Taxonomy getTaxonomy(String taxonomyId) {
+        return taxonomies.get(taxonomyId);
+    }
+
+    /**
+     * Get a category by id, which is also the node id used for
+     * taxonomies.categories.nodes.id in searches.
+     *
+     * @param categoryId category id
+     * @return category or null if not in the tree
+     */
+    public TaxonomyTreeCategory getCategory(String categoryId) {
+        return categories.get(categoryId);
+    }
+
+    /**
+     * @return all categories in the tree
+     */
+    public Collection<TaxonomyTreeCategory> getCategories() {
+        return categories.values();
+    }
+
+    /**
+     * @param taxonomyId taxonomy id
+     * @return top-level categories of the taxonomy, empty if none
+     */
+    public List<TaxonomyTreeCategory> getRoots(String taxonomyId) {
+        List<TaxonomyTreeCategory> list = roots.get(taxonomyId);
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /**
+     * @param categoryId category id
+     * @return parent category or null if the category is top-level or not in the tree
+     */
+    public TaxonomyTreeCategory getParent(String categoryId) {
+        TaxonomyTreeCategory category = categories.get(categoryId);
+        return category != null ? category.getParent() : null;
+    }
+
+    /**
+     * @param categoryId category id
+     * @return child categories, empty if none or not in the tree
+     */
+    public List<TaxonomyTreeCategory> getChildren(String categoryId) {
+        TaxonomyTreeCategory category = categories.get(categoryId);
+        return category != null ? category.getChildren() : Collections.emptyList();
+    }
+
+    /**
+     * @param categoryId category id
+     * @return categories from the top-level category down to the category, empty if not in the tree
+     */
+    public List<TaxonomyTreeCategory> getPath(String categoryId) {
+        TaxonomyTreeCategory category = categories.get(categoryId);
+        return category != null ? category.getPath() : Collections.emptyList();
+    }
+
+    public int size() {
+        return categories.size();
+    }
+
+    /**
+     * @return time the tree was loaded in epoch milliseconds
+     */
+    public long getLoadTime() {
+        return loadTime;
+    }
+}
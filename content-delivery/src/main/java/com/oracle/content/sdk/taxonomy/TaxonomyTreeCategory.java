@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.taxonomy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.oracle.content.sdk.model.taxonomy.Taxonomy;
+import com.oracle.content.sdk.model.taxonomy.TaxonomyCategory;
+
+/**
+ * A category within a {@link TaxonomyTree}, linked to its parent and children.  Instances are
+ * immutable once the tree has been built.
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class TaxonomyTreeCategory {
+
+    final private TaxonomyCategory category;
+
+    final private Taxonomy taxonomy;
+
+    // set while the tree is built
+    private TaxonomyTreeCategory parent = null;
+    private List<TaxonomyTreeCategory> children = new ArrayList<>();
+    private List<TaxonomyTreeCategory> path = null;
+
+    TaxonomyTreeCategory(TaxonomyCategory category, Taxonomy taxonomy) {
+        this.category = category;
+        this.taxonomy = taxonomy;
+    }
+
+    void setParent(TaxonomyTreeCategory parent) {
+        this.parent = parent;
+        parent.children.add(this);
+    }
+
+    // called once all parents are set, children are in load order
+    void freeze() {
+        children = Collections.unmodifiableList(children);
+        List<TaxonomyTreeCategory> path = new ArrayList<>();
+        for (TaxonomyTreeCategory node = this; node != null && path.size() <= TaxonomyTree.MAX_DEPTH; node = node.parent) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        this.path = Collections.unmodifiableList(path);
+    }
+
+    public String getId() {
+        return category.getId();
+    }
+
+    public String getName() {
+        return category.getName();
+    }
+
+    public String getApiName() {
+        return category.getApiName();
+    }
+
+    /**
+     * The category as returned by the server.
+     *
+     * @return category model
+     */
+    public TaxonomyCategory getCategory() {
+        return category;
+    }
+
+    public Taxonomy getTaxonomy() {
+        return taxonomy;
+    }
+
+    /**
+     * @return parent category or null for a top-level category
+     */
+    public TaxonomyTreeCategory getParent() {
+        return parent;
+    }
+
+    /**
+     * @return unmodifiable list of child categories
+     */
+    public List<TaxonomyTreeCategory> getChildren() {
+        return children;
+    }
+
+    /**
+     * The categories from the top-level category down to and including this category.
+     *
+     * @return unmodifiable path
+     */
+    public List<TaxonomyTreeCategory> getPath() {
+        return path;
+    }
+
+    /**
+     * @return depth in the tree, 0 for a top-level category
+     */
+    public int getDepth() {
+        return path.size() - 1;
+    }
+
+    public boolean isRoot() {
+        return parent == null;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
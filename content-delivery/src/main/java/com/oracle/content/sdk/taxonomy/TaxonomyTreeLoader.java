@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.content.sdk.taxonomy;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.model.PaginatedListResult;
+import com.oracle.content.sdk.model.taxonomy.Taxonomy;
+import com.oracle.content.sdk.model.taxonomy.TaxonomyCategory;
+import com.oracle.content.sdk.request.GetTaxonomiesRequest;
+import com.oracle.content.sdk.request.GetTaxonomyCategoriesRequest;
+import com.oracle.content.sdk.request.core.PaginatedListRequest;
+
+/**
+ * Loads all published taxonomies and their categories into a {@link TaxonomyTree} in one call.
+ * The first page of each list is requested with the total count so the remaining pages can
+ * be requested concurrently, and the categories of all taxonomies are loaded concurrently.
+ * <p>
+ * The loaded tree is kept until the next load, so {@link #getTree()} is cheap enough to call
+ * on every request.  Use {@link #startRefresh(long, TimeUnit)} to reload it in the background.
+ * <pre>{@code
+ *   TaxonomyTreeLoader loader = deliveryClient.createTaxonomyTreeLoader();
+ *   loader.startRefresh(10, TimeUnit.MINUTES);
+ *
+ *   TaxonomyTreeCategory category = loader.getTree().getCategory(nodeId);
+ * }</pre>
+ */
+@SuppressWarnings({"WeakerAccess","unused"})
+public class TaxonomyTreeLoader implements Closeable {
+
+    final private static String TAG = "TaxonomyTreeLoader";
+
+    // default number of taxonomies or categories requested per page
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    final private ContentDeliveryClient client;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    // only one load runs at a time
+    final private Object loadLock = new Object();
+
+    // the last tree loaded, replaced as a whole on each load
+    private volatile TaxonomyTree tree = null;
+
+    // error from the last load or null if successful
+    private volatile ContentException lastLoadError = null;
+
+    // background refresh, if started
+    private ScheduledExecutorService scheduler = null;
+
+    /**
+     * Create a loader for the taxonomies published to the client's channel.
+     *
+     * @param client delivery client to load from
+     */
+    public TaxonomyTreeLoader(@NotNull ContentDeliveryClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Number of taxonomies or categories to request per page.
+     *
+     * @param pageSize page size
+     * @return this
+     * @throws IllegalArgumentException if the page size is not positive
+     */
+    public TaxonomyTreeLoader pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Get the taxonomy tree, loading it if it has not been loaded yet.
+     *
+     * @return current tree
+     * @throws ContentException if the tree had to be loaded and the load failed
+     */
+    public TaxonomyTree getTree() throws ContentException {
+        TaxonomyTree current = tree;
+        if (current == null) {
+            synchronized (loadLock) {
+                current = tree;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Load all taxonomies and categories from the server and replace the current tree.  If
+     * the load fails the exception is thrown and the current tree is kept.
+     *
+     * @return new tree
+     * @throws ContentException if the load failed
+     */
+    public TaxonomyTree load() throws ContentException {
+        synchronized (loadLock) {
+            try {
+                List<Taxonomy> taxonomies = fetchAll(offset -> new GetTaxonomiesRequest(client)
+                        .offset(offset)).join();
+
+                List<CompletableFuture<List<TaxonomyCategory>>> futures = new ArrayList<>();
+                for (Taxonomy taxonomy : taxonomies) {
+                    futures.add(fetchAll(offset -> new GetTaxonomyCategoriesRequest(client, taxonomy.getId())
+                            .offset(offset)));
+                }
+
+                Map<Taxonomy, List<TaxonomyCategory>> categories = new LinkedHashMap<>();
+                for (int i = 0; i < taxonomies.size(); i++) {
+                    categories.put(taxonomies.get(i), futures.get(i).join());
+                }
+
+                TaxonomyTree loaded = new TaxonomyTree(categories);
+                tree = loaded;
+                lastLoadError = null;
+                ContentClient.log(TAG, () -> "loaded " + loaded.getTaxonomies().size() +
+                        " taxonomies with " + loaded.size() + " categories");
+                return loaded;
+            } catch (RuntimeException e) {
+                // failed pages complete exceptionally, but the first request can also throw straight away
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                ContentException exception = cause instanceof ContentException ?
+                        (ContentException) cause :
+                        new ContentException(ContentException.REASON.networkError,
+                                String.valueOf(cause.getMessage()), cause);
+                lastLoadError = exception;
+                ContentClient.log(Level.WARNING, TAG, () -> "load failed: " + exception.getMessage());
+                throw exception;
+            }
+        }
+    }
+
+    // fetch the first page with the total count, then all remaining pages concurrently
+    private <I, R extends PaginatedListResult<I>> CompletableFuture<List<I>> fetchAll(
+            IntFunction<? extends PaginatedListRequest<?, R>> pageRequest) {
+        return fetchPage(pageRequest, 0, true).thenCompose(first -> {
+            List<I> firstItems = first.getItems();
+            Integer total = first.getTotalResults();
+            if (firstItems.isEmpty() || !Boolean.TRUE.equals(first.hasMore())) {
+                return CompletableFuture.completedFuture(new ArrayList<>(firstItems));
+            }
+            if (total == null) {
+                // no total count, page sequentially
+                return fetchRest(pageRequest, firstItems.size(), new ArrayList<>(firstItems));
+            }
+
+            List<CompletableFuture<R>> pages = new ArrayList<>();
+            for (int offset = firstItems.size(); offset < total; offset += pageSize) {
+                pages.add(fetchPage(pageRequest, offset, false));
+            }
+            return CompletableFuture.allOf(pages.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                List<I> items = new ArrayList<>(total);
+                items.addAll(firstItems);
+                for (CompletableFuture<R> page : pages) {
+                    items.addAll(page.join().getItems());
+                }
+                return items;
+            });
+        });
+    }
+
+    private <I, R extends PaginatedListResult<I>> CompletableFuture<List<I>> fetchRest(
+            IntFunction<? extends PaginatedListRequest<?, R>> pageRequest, int offset, List<I> items) {
+        return fetchPage(pageRequest, offset, false).thenCompose(page -> {
+            items.addAll(page.getItems());
+            if (page.getItems().isEmpty() || !Boolean.TRUE.equals(page.hasMore())) {
+                return CompletableFuture.completedFuture(items);
+            }
+            return fetchRest(pageRequest, offset + page.getItems().size(), items);
+        });
+    }
+
+    private <R extends PaginatedListResult<?>> CompletableFuture<R> fetchPage(
+            IntFunction<? extends PaginatedListRequest<?, R>> pageRequest, int offset, boolean totalResults) {
+        PaginatedListRequest<?, R> request = pageRequest.apply(offset);
+        request.limit(pageSize);
+        request.totalResults(totalResults);
+        return request.futureResult();
+    }
+
+    /**
+     * Start reloading the tree in the background on a fixed schedule.  Errors are logged and
+     * available from {@link #getLastLoadError()}; the current tree is kept.
+     *
+     * @param period time between loads
+     * @param unit unit for the period
+     */
+    public synchronized void startRefresh(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                // logged in load, keep the schedule running
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * Stop any background refresh.
+     */
+    public synchronized void stopRefresh() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stopRefresh();
+    }
+
+    /**
+     * @return error from the last load, or null if it succeeded
+     */
+    public ContentException getLastLoadError() {
+        return lastLoadError;
+    }
+}
@@ -52,7 +52,7 @@ public class CustomItemAnnotation<C extends ContentItem> {
     public boolean verifyTypeMatch(String type) {
         String annotationType = getCustomType();
         if (!type.equals(annotationType)) {
-            ContentClient.log(Level.SEVERE, "[custom]", CustomContentType.class.getSimpleName() +
+            ContentClient.log(Level.SEVERE, "[custom]", () -> CustomContentType.class.getSimpleName() +
                     " type + '" + annotationType +
                     "' does not match server type:" + type);
             return false;
@@ -90,14 +90,14 @@ public class CustomItemAnnotation<C extends ContentItem> {
                                 field.set(item, guessField.getValueAsString());
                             } else {
                                 ContentClient.log(Level.SEVERE,
-                                        "[custom]", "Could not process field:" + fieldName);
+                                        "[custom]", () -> "Could not process field:" + fieldName);
                             }
                         }
                     }
 
                 } catch (Exception e) {
                     ContentClient.log(Level.SEVERE,
-                            "[custom]", "Exception:" + e);
+                            "[custom]", () -> "Exception:" + e);
                 }
             }
         }
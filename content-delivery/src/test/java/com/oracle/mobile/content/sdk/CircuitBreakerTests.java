@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.CircuitBreakerPolicy;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.item.ContentItem;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for the client circuit breaker set with a {@link CircuitBreakerPolicy}.
+ */
+public class CircuitBreakerTests extends MockServerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Override
+    ContentDeliveryClient createClient(ContentSettings settings) {
+        return super.createClient(settings.setCircuitBreakerPolicy(new CircuitBreakerPolicy()
+                .setWindow(4, 4)
+                .setFailureRateThreshold(1.0)
+                .setOpenDuration(500, TimeUnit.MILLISECONDS)
+                .setProbeCalls(2)
+                .setHalfOpenTimeout(1, TimeUnit.SECONDS)));
+    }
+
+    // fail the whole window to open the breaker
+    private void open(ContentDeliveryClient client) {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+            assertEquals(503, fetch(client, "B" + i).getHttpCode());
+        }
+    }
+
+    @Test
+    public void openFailsFast() {
+        ContentDeliveryClient client = createClient(new ContentSettings());
+        open(client);
+        assertEquals("[OPEN]", metrics.events.toString());
+        assertEquals(4, server.getRequestCount());
+
+        // not sent to the server
+        assertFalse(fetch(client, "C1").isSuccess());
+        assertEquals(4, server.getRequestCount());
+        assertEquals("[OPEN, fail]", metrics.events.toString());
+    }
+
+    @Test
+    public void openServesFromCache() {
+        ContentDeliveryClient client = createClient(new ContentSettings()
+                .enableCache(temporaryFolder.getRoot()));
+
+        server.enqueue(new MockResponse().setBody(ITEM));
+        assertTrue(fetch(client, "A1").isSuccess());
+        open(client);
+
+        ContentResponse<ContentItem> response = fetch(client, "A1");
+        assertTrue(response.isSuccess());
+        assertEquals("A1", response.getResult().getId());
+        assertEquals(5, server.getRequestCount());
+
+        // nothing cached, fails
+        assertFalse(fetch(client, "C1").isSuccess());
+        assertEquals(5, server.getRequestCount());
+        assertEquals("[OPEN, cache, fail]", metrics.events.toString());
+    }
+
+    @Test
+    public void probesCloseOrReopen() throws InterruptedException {
+        ContentDeliveryClient client = createClient(new ContentSettings());
+        open(client);
+
+        // failed probe opens again
+        Thread.sleep(600);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        assertFalse(fetch(client, "C1").isSuccess());
+        assertFalse(fetch(client, "C2").isSuccess());
+        assertEquals(5, server.getRequestCount());
+
+        // successful probes close
+        Thread.sleep(600);
+        server.enqueue(new MockResponse().setBody(ITEM));
+        server.enqueue(new MockResponse().setBody(ITEM));
+        server.enqueue(new MockResponse().setBody(ITEM));
+        assertTrue(fetch(client, "A1").isSuccess());
+        assertTrue(fetch(client, "A1").isSuccess());
+        assertTrue(fetch(client, "A1").isSuccess());
+        assertEquals(8, server.getRequestCount());
+        assertEquals("[OPEN, HALF_OPEN, OPEN, fail, HALF_OPEN, CLOSED]", metrics.events.toString());
+    }
+
+    @Test
+    public void cachedProbeDoesNotCount() throws InterruptedException {
+        ContentDeliveryClient client = createClient(new ContentSettings()
+                .enableCache(temporaryFolder.getRoot()));
+
+        // fresh in the http cache, so answered without calling the server
+        server.enqueue(new MockResponse().setBody(ITEM).setHeader("Cache-Control", "max-age=60"));
+        assertTrue(fetch(client, "A1").isSuccess());
+        open(client);
+
+        Thread.sleep(600);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(fetch(client, "A1").isSuccess());
+        }
+        assertEquals(5, server.getRequestCount());
+
+        // the cached probes left their slots for probes that reach the server
+        server.enqueue(new MockResponse().setBody(ITEM));
+        server.enqueue(new MockResponse().setBody(ITEM));
+        assertTrue(fetch(client, "C1").isSuccess());
+        assertTrue(fetch(client, "C2").isSuccess());
+        assertEquals(7, server.getRequestCount());
+        assertEquals("[OPEN, HALF_OPEN, CLOSED]", metrics.events.toString());
+    }
+
+    @Test
+    public void halfOpenTimesOut() throws Exception {
+        ContentDeliveryClient client = createClient(new ContentSettings());
+        open(client);
+
+        // one probe succeeds but the other never comes, so the breaker opens again
+        Thread.sleep(600);
+        server.enqueue(new MockResponse().setBody(ITEM));
+        assertTrue(fetch(client, "A1").isSuccess());
+        Thread.sleep(1100);
+        assertFalse(fetch(client, "C1").isSuccess());
+        assertEquals(5, server.getRequestCount());
+        assertEquals("[OPEN, HALF_OPEN, OPEN, fail]", metrics.events.toString());
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.mirror.ContentSnapshot;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.model.digital.DigitalAsset;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for compact assets set with {@link ContentSettings#setCompactAssets(boolean)}.
+ */
+public class CompactAssetTests extends MockServerTest {
+
+    private static final int ITEM_COUNT = 200;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // search result with copies of a content item and a digital asset, each with its own id and links
+    private String getSearchResult() throws IOException {
+        JsonObject item = JsonParser.parseString(
+                getResource("GetContentItemFieldTypeTests.getContentItem_all.json")).getAsJsonObject();
+        JsonObject digitalAsset = JsonParser.parseString(
+                getResource("DigitalAssetRenditionTests.getDigitalAsset.json")).getAsJsonObject();
+
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            JsonObject copy = (i % 2 == 0 ? item : digitalAsset).deepCopy();
+            copy.addProperty("id", "ID" + i);
+            copy.add("links", JsonParser.parseString("[{\"href\":\"http://host/items/ID" + i +
+                    "\",\"rel\":\"self\",\"method\":\"GET\",\"mediaType\":\"application/json\"}]"));
+            items.add(copy);
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("hasMore", false);
+        result.addProperty("count", ITEM_COUNT);
+        result.add("items", items);
+        return result.toString();
+    }
+
+    private ContentDeliveryClient createClient(boolean compact) {
+        return createClient(new ContentSettings().setCompactAssets(compact));
+    }
+
+    private List<Asset> search(boolean compact, boolean linksNone) throws IOException {
+        server.enqueue(new MockResponse().setBody(getSearchResult()));
+        SearchAssetsRequest request = new SearchAssetsRequest(createClient(compact));
+        if (linksNone) {
+            request.linksNone();
+        }
+        ContentResponse<AssetSearchResult> response = request.fetch();
+        assertTrue(response.isSuccess());
+        assertEquals(ITEM_COUNT, response.getResult().getItems().size());
+        return response.getResult().getItems();
+    }
+
+    @Test
+    public void compactAssetsUseLessHeap() throws IOException {
+        List<Asset> assets = search(false, false);
+        List<Asset> compactAssets = search(true, true);
+
+        long size = GraphLayout.parseInstance(assets).totalSize();
+        long compactSize = GraphLayout.parseInstance(compactAssets).totalSize();
+        System.out.println("heap per asset " + size / ITEM_COUNT + " bytes, compact " +
+                compactSize / ITEM_COUNT + " bytes");
+        assertTrue(compactSize < size * 0.6);
+    }
+
+    @Test
+    public void compactAssetsReadTheSame() throws IOException {
+        List<Asset> assets = search(false, false);
+        List<Asset> compactAssets = search(true, false);
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Asset asset = assets.get(i);
+            Asset compact = compactAssets.get(i);
+            assertFalse(asset.isCompact());
+            assertTrue(compact.isCompact());
+            assertEquals(asset.getClass(), compact.getClass());
+            assertEquals(asset.getType(), compact.getType());
+            assertEquals(asset.getLanguage(), compact.getLanguage());
+            assertEquals(asset.getCreatedTime(), compact.getCreatedTime());
+            assertEquals(asset.getUpdatedDate().getEpochMillis(), compact.getUpdatedDate().getEpochMillis());
+            assertEquals(asset.getUpdatedDate().getTimezone(), compact.getUpdatedDate().getTimezone());
+            assertEquals(asset.isReferenceOnly(), compact.isReferenceOnly());
+            assertEquals(asset.getRawFields(), compact.getRawFields());
+            assertEquals(1, compact.getLinks().size());
+        }
+
+        // repeated strings are shared
+        assertTrue(compactAssets.get(0).getType() == compactAssets.get(2).getType());
+        assertFalse(assets.get(0).getType() == assets.get(2).getType());
+
+        // fields of a content item
+        ContentItem item = (ContentItem) assets.get(0);
+        ContentItem compactItem = (ContentItem) compactAssets.get(0);
+        assertEquals(item.getBooleanField("sdk-test-boolean"), compactItem.getBooleanField("sdk-test-boolean"));
+        assertEquals(item.getDigitalAssetField("sdk-test-asset-ref").getId(),
+                compactItem.getDigitalAssetField("sdk-test-asset-ref").getId());
+        // same field types guessed from the values
+        assertEquals(item.parseContentItemFields().toString(), compactItem.parseContentItemFields().toString());
+        assertEquals(item.getDateField("sdk-test-datetime").getEpochMillis(),
+                compactItem.getDateField("sdk-test-datetime").getEpochMillis());
+
+        // renditions of a digital asset
+        DigitalAsset digitalAsset = (DigitalAsset) assets.get(1);
+        DigitalAsset compactDigitalAsset = (DigitalAsset) compactAssets.get(1);
+        assertNotNull(compactDigitalAsset.getNativeDownloadUrl());
+        assertEquals(digitalAsset.getNativeDownloadUrl(), compactDigitalAsset.getNativeDownloadUrl());
+        assertEquals(digitalAsset.getRenditionUrl("Thumbnail"), compactDigitalAsset.getRenditionUrl("Thumbnail"));
+    }
+
+    @Test
+    public void linksDroppedForLinksNone() throws IOException {
+        Asset asset = search(true, true).get(1);
+        assertNull(asset.getLinks());
+        // links of the renditions are kept
+        assertNotNull(((DigitalAsset) asset).getNativeDownloadUrl());
+    }
+
+    @Test
+    public void singleAssetCompacted() throws IOException {
+        server.enqueue(new MockResponse().setBody(getResource("GetContentItemFieldTypeTests.getContentItem_all.json")));
+        ContentItem item = new GetContentItemRequest(createClient(true), "A1").fetch().getResult();
+        assertTrue(item.isCompact());
+        assertEquals("2022-07-06T03:01:17.866Z", item.getCreatedDate().getValue());
+        assertEquals("UTC", item.getCreatedDate().getTimezone());
+    }
+
+    @Test
+    public void compactDatesKeepMilliseconds() {
+        server.enqueue(new MockResponse().setBody("{\"id\":\"A1\",\"type\":\"Page\",\"name\":\"A1\",\"fields\":{}," +
+                "\"createdDate\":{\"value\":\"2022-07-06T03:01:17.000Z\",\"timezone\":\"UTC\"}}"));
+        ContentItem item = new GetContentItemRequest(createClient(true), "A1").fetch().getResult();
+        assertTrue(item.isCompact());
+
+        // whole seconds still have milliseconds, so the legacy parser reads them
+        assertEquals("2022-07-06T03:01:17.000Z", item.getCreatedDate().getValue());
+        assertEquals(item.getCreatedTime(),
+                item.getCreatedDate().getLegacyDateParser().getTimeInMilliseconds().longValue());
+
+        // built once
+        assertTrue(item.getCreatedDate() == item.getCreatedDate());
+    }
+
+    @Test
+    public void compactAssetsInSnapshot() throws Exception {
+        Asset asset = search(false, false).get(0);
+        Asset compact = search(true, false).get(0);
+
+        File file = folder.newFile("channel.snapshot");
+        ContentSnapshot.write(Collections.singletonList(compact), null, file);
+        Asset read = ContentSnapshot.open(file).get(compact.getId());
+        assertEquals(asset.getCreatedTime(), read.getCreatedTime());
+        assertEquals(asset.getUpdatedTime(), read.getUpdatedTime());
+        assertEquals(ContentClient.gson().toJsonTree(asset.getRawFields()),
+                ContentClient.gson().toJsonTree(read.getRawFields()));
+    }
+
+    // round-trip an asset through Java serialization
+    private static <T extends Asset> T serializeCopy(T asset) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(asset);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            T copied = (T) in.readObject();
+            return copied;
+        }
+    }
+
+    @Test
+    public void compactAssetsSerializable() throws Exception {
+        List<Asset> compactAssets = search(true, false);
+        for (Asset compact : compactAssets.subList(0, 2)) {
+            Asset copied = serializeCopy(compact);
+            assertTrue(copied.isCompact());
+            assertFalse(copied.isReferenceOnly());
+            assertEquals(compact.getCreatedTime(), copied.getCreatedTime());
+            assertEquals(compact.getUpdatedTime(), copied.getUpdatedTime());
+            assertEquals(compact.getCreatedDate().getValue(), copied.getCreatedDate().getValue());
+            assertEquals(compact.getUpdatedDate().getTimezone(), copied.getUpdatedDate().getTimezone());
+            // the fields are read back as a compact map
+            assertEquals(compact.getRawFields(), copied.getRawFields());
+            assertEquals(compact.getRawFields().getClass(), copied.getRawFields().getClass());
+        }
+
+        DigitalAsset digitalAsset = (DigitalAsset) compactAssets.get(1);
+        assertEquals(digitalAsset.getRenditionUrl("Thumbnail"), serializeCopy(digitalAsset).getRenditionUrl("Thumbnail"));
+    }
+}
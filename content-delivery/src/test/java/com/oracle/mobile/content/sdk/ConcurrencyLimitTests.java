@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.CircuitBreakerPolicy;
+import com.oracle.content.sdk.ConcurrencyLimitException;
+import com.oracle.content.sdk.ConcurrencyLimitPolicy;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.item.ContentItem;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for limiting requests in flight with a {@link ConcurrencyLimitPolicy}.
+ */
+public class ConcurrencyLimitTests extends MockServerTest {
+
+    private ContentDeliveryClient createClient(ConcurrencyLimitPolicy policy) {
+        return createClient(policy, null);
+    }
+
+    private ContentDeliveryClient createClient(ConcurrencyLimitPolicy policy, CircuitBreakerPolicy circuitBreakerPolicy) {
+        return createClient(new ContentSettings()
+                .setConcurrencyLimitPolicy(policy)
+                .setCircuitBreakerPolicy(circuitBreakerPolicy));
+    }
+
+    @Test
+    public void shedOverLimit() throws Exception {
+        ContentDeliveryClient client = createClient(new ConcurrencyLimitPolicy()
+                .setLimits(1, 1, 1)
+                .setMaxWait(0, TimeUnit.MILLISECONDS));
+        server.enqueue(delayedItem(500));
+
+        CompletableFuture<ContentResponse<ContentItem>> first =
+                CompletableFuture.supplyAsync(() -> fetch(client));
+        Thread.sleep(100);
+
+        // over the limit, fails without being sent
+        assertFalse(fetch(client).isSuccess());
+        assertTrue(first.get().isSuccess());
+        assertEquals(1, server.getRequestCount());
+        assertEquals("[limit 1, shed]", metrics.events.toString());
+    }
+
+    @Test
+    public void queuedUntilSlotFree() throws Exception {
+        ContentDeliveryClient client = createClient(new ConcurrencyLimitPolicy()
+                .setLimits(1, 1, 1)
+                .setMaxWait(5, TimeUnit.SECONDS));
+        server.enqueue(delayedItem(300));
+        server.enqueue(delayedItem(300));
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<ContentResponse<ContentItem>> first =
+                CompletableFuture.supplyAsync(() -> fetch(client));
+        CompletableFuture<ContentResponse<ContentItem>> second =
+                CompletableFuture.supplyAsync(() -> fetch(client));
+        assertTrue(first.get().isSuccess());
+        assertTrue(second.get().isSuccess());
+
+        // one after the other
+        assertTrue(System.currentTimeMillis() - start >= 600);
+        assertEquals(2, server.getRequestCount());
+        assertFalse(metrics.events.contains("shed"));
+    }
+
+    @Test
+    public void limitFollowsLatency() {
+        ContentDeliveryClient client = createClient(new ConcurrencyLimitPolicy()
+                .setLimits(2, 1, 10)
+                .setBackoffRatio(0.7)
+                .setLatencyTolerance(2.0));
+
+        // fast call with the limit in use raises it
+        server.enqueue(delayedItem(0));
+        assertTrue(fetch(client).isSuccess());
+        assertEquals("[limit 2, limit 3]", metrics.events.toString());
+
+        // much slower call lowers it
+        server.enqueue(delayedItem(1000));
+        assertTrue(fetch(client).isSuccess());
+        assertEquals("[limit 2, limit 3, limit 2]", metrics.events.toString());
+
+        // server pushing back lowers it
+        server.enqueue(new MockResponse().setResponseCode(503));
+        assertEquals(503, fetch(client).getHttpCode());
+        assertEquals("[limit 2, limit 3, limit 2, limit 1]", metrics.events.toString());
+    }
+
+    @Test
+    public void shedRequestsNotCircuitFailures() throws Exception {
+        ContentDeliveryClient client = createClient(new ConcurrencyLimitPolicy()
+                        .setLimits(1, 1, 1)
+                        .setMaxWait(0, TimeUnit.MILLISECONDS),
+                new CircuitBreakerPolicy()
+                        .setWindow(2, 2)
+                        .setFailureRateThreshold(0.5));
+        server.enqueue(delayedItem(500));
+
+        CompletableFuture<ContentResponse<ContentItem>> first =
+                CompletableFuture.supplyAsync(() -> fetch(client));
+        Thread.sleep(100);
+        for (int i = 0; i < 3; i++) {
+            ContentResponse<ContentItem> shed = fetch(client);
+            assertFalse(shed.isSuccess());
+            assertTrue(shed.getException().getCause() instanceof ConcurrencyLimitException);
+        }
+        assertTrue(first.get().isSuccess());
+
+        // the client shedding its own load does not open the breaker
+        assertEquals("[limit 1, shed, shed, shed]", metrics.events.toString());
+        server.enqueue(delayedItem(0));
+        assertTrue(fetch(client).isSuccess());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void queueTimeNotSlowCall() throws Exception {
+        ContentDeliveryClient client = createClient(new ConcurrencyLimitPolicy()
+                        .setLimits(1, 1, 1)
+                        .setMaxWait(5, TimeUnit.SECONDS),
+                new CircuitBreakerPolicy()
+                        .setWindow(2, 2)
+                        .setSlowCallThreshold(250, TimeUnit.MILLISECONDS, 0.5));
+        server.enqueue(delayedItem(150));
+        server.enqueue(delayedItem(150));
+
+        // the second request waits for the first, so takes longer than a slow call overall
+        long start = System.currentTimeMillis();
+        CompletableFuture<ContentResponse<ContentItem>> first =
+                CompletableFuture.supplyAsync(() -> fetch(client));
+        CompletableFuture<ContentResponse<ContentItem>> second =
+                CompletableFuture.supplyAsync(() -> fetch(client));
+        assertTrue(first.get().isSuccess());
+        assertTrue(second.get().isSuccess());
+        assertTrue(System.currentTimeMillis() - start >= 300);
+
+        // but only the time at the server counts
+        assertFalse(metrics.events.contains("OPEN"));
+    }
+}
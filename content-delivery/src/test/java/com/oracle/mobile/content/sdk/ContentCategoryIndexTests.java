@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentCategoryIndex;
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.mirror.ContentMirror;
+import com.oracle.content.sdk.mirror.InMemoryContentMirrorStore;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for the {@link ContentCategoryIndex} of asset categories.
+ */
+public class ContentCategoryIndexTests extends MockServerTest {
+
+    private static final String ITEMS = "/content/published/api/v1.1/items/";
+
+    // items on the "server", category paths (root first, separated by "/") by id
+    private final Map<String, String[]> serverItems = new LinkedHashMap<>();
+
+    @Before
+    public void setUp() {
+        respondWith(request -> respond(request.getRequestUrl().encodedPath()));
+    }
+
+    private synchronized MockResponse respond(String path) {
+        if (path.startsWith(ITEMS)) {
+            String id = path.substring(ITEMS.length());
+            return new MockResponse().setBody(item(id, serverItems.get(id)).toString());
+        }
+        JsonArray items = new JsonArray();
+        for (Map.Entry<String, String[]> entry : serverItems.entrySet()) {
+            items.add(item(entry.getKey(), entry.getValue()));
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("hasMore", false);
+        result.add("items", items);
+        return new MockResponse().setBody(result.toString());
+    }
+
+    // an item with a taxonomy category for each path
+    private static JsonObject item(String id, String[] categoryPaths) {
+        JsonArray categories = new JsonArray();
+        for (String categoryPath : categoryPaths) {
+            JsonArray nodes = new JsonArray();
+            for (String nodeId : categoryPath.split("/")) {
+                JsonObject node = new JsonObject();
+                node.addProperty("id", nodeId);
+                node.addProperty("name", nodeId);
+                nodes.add(node);
+            }
+            JsonObject category = new JsonObject();
+            category.addProperty("id", nodes.get(nodes.size() - 1).getAsJsonObject().get("id").getAsString());
+            category.add("nodes", nodes);
+            categories.add(category);
+        }
+        JsonObject categoryList = new JsonObject();
+        categoryList.add("items", categories);
+        JsonObject taxonomy = new JsonObject();
+        taxonomy.addProperty("id", "T1");
+        taxonomy.add("categories", categoryList);
+        JsonArray taxonomyItems = new JsonArray();
+        taxonomyItems.add(taxonomy);
+        JsonObject taxonomies = new JsonObject();
+        taxonomies.add("items", taxonomyItems);
+
+        JsonObject item = new JsonObject();
+        item.addProperty("id", id);
+        item.addProperty("type", "Product");
+        item.addProperty("name", id);
+        JsonObject updatedDate = new JsonObject();
+        updatedDate.addProperty("value", "2023-01-01T00:00:00.000Z");
+        updatedDate.addProperty("timezone", "UTC");
+        item.add("updatedDate", updatedDate);
+        item.add("fields", new JsonObject());
+        item.add("taxonomies", taxonomies);
+        return item;
+    }
+
+    private ContentDeliveryClient createClient(boolean categoryIndex) {
+        return createClient(new ContentSettings().setCategoryIndexEnabled(categoryIndex));
+    }
+
+    private void addItems() {
+        serverItems.put("A", new String[]{"shoes/running", "red"});
+        serverItems.put("B", new String[]{"shoes/hiking", "red"});
+        serverItems.put("C", new String[]{"shoes/running", "blue"});
+        serverItems.put("D", new String[]{"hats"});
+    }
+
+    @Test
+    public void searchResultsIndexed() {
+        addItems();
+        ContentDeliveryClient client = createClient(true);
+        new SearchAssetsRequest(client).fetchResult().getItems();
+
+        ContentCategoryIndex index = client.getCategoryIndex();
+        assertEquals(4, index.size());
+        assertEquals("{shoes=3, running=2, hiking=1, red=2, blue=1, hats=1, socks=0}",
+                index.getFacetCounts(Arrays.asList("shoes", "running", "hiking", "red", "blue", "hats", "socks")).toString());
+
+        // facet counts within the selected categories
+        assertEquals("{running=1, hiking=1, blue=0}",
+                index.getFacetCounts(Arrays.asList("running", "hiking", "blue"), Collections.singletonList("red")).toString());
+        assertEquals("[A]", index.getAssetIds(Arrays.asList("running", "red")).toString());
+        assertEquals("[A, C, D]", index.getAssetIdsInAny(Arrays.asList("running", "hats")).toString());
+        assertTrue(index.getAssetIds(Arrays.asList("running", "socks")).isEmpty());
+    }
+
+    @Test
+    public void updatedAssetReindexed() {
+        addItems();
+        ContentDeliveryClient client = createClient(true);
+        new SearchAssetsRequest(client).fetchResult().getItems();
+
+        // A moves from running to hiking when fetched again
+        serverItems.put("A", new String[]{"shoes/hiking"});
+        new GetContentItemRequest(client, "A").fetchResult();
+        ContentCategoryIndex index = client.getCategoryIndex();
+        assertEquals(1, index.getCount("running"));
+        assertEquals(2, index.getCount("hiking"));
+        assertEquals(1, index.getCount("red"));
+
+        index.remove("B");
+        assertFalse(index.contains("B"));
+        assertEquals("[A]", index.getAssetIds(Collections.singletonList("hiking")).toString());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void mirrorRemovesDeletedAssets() {
+        addItems();
+        ContentDeliveryClient client = createClient(true);
+        ContentMirror mirror = client.createMirror(null);
+        mirror.sync();
+        assertEquals(3, client.getCategoryIndex().getCount("shoes"));
+
+        serverItems.remove("C");
+        mirror.fullSync();
+        assertEquals(2, client.getCategoryIndex().getCount("shoes"));
+        assertEquals(0, client.getCategoryIndex().getCount("blue"));
+    }
+
+    @Test
+    public void removedOrdinalsReused() {
+        ContentCategoryIndex index = new ContentCategoryIndex();
+        index.put("A", Arrays.asList("shoes", "red"));
+        index.put("B", Collections.singletonList("shoes"));
+        index.put("C", Arrays.asList("shoes", "blue"));
+        index.remove("B");
+        index.put("D", Collections.singletonList("shoes"));
+
+        // D takes the place of B
+        assertEquals("[A, D, C]", index.getAssetIds(Collections.singletonList("shoes")).toString());
+        assertFalse(index.contains("B"));
+
+        // assets coming and going do not grow the index
+        long size = GraphLayout.parseInstance(index).totalSize();
+        for (int i = 0; i < 10000; i++) {
+            index.put("E" + i, Arrays.asList("shoes", "green"));
+            index.remove("E" + i);
+        }
+        assertEquals(3, index.size());
+        assertEquals(3, index.getCount("shoes"));
+        assertEquals(0, index.getCount("green"));
+        assertTrue(GraphLayout.parseInstance(index).totalSize() < size * 2);
+    }
+
+    @Test
+    public void storedAssetsIndexedOnFirstQuery() {
+        addItems();
+        InMemoryContentMirrorStore synced = new InMemoryContentMirrorStore();
+        new ContentMirror(createClient(false), synced, null).sync();
+
+        // a store opened with assets, as from a snapshot, is not read until the index is queried
+        AtomicInteger reads = new AtomicInteger();
+        InMemoryContentMirrorStore store = new InMemoryContentMirrorStore() {
+            @Override
+            public Collection<Asset> getAll() {
+                reads.incrementAndGet();
+                return super.getAll();
+            }
+        };
+        for (Asset asset : synced.getAll()) {
+            store.put(asset);
+        }
+        store.setWatermark(synced.getWatermark());
+        ContentDeliveryClient client = createClient(true);
+        new ContentMirror(client, store, null);
+        assertEquals(0, reads.get());
+
+        // assets changed before the first query are not replaced by the stored ones
+        serverItems.put("A", new String[]{"hats"});
+        new GetContentItemRequest(client, "A").fetchResult();
+        client.getCategoryIndex().remove("D");
+
+        ContentCategoryIndex index = client.getCategoryIndex();
+        assertEquals(2, index.getCount("shoes"));
+        assertEquals(1, index.getCount("hats"));
+        assertEquals(3, index.size());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void categoryIndexDisabled() {
+        addItems();
+        ContentDeliveryClient client = createClient(false);
+        assertNull(client.getCategoryIndex());
+        assertEquals(4, new SearchAssetsRequest(client).fetchResult().getItems().size());
+    }
+}
@@ -10,16 +10,23 @@ import org.junit.Test;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.model.Asset;
 import com.oracle.content.sdk.model.date.ContentDate;
 import com.oracle.content.sdk.model.date.ContentDateDisplayType;
 import com.oracle.content.sdk.model.date.ContentDateParser;
 import com.oracle.content.sdk.model.date.ContentDateParserCalendar;
+import com.oracle.content.sdk.model.date.ContentDateParserZonedDateTime;
+import com.oracle.content.sdk.model.item.ContentItem;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests for date field parsing based on actual test cases.
@@ -220,6 +227,74 @@ public class ContentDateFieldTests {
 
     }
 
+    @Test
+    public void dateParsedOnce() {
+
+        ContentDate contentDate = new ContentDate(
+                "2019-02-04T13:37:22.229-05:00",
+                "America/Montreal",
+                "2/4/2019");
+
+        // parser and parsed values are reused across calls
+        assertSame(contentDate.getDateParser(), contentDate.getDateParser());
+        assertSame(contentDate.getInstant(), contentDate.getInstant());
+        assertSame(((ContentDateParserZonedDateTime) contentDate.getDateParser()).getAsZonedDateTime(),
+                ((ContentDateParserZonedDateTime) contentDate.getDateParser()).getAsZonedDateTime());
+
+        assertEquals(contentDate.getDateParser().getTimeInMilliseconds().longValue(),
+                contentDate.getInstant().toEpochMilli());
+        assertEquals(contentDate.getLegacyDateParser().getTimeInMilliseconds(),
+                contentDate.getDateParser().getTimeInMilliseconds());
+
+        // the same cached formatter is used for repeated patterns
+        for (int i = 0; i < 3; i++) {
+            assertEquals("February 4, 2019",
+                    contentDate.getDateParser().getDisplayString(ContentDateDisplayType.Date, "MMMM d, yyyy"));
+            assertEquals(contentDate.getDescription(),
+                    contentDate.getLegacyDateParser().getDisplayString(ContentDateDisplayType.Date));
+        }
+    }
+
+    @Test
+    public void dateParseErrorInstant() {
+        ContentDate contentDate = new ContentDate("2019-34343", null, null);
+        assertNull(contentDate.getInstant());
+        assertNull(contentDate.getDateParser().getTimeInMilliseconds());
+    }
+
+    @Test
+    public void dateComparators() {
+
+        String[] updatedDates = {
+                "2020-11-06T21:28:12.009Z",
+                "2019-02-04T13:37:22.229-05:00",
+                "invalid",
+                "2021-01-01T00:00:00.000+01:00"};
+
+        List<Asset> items = new ArrayList<>();
+        for (int i = 0; i < updatedDates.length; i++) {
+            String json = "{\"id\":\"" + i + "\"," +
+                    "\"createdDate\":{\"value\":\"2019-01-0" + (updatedDates.length - i) + "T00:00:00.000Z\",\"timezone\":\"UTC\"}," +
+                    "\"updatedDate\":{\"value\":\"" + updatedDates[i] + "\",\"timezone\":\"UTC\"}}";
+            items.add(ContentClient.gson().fromJson(json, ContentItem.class));
+        }
+        // item without any dates
+        items.add(ContentClient.gson().fromJson("{\"id\":\"ref\"}", ContentItem.class));
+
+        items.sort(Asset.UPDATED_DATE_COMPARATOR.reversed());
+        assertEquals("3", items.get(0).getId());
+        assertEquals("0", items.get(1).getId());
+        assertEquals("1", items.get(2).getId());
+        assertEquals(ContentDate.INVALID_TIME, items.get(3).getUpdatedTime());
+        assertEquals(ContentDate.INVALID_TIME, items.get(4).getUpdatedTime());
+        assertEquals(items.get(0).getUpdatedDate().getInstant().toEpochMilli(), items.get(0).getUpdatedTime());
+
+        items.sort(Asset.CREATED_DATE_COMPARATOR);
+        assertEquals("ref", items.get(0).getId());
+        assertEquals("3", items.get(1).getId());
+        assertEquals("0", items.get(4).getId());
+    }
+
     @Test
     public void displayTypeMatch() {
         ContentDateDisplayType type = ContentDateDisplayType.getDisplayType("datepicker");
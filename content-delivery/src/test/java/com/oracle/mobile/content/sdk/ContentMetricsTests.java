@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentMetrics;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.item.ContentItem;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for the {@link ContentMetrics} reported for SDK calls.
+ */
+public class ContentMetricsTests extends MockServerTest {
+
+    private static final String ITEM_ENDPOINT = "content/published/api/v1.1/items/{ID}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String itemJson;
+
+    @Before
+    public void setUp() throws Exception {
+        itemJson = getResource("GetContentItemFieldTypeTests.getContentItem_all.json");
+    }
+
+    @Test
+    public void metricsReportedForCall() {
+        ContentDeliveryClient client = createClient();
+        assertEquals(metrics, client.getMetrics());
+
+        server.enqueue(new MockResponse().setBody(itemJson));
+        ContentResponse<ContentItem> response = fetch(client, "id");
+        assertTrue(response.isSuccess());
+
+        for (ContentMetrics.Timing timing : new ContentMetrics.Timing[]{
+                ContentMetrics.Timing.CONNECT,
+                ContentMetrics.Timing.TIME_TO_FIRST_BYTE,
+                ContentMetrics.Timing.RESPONSE_BODY,
+                ContentMetrics.Timing.CALL,
+                ContentMetrics.Timing.TRANSFORM,
+                ContentMetrics.Timing.DESERIALIZE}) {
+            assertEquals(timing.name(), Collections.singletonList(ITEM_ENDPOINT), metrics.timings.get(timing));
+        }
+        // plain http to the mock server
+        assertTrue(metrics.timings.get(ContentMetrics.Timing.TLS) == null);
+
+        assertEquals(Collections.singletonList(ITEM_ENDPOINT + "|200|NONE"), metrics.calls);
+        assertEquals(itemJson.getBytes(Charset.defaultCharset()).length, metrics.bytesReceived.get());
+    }
+
+    @Test
+    public void metricsReportCacheHit() throws IOException {
+        ContentDeliveryClient client = createClient(new ContentSettings()
+                .enableCache(temporaryFolder.newFolder()));
+
+        server.enqueue(new MockResponse().setBody(itemJson));
+        assertTrue(fetch(client, "id").isSuccess());
+        ContentResponse<ContentItem> cached = fetch(client, "id");
+        assertTrue(cached.isSuccess());
+        assertEquals(ContentResponse.CacheState.CACHED, cached.getCacheState());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(ITEM_ENDPOINT + "|200|MISS", metrics.calls.get(0));
+        assertEquals(ITEM_ENDPOINT + "|200|HIT", metrics.calls.get(1));
+        // the cached response did not read any bytes from the network
+        assertEquals(itemJson.getBytes(Charset.defaultCharset()).length, metrics.bytesReceived.get());
+    }
+
+    @Test
+    public void metricsReportFailedCall() throws IOException {
+        ContentDeliveryClient client = createClient();
+        server.shutdown();
+
+        ContentResponse<ContentItem> response = fetch(client, "id");
+        assertTrue(!response.isSuccess());
+        assertEquals(Collections.singletonList(ITEM_ENDPOINT + "|0|NONE"), metrics.calls);
+        // nothing to deserialize
+        assertTrue(metrics.timings.get(ContentMetrics.Timing.DESERIALIZE) == null);
+    }
+}
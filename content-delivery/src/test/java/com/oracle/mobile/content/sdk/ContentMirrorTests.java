@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.mirror.ContentMirror;
+import com.oracle.content.sdk.mirror.ContentSnapshot;
+import com.oracle.content.sdk.mirror.SnapshotContentMirrorStore;
+import com.oracle.content.sdk.model.Asset;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Tests for syncing a {@link ContentMirror} against a mock server.
+ */
+public class ContentMirrorTests extends MockServerTest {
+
+    private static final Pattern UPDATED_SINCE = Pattern.compile("updatedDate (gt|ge) \"([^\"]+)\"");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ContentDeliveryClient client;
+
+    // items on the "server" by id, value is {slug, updatedDate}
+    private final Map<String, String[]> serverItems = new TreeMap<>();
+
+    // search filters received by the server
+    private final List<String> queries = new ArrayList<>();
+
+    private volatile boolean serverDown = false;
+
+    // run once after the next page is served, to change the server while a sync is paging
+    private Runnable afterPage = null;
+
+    @Before
+    public void setUp() {
+        respondWith(request -> search(request.getRequestUrl()));
+        client = createClient();
+    }
+
+    // minimal search endpoint: filter on updatedDate, sort by updatedDate, page with offset/limit
+    private synchronized MockResponse search(HttpUrl url) {
+        if (serverDown) {
+            return new MockResponse().setResponseCode(503);
+        }
+        String q = url.queryParameter("q");
+        queries.add(q);
+        String operator = null;
+        String updatedSince = null;
+        if (q != null) {
+            Matcher matcher = UPDATED_SINCE.matcher(q);
+            if (matcher.find()) {
+                operator = matcher.group(1);
+                updatedSince = matcher.group(2);
+            }
+        }
+        List<JsonObject> matches = new ArrayList<>();
+        for (Map.Entry<String, String[]> entry : serverItems.entrySet()) {
+            String updated = entry.getValue()[1];
+            int compare = updatedSince == null ? 1 : updated.compareTo(updatedSince);
+            if (compare > 0 || (compare == 0 && "ge".equals(operator))) {
+                matches.add(item(entry.getKey(), entry.getValue()[0], updated));
+            }
+        }
+        matches.sort((a, b) -> a.getAsJsonObject("updatedDate").get("value").getAsString()
+                .compareTo(b.getAsJsonObject("updatedDate").get("value").getAsString()));
+
+        int offset = Integer.parseInt(url.queryParameter("offset"));
+        int limit = Integer.parseInt(url.queryParameter("limit"));
+        JsonArray page = new JsonArray();
+        for (int i = offset; i < Math.min(matches.size(), offset + limit); i++) {
+            page.add(matches.get(i));
+        }
+        if (afterPage != null) {
+            afterPage.run();
+            afterPage = null;
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("hasMore", offset + limit < matches.size());
+        result.addProperty("offset", offset);
+        result.addProperty("count", page.size());
+        result.addProperty("limit", limit);
+        result.add("items", page);
+        return new MockResponse().setBody(result.toString());
+    }
+
+    private static JsonObject item(String id, String slug, String updated) {
+        JsonObject date = new JsonObject();
+        date.addProperty("value", updated);
+        date.addProperty("timezone", "UTC");
+        JsonObject item = new JsonObject();
+        item.addProperty("id", id);
+        item.addProperty("type", "Page");
+        item.addProperty("name", id);
+        item.addProperty("slug", slug);
+        item.add("updatedDate", date);
+        item.add("fields", new JsonObject());
+        return item;
+    }
+
+    @Test
+    public void incrementalSync() {
+        serverItems.put("A", new String[]{"a", "2023-01-01T00:00:00.000Z"});
+        serverItems.put("B", new String[]{"b", "2023-01-02T00:00:00.000Z"});
+        serverItems.put("C", new String[]{"c", "2023-01-03T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror("type eq \"Page\" OR type eq \"Article\"").pageSize(2);
+
+        // first sync pages through everything
+        assertEquals(3, mirror.sync());
+        assertEquals(3, mirror.size());
+        assertEquals(2, queries.size());
+        assertEquals("(type eq \"Page\" OR type eq \"Article\")", queries.get(0));
+        assertEquals("2023-01-03T00:00:00.000Z", mirror.getWatermark());
+        assertEquals("B", mirror.getAssetBySlug("b").getId());
+
+        // B changes slug and D is added, only those are requested
+        serverItems.put("B", new String[]{"b2", "2023-01-04T00:00:00.000Z"});
+        serverItems.put("D", new String[]{"d", "2023-01-05T00:00:00.000Z"});
+        queries.clear();
+        assertEquals(2, mirror.sync());
+        // C at the watermark date is returned again, so B and D take a second page
+        assertEquals(2, queries.size());
+        assertEquals("(type eq \"Page\" OR type eq \"Article\") AND updatedDate ge \"2023-01-03T00:00:00.000Z\"",
+                queries.get(0));
+        assertEquals(4, mirror.size());
+        assertNull(mirror.getAssetBySlug("b"));
+        assertEquals("B", mirror.getAssetBySlug("b2").getId());
+        assertEquals("2023-01-05T00:00:00.000Z", mirror.getWatermark());
+
+        // nothing new
+        assertEquals(0, mirror.sync());
+        assertEquals(4, mirror.size());
+    }
+
+    @Test
+    public void assetUpdatedWhilePaging() {
+        for (int i = 1; i <= 5; i++) {
+            serverItems.put("ID" + i, new String[]{"slug" + i, "2023-01-0" + i + "T00:00:00.000Z"});
+        }
+        // the first asset is updated once the first page is served, and moves to the end
+        afterPage = () -> serverItems.put("ID1", new String[]{"slug1", "2023-01-06T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror(null).pageSize(2);
+        mirror.sync();
+        // with offset paging the asset after the first page would be skipped
+        for (int i = 1; i <= 5; i++) {
+            assertNotNull(mirror.getAsset("ID" + i));
+        }
+        assertEquals("2023-01-06T00:00:00.000Z", mirror.getAsset("ID1").getUpdatedDate().getValue());
+        assertEquals("2023-01-06T00:00:00.000Z", mirror.getWatermark());
+    }
+
+    @Test
+    public void sameDateAsWatermark() {
+        serverItems.put("A", new String[]{"a", "2023-01-01T00:00:00.000Z"});
+        serverItems.put("B", new String[]{"b", "2023-01-02T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror(null);
+        assertEquals(2, mirror.sync());
+
+        // published later with the same updatedDate as the watermark
+        serverItems.put("C", new String[]{"c", "2023-01-02T00:00:00.000Z"});
+        assertEquals(1, mirror.sync());
+        assertEquals("C", mirror.getAssetBySlug("c").getId());
+        // B is returned again but not applied again
+        assertEquals(0, mirror.sync());
+    }
+
+    @Test
+    public void pageOfOneDate() {
+        for (int i = 1; i <= 5; i++) {
+            serverItems.put("ID" + i, new String[]{"slug" + i, "2023-01-01T00:00:00.000Z"});
+        }
+        serverItems.put("ID6", new String[]{"slug6", "2023-01-02T00:00:00.000Z"});
+
+        // more assets than a page with one date are paged by offset
+        ContentMirror mirror = client.createMirror(null).pageSize(2);
+        assertEquals(6, mirror.sync());
+        assertEquals(6, mirror.size());
+    }
+
+    @Test
+    public void fullSyncRemovesDeleted() {
+        serverItems.put("A", new String[]{"a", "2023-01-01T00:00:00.000Z"});
+        serverItems.put("B", new String[]{"b", "2023-01-02T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror(null);
+        assertEquals(2, mirror.sync());
+
+        serverItems.remove("A");
+        assertEquals(1, mirror.fullSync());
+        assertEquals(1, mirror.size());
+        assertNull(mirror.getAsset("A"));
+        assertNull(mirror.getAssetBySlug("a"));
+        assertNotNull(mirror.getAsset("B"));
+    }
+
+    @Test
+    public void mirrorServesWhenServerDown() {
+        serverItems.put("A", new String[]{"a", "2023-01-01T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror(null);
+        mirror.sync();
+        long lastSyncTime = mirror.getLastSyncTime();
+        assertTrue(lastSyncTime > 0);
+
+        serverDown = true;
+        try {
+            mirror.sync();
+            fail("expected sync to fail");
+        } catch (ContentException e) {
+            assertEquals(e, mirror.getLastSyncError());
+        }
+        assertEquals("A", mirror.getAssetBySlug("a").getId());
+        assertEquals("2023-01-01T00:00:00.000Z", mirror.getWatermark());
+        assertEquals(lastSyncTime, mirror.getLastSyncTime());
+    }
+
+    @Test
+    public void searchLocallyOrFallBack() {
+        serverItems.put("A", new String[]{"apple", "2023-01-01T00:00:00.000Z"});
+        serverItems.put("B", new String[]{"banana", "2023-01-02T00:00:00.000Z"});
+        serverItems.put("C", new String[]{"cherry", "2023-01-03T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror(null);
+        mirror.sync();
+        queries.clear();
+
+        // answered from the mirror
+        List<Asset> results = mirror.search("slug sw \"b\" OR slug sw \"c\"", "slug:des", 0, 10);
+        assertEquals(2, results.size());
+        assertEquals("C", results.get(0).getId());
+        assertEquals("B", results.get(1).getId());
+        assertTrue(queries.isEmpty());
+
+        // the index follows changes from a sync
+        serverItems.put("D", new String[]{"blueberry", "2023-01-04T00:00:00.000Z"});
+        mirror.sync();
+        queries.clear();
+        assertEquals(2, mirror.search("slug sw \"b\"", null, 0, 10).size());
+        assertTrue(queries.isEmpty());
+
+        // operators the index does not support go to the server
+        mirror.search("name mt \"apple\"", null, 0, 10);
+        assertEquals(1, queries.size());
+        assertEquals("(name mt \"apple\")", queries.get(0));
+    }
+
+    @Test
+    public void mirrorFromSnapshot() throws Exception {
+        serverItems.put("A", new String[]{"a", "2023-01-01T00:00:00.000Z"});
+        serverItems.put("B", new String[]{"b", "2023-01-02T00:00:00.000Z"});
+
+        ContentMirror mirror = client.createMirror(null);
+        mirror.sync();
+        File file = folder.newFile("mirror.snapshot");
+        mirror.exportSnapshot(file);
+
+        // a new mirror starts from the snapshot without requesting anything
+        queries.clear();
+        ContentMirror restored = new ContentMirror(client,
+                new SnapshotContentMirrorStore(ContentSnapshot.open(file)), null);
+        assertEquals(2, restored.size());
+        assertEquals("B", restored.getAssetBySlug("b").getId());
+        assertEquals("2023-01-02T00:00:00.000Z", restored.getWatermark());
+        assertTrue(queries.isEmpty());
+
+        // and syncs only what changed since
+        serverItems.put("B", new String[]{"b2", "2023-01-03T00:00:00.000Z"});
+        assertEquals(1, restored.sync());
+        assertEquals("updatedDate ge \"2023-01-02T00:00:00.000Z\"", queries.get(0));
+        assertNull(restored.getAssetBySlug("b"));
+        assertEquals("B", restored.getAssetBySlug("b2").getId());
+        assertEquals("A", restored.getAssetBySlug("a").getId());
+
+        serverItems.remove("A");
+        restored.fullSync();
+        assertNull(restored.getAsset("A"));
+        assertEquals(1, restored.size());
+    }
+}
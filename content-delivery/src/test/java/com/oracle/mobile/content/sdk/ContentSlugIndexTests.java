@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.ContentSlugIndex;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+import com.oracle.content.sdk.request.core.ContentRequestById;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+/**
+ * Tests for resolving slug requests through the {@link ContentSlugIndex}.
+ */
+public class ContentSlugIndexTests extends MockServerTest {
+
+    private static final String ITEMS = "/content/published/api/v1.1/items/";
+    private static final String BY_SLUG = ITEMS + ".by.slug/";
+
+    // items on the "server", slug by id
+    private final Map<String, String> serverItems = new TreeMap<>();
+
+    // paths requested from the server
+    private final List<String> paths = new ArrayList<>();
+
+    // ids the "server" fails with a 503, and ids it returns without their slug
+    private final Set<String> unavailableIds = new HashSet<>();
+    private final Set<String> idsWithoutSlug = new HashSet<>();
+
+    @Before
+    public void setUp() {
+        respondWith(request -> respond(request.getRequestUrl().encodedPath()));
+    }
+
+    private synchronized MockResponse respond(String path) {
+        paths.add(path);
+        if (path.startsWith(BY_SLUG)) {
+            String slug = path.substring(BY_SLUG.length());
+            for (Map.Entry<String, String> entry : serverItems.entrySet()) {
+                if (entry.getValue().equals(slug)) {
+                    return new MockResponse().setBody(item(entry.getKey(), slug).toString());
+                }
+            }
+        } else if (path.startsWith(ITEMS)) {
+            String id = path.substring(ITEMS.length());
+            if (unavailableIds.contains(id)) {
+                return new MockResponse().setResponseCode(503);
+            }
+            if (serverItems.containsKey(id)) {
+                JsonObject item = item(id, serverItems.get(id));
+                if (idsWithoutSlug.contains(id)) {
+                    item.remove("slug");
+                }
+                return new MockResponse().setBody(item.toString());
+            }
+        } else {
+            // search
+            JsonArray items = new JsonArray();
+            for (Map.Entry<String, String> entry : serverItems.entrySet()) {
+                items.add(item(entry.getKey(), entry.getValue()));
+            }
+            JsonObject result = new JsonObject();
+            result.addProperty("hasMore", false);
+            result.add("items", items);
+            return new MockResponse().setBody(result.toString());
+        }
+        return new MockResponse().setResponseCode(404).setBody("{\"status\":404,\"title\":\"Item Not Found\"}");
+    }
+
+    private static JsonObject item(String id, String slug) {
+        JsonObject item = new JsonObject();
+        item.addProperty("id", id);
+        item.addProperty("type", "Page");
+        item.addProperty("name", id);
+        item.addProperty("slug", slug);
+        item.add("fields", new JsonObject());
+        return item;
+    }
+
+    @Override
+    ContentDeliveryClient createClient() {
+        return createClient(new ContentSettings().setSlugIndexSize(ContentSlugIndex.DEFAULT_SIZE));
+    }
+
+    private ContentItem getBySlug(ContentDeliveryClient client, String slug) {
+        return new GetContentItemRequest(client, slug, ContentRequestById.IdType.SLUG).fetchResult();
+    }
+
+    @Test
+    public void slugRequestUsesKnownId() {
+        serverItems.put("A1", "about");
+        ContentDeliveryClient client = createClient();
+
+        // first request has to go by slug, after that the id is known
+        assertEquals("A1", getBySlug(client, "about").getId());
+        assertEquals("A1", getBySlug(client, "about").getId());
+        assertEquals("A1", new GetContentItemRequest(client, "A1").fetchResult().getId());
+        assertEquals("[" + BY_SLUG + "about, " + ITEMS + "A1, " + ITEMS + "A1]", paths.toString());
+        assertEquals("A1", client.getSlugIndex().getId("about"));
+    }
+
+    @Test
+    public void searchResultsPopulateIndex() {
+        serverItems.put("A1", "about");
+        serverItems.put("B1", "blog");
+        ContentDeliveryClient client = createClient();
+
+        assertEquals(2, new SearchAssetsRequest(client).fetchResult().getItems().size());
+        paths.clear();
+        assertEquals("B1", getBySlug(client, "blog").getId());
+        assertEquals("[" + ITEMS + "B1]", paths.toString());
+    }
+
+    @Test
+    public void staleSlugFallsBackToSlugRequest() throws Exception {
+        serverItems.put("A1", "about");
+        ContentDeliveryClient client = createClient();
+        getBySlug(client, "about");
+
+        // the slug moves to a new item
+        serverItems.put("A1", "about-old");
+        serverItems.put("A2", "about");
+        paths.clear();
+        assertEquals("A2", getBySlug(client, "about").getId());
+        assertEquals("[" + ITEMS + "A1, " + BY_SLUG + "about]", paths.toString());
+        assertEquals("A2", client.getSlugIndex().getId("about"));
+
+        // the old item is deleted, async request falls back the same way
+        serverItems.remove("A2");
+        serverItems.put("A3", "about");
+        paths.clear();
+        CompletableFuture<ContentResponse<ContentItem>> future = new CompletableFuture<>();
+        new GetContentItemRequest(client, "about", ContentRequestById.IdType.SLUG).fetchAsync(future::complete);
+        assertEquals("A3", future.get(10, TimeUnit.SECONDS).getResult().getId());
+        assertEquals("[" + ITEMS + "A2, " + BY_SLUG + "about]", paths.toString());
+    }
+
+    @Test
+    public void otherFailuresNotRepeatedBySlug() {
+        serverItems.put("A1", "about");
+        ContentDeliveryClient client = createClient();
+        getBySlug(client, "about");
+
+        // a server error says nothing about the slug
+        unavailableIds.add("A1");
+        paths.clear();
+        ContentResponse<ContentItem> response =
+                new GetContentItemRequest(client, "about", ContentRequestById.IdType.SLUG).fetch();
+        assertEquals(503, response.getHttpCode());
+        assertEquals("[" + ITEMS + "A1]", paths.toString());
+        assertEquals("A1", client.getSlugIndex().getId("about"));
+
+        // nor does a response without the slug
+        unavailableIds.clear();
+        idsWithoutSlug.add("A1");
+        paths.clear();
+        assertEquals("A1", getBySlug(client, "about").getId());
+        assertEquals("[" + ITEMS + "A1]", paths.toString());
+    }
+
+    @Test
+    public void slugIndexDisabled() {
+        serverItems.put("A1", "about");
+        ContentDeliveryClient client = createClient(new ContentSettings());
+        assertNull(client.getSlugIndex());
+
+        getBySlug(client, "about");
+        getBySlug(client, "about");
+        assertEquals("[" + BY_SLUG + "about, " + BY_SLUG + "about]", paths.toString());
+    }
+
+    @Test
+    public void leastRecentlyUsedSlugsDropped() {
+        ContentSlugIndex index = new ContentSlugIndex(2);
+        index.put("a", "1");
+        index.put("b", "2");
+        index.getId("a");
+        index.put("c", "3");
+        assertEquals(2, index.size());
+        assertEquals("1", index.getId("a"));
+        assertNull(index.getId("b"));
+        assertNull(index.getSlug("2"));
+
+        // slug of an id changes
+        index.put("a2", "1");
+        assertNull(index.getId("a"));
+        assertEquals("1", index.getId("a2"));
+        assertEquals("a2", index.getSlug("1"));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonParser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.mirror.ContentSnapshot;
+import com.oracle.content.sdk.mirror.SnapshotContentMirrorStore;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.digital.DigitalAsset;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.core.ContentAssetRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for writing and reading a {@link ContentSnapshot}.
+ */
+public class ContentSnapshotTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String getResource(String fileName) throws IOException {
+        try (BufferedSource source = Okio.buffer(Okio.source(new File("./src/test/resources/" + fileName)))) {
+            return source.readString(Charset.defaultCharset());
+        }
+    }
+
+    private Asset getAsset(String fileName) throws IOException {
+        return ContentAssetRequest.deserializeContentBaseItem(JsonParser.parseString(getResource(fileName)));
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws Exception {
+        Asset item = getAsset("GetContentItemFieldTypeTests.getContentItem_all.json");
+        Asset digitalAsset = getAsset("DigitalAssetRenditionTests.getDigitalAsset.json");
+
+        File file = folder.newFile("channel.snapshot");
+        ContentSnapshot.write(Arrays.asList(item, digitalAsset), "2022-07-06T03:01:17.866Z", file);
+
+        ContentSnapshot snapshot = ContentSnapshot.open(file);
+        assertEquals(2, snapshot.size());
+        assertEquals("2022-07-06T03:01:17.866Z", snapshot.getWatermark());
+        assertTrue(snapshot.getIds().containsAll(Arrays.asList(item.getId(), digitalAsset.getId())));
+
+        // decoded assets have the same type and serialize to the same json
+        Asset readItem = snapshot.get(item.getId());
+        assertTrue(readItem instanceof ContentItem);
+        assertEquals(ContentClient.gson().toJson(item), ContentClient.gson().toJson(readItem));
+
+        Asset readDigitalAsset = snapshot.getBySlug(digitalAsset.getSlug());
+        assertTrue(readDigitalAsset instanceof DigitalAsset);
+        assertEquals(ContentClient.gson().toJson(digitalAsset), ContentClient.gson().toJson(readDigitalAsset));
+        assertEquals(((DigitalAsset) digitalAsset).getSize(), ((DigitalAsset) readDigitalAsset).getSize());
+
+        assertNull(snapshot.get("missing"));
+        assertNull(snapshot.getBySlug("missing"));
+        assertFalse(snapshot.contains("missing"));
+    }
+
+    @Test
+    public void snapshotSharesStrings() throws Exception {
+        String json = getResource("GetContentItemFieldTypeTests.getContentItem_all.json");
+        Asset template = getAsset("GetContentItemFieldTypeTests.getContentItem_all.json");
+
+        // many copies of the same item, only the id and slug differ
+        List<Asset> assets = new ArrayList<>();
+        int jsonSize = 0;
+        for (int i = 0; i < 100; i++) {
+            String copy = json.replace(template.getId(), "ID" + i).replace(template.getSlug(), "slug-" + i);
+            jsonSize += copy.length();
+            assets.add(ContentAssetRequest.deserializeContentBaseItem(JsonParser.parseString(copy)));
+        }
+
+        File file = folder.newFile("copies.snapshot");
+        ContentSnapshot.write(assets, null, file);
+        assertTrue("snapshot size " + file.length() + " json size " + jsonSize, file.length() < jsonSize / 4);
+
+        ContentSnapshot snapshot = ContentSnapshot.open(file);
+        assertNull(snapshot.getWatermark());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("ID" + i, snapshot.getBySlug("slug-" + i).getId());
+            assertEquals("slug-" + i, snapshot.get("ID" + i).getSlug());
+        }
+    }
+
+    @Test
+    public void snapshotStoreSize() throws Exception {
+        String json = getResource("GetContentItemFieldTypeTests.getContentItem_all.json");
+        Asset item = getAsset("GetContentItemFieldTypeTests.getContentItem_all.json");
+        Asset digitalAsset = getAsset("DigitalAssetRenditionTests.getDigitalAsset.json");
+        Asset newItem = ContentAssetRequest.deserializeContentBaseItem(
+                JsonParser.parseString(json.replace(item.getId(), "NEW")));
+
+        File file = folder.newFile("store.snapshot");
+        ContentSnapshot.write(Arrays.asList(item, digitalAsset), null, file);
+        SnapshotContentMirrorStore store = new SnapshotContentMirrorStore(ContentSnapshot.open(file));
+        assertEquals(2, store.size());
+
+        // new asset, then replaced and removed snapshot assets, each counted once
+        store.put(newItem);
+        assertEquals(3, store.size());
+        store.put(item);
+        store.put(item);
+        assertEquals(3, store.size());
+        store.remove(digitalAsset.getId());
+        store.remove(digitalAsset.getId());
+        assertEquals(2, store.size());
+        store.remove("NEW");
+        store.remove("missing");
+        assertEquals(1, store.size());
+        assertEquals(store.getIds().size(), store.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void notASnapshot() throws Exception {
+        File file = folder.newFile("bad.snapshot");
+        ContentSnapshot.open(file);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ConcurrencyLimitPolicy;
+import com.oracle.content.sdk.ContentMetrics;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.HedgingPolicy;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for hedging slow requests with a {@link HedgingPolicy}.
+ */
+public class HedgingTests extends MockServerTest {
+
+    // the first request to the server is slow
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        respondWith(request -> requests.getAndIncrement() == 0 ? delayedItem(3000) : new MockResponse().setBody(ITEM));
+    }
+
+    private ContentDeliveryClient createClient(HedgingPolicy policy) {
+        return createClient(new ContentSettings().setHedgingPolicy(policy));
+    }
+
+    @Test
+    public void slowRequestHedged() {
+        ContentDeliveryClient client = createClient(new HedgingPolicy()
+                .setInitialDelay(100, TimeUnit.MILLISECONDS)
+                .setBudget(1));
+
+        long start = System.currentTimeMillis();
+        assertEquals("A1", fetch(client).getResult().getId());
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue("took " + elapsed + "ms", elapsed < 2000);
+        assertEquals(2, requests.get());
+        assertEquals("[hedge content/published/api/v1.1/items/{ID} true]", metrics.events.toString());
+
+        // the channel token is added once per attempt
+        assertEquals(1, countChannelTokens(1));
+    }
+
+    @Test
+    public void hedgingLimitedByBudget() {
+        ContentDeliveryClient client = createClient(new HedgingPolicy()
+                .setInitialDelay(100, TimeUnit.MILLISECONDS)
+                .setBudget(0));
+
+        long start = System.currentTimeMillis();
+        assertEquals("A1", fetch(client).getResult().getId());
+        assertTrue(System.currentTimeMillis() - start >= 3000);
+        assertEquals(1, requests.get());
+        assertTrue(metrics.events.isEmpty());
+    }
+
+    @Test
+    public void fastRequestNotHedged() {
+        requests.set(1);
+        ContentDeliveryClient client = createClient(new HedgingPolicy()
+                .setInitialDelay(1, TimeUnit.SECONDS)
+                .setBudget(1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("A1", fetch(client).getResult().getId());
+        }
+        assertEquals(6, requests.get());
+        assertTrue(metrics.events.isEmpty());
+    }
+
+    @Test(timeout = 10000)
+    public void attemptErrorEndsRace() {
+        requests.set(1);
+        ContentSettings settings = new ContentSettings()
+                .setHedgingPolicy(new HedgingPolicy().setInitialDelay(100, TimeUnit.MILLISECONDS))
+                .setConcurrencyLimitPolicy(new ConcurrencyLimitPolicy())
+                .setMetrics(new ContentMetrics() {
+                    @Override
+                    public void recordConcurrencyLimit(String endpoint, int limit) {
+                        throw new IllegalStateException("broken metrics");
+                    }
+                });
+        ContentDeliveryClient client = createClient(settings);
+
+        // an interceptor of the attempt throws, the caller gets the error instead of waiting
+        assertFalse(fetch(client).isSuccess());
+    }
+
+    // number of channelToken parameters on the given request to the server
+    private int countChannelTokens(int index) {
+        try {
+            RecordedRequest request = null;
+            for (int i = 0; i <= index; i++) {
+                request = server.takeRequest(5, TimeUnit.SECONDS);
+            }
+            return request.getRequestUrl().queryParameterValues("channelToken").size();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
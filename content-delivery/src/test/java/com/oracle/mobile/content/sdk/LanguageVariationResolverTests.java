@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.language.LanguageVariationResolver;
+import com.oracle.content.sdk.model.Asset;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+/**
+ * Tests for resolving items to language variations with {@link LanguageVariationResolver}.
+ */
+public class LanguageVariationResolverTests extends MockServerTest {
+
+    private static final String ITEMS = "/content/published/api/v1.1/items/";
+    private static final String VARIATIONS = "/variations/language";
+    private static final Pattern ID = Pattern.compile("id eq \"([^\"]+)\"");
+
+    // variation sets on the "server": set id -> language -> item id
+    private final Map<String, Map<String, String>> serverSets = new TreeMap<>();
+
+    // requests received, variations by item id or the ids searched for
+    private final List<String> requests = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        respondWith(request -> respond(request.getRequestUrl()));
+
+        serverSets.put("S1", languages("en", "A-en", "fr", "A-fr", "fr-CA", "A-fr-CA"));
+        serverSets.put("S2", languages("en", "B-en", "fr", "B-fr"));
+        serverSets.put("S3", languages("en", "C-en", "de", "C-de"));
+    }
+
+    private static Map<String, String> languages(String... pairs) {
+        Map<String, String> map = new TreeMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(pairs[i], pairs[i + 1]);
+        }
+        return map;
+    }
+
+    private synchronized MockResponse respond(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.endsWith(VARIATIONS)) {
+            String id = path.substring(ITEMS.length(), path.length() - VARIATIONS.length());
+            requests.add("variations " + id);
+            for (Map.Entry<String, Map<String, String>> set : serverSets.entrySet()) {
+                if (set.getValue().containsValue(id)) {
+                    JsonArray items = new JsonArray();
+                    for (Map.Entry<String, String> entry : set.getValue().entrySet()) {
+                        JsonObject item = new JsonObject();
+                        item.addProperty("id", entry.getValue());
+                        item.addProperty("value", entry.getKey());
+                        items.add(item);
+                    }
+                    JsonObject result = new JsonObject();
+                    result.addProperty("setId", set.getKey());
+                    result.addProperty("varType", "language");
+                    result.add("items", items);
+                    return new MockResponse().setBody(result.toString());
+                }
+            }
+            return new MockResponse().setResponseCode(404).setBody("{\"status\":404,\"title\":\"Item Not Found\"}");
+        }
+
+        // search by id list
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(url.queryParameter("q"));
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        requests.add("search " + ids);
+        JsonArray items = new JsonArray();
+        for (String id : ids) {
+            JsonObject item = new JsonObject();
+            item.addProperty("id", id);
+            item.addProperty("type", "Page");
+            item.addProperty("name", "name " + id);
+            item.add("fields", new JsonObject());
+            items.add(item);
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("hasMore", false);
+        result.add("items", items);
+        return new MockResponse().setBody(result.toString());
+    }
+
+    private LanguageVariationResolver createResolver() {
+        return createClient().createLanguageVariationResolver().batchSize(2);
+    }
+
+    @Test
+    public void resolveWithFallback() {
+        LanguageVariationResolver resolver = createResolver();
+        Map<String, Asset> result = resolver.resolve(
+                Arrays.asList("A-en", "B-en", "C-de", "X"), Arrays.asList("fr-CA", "fr"));
+
+        // C has no French so stays as requested, X has no variations
+        StringBuilder chosen = new StringBuilder();
+        for (Map.Entry<String, Asset> entry : result.entrySet()) {
+            chosen.append(entry.getKey()).append('=').append(entry.getValue().getId()).append(' ');
+        }
+        assertEquals("A-en=A-fr-CA B-en=B-fr C-de=C-de X=X ", chosen.toString());
+
+        // one round of variation requests, then the 4 chosen items in batches of 2
+        assertEquals(4, count("variations"));
+        assertEquals(2, count("search"));
+        assertEquals("{de=C-de, en=C-en}", new TreeMap<>(resolver.getVariations("C-en")).toString());
+        assertNull(resolver.getVariations("X"));
+    }
+
+    @Test
+    public void variationSetsCached() {
+        LanguageVariationResolver resolver = createResolver();
+        resolver.resolveIds(Arrays.asList("A-en", "B-en"), Arrays.asList("fr"));
+        requests.clear();
+
+        // any item of a cached set, in any language, needs no variations request
+        assertEquals("{A-fr=A-en, B-fr=B-en, A-fr-CA=A-en}",
+                resolver.resolveIds(Arrays.asList("A-fr", "B-fr", "A-fr-CA"), Arrays.asList("en")).toString());
+        assertEquals(0, requests.size());
+
+        resolver.clear();
+        resolver.resolveIds(Arrays.asList("A-fr"), Arrays.asList("en"));
+        assertEquals(1, count("variations"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchSizeMustBePositive() {
+        createResolver().batchSize(0);
+    }
+
+    private int count(String prefix) {
+        int count = 0;
+        for (String request : requests) {
+            if (request.startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
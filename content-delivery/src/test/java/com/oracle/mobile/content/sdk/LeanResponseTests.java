@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for dropping the response json with {@link ContentSettings#setLeanResponses(boolean)}.
+ */
+public class LeanResponseTests extends MockServerTest {
+
+    private String searchJson;
+
+    @Before
+    public void setUp() throws Exception {
+        searchJson = getResource("SearchContentItemsMenuTests.testFieldsAll.json");
+    }
+
+    private ContentDeliveryClient createClient(boolean lean) {
+        return createClient(new ContentSettings().setLeanResponses(lean));
+    }
+
+    private ContentResponse<AssetSearchResult> search(SearchAssetsRequest request) {
+        server.enqueue(new MockResponse().setBody(searchJson));
+        ContentResponse<AssetSearchResult> response = request.fetch();
+        assertTrue(response.isSuccess());
+        return response;
+    }
+
+    @Test
+    public void leanResponseDropsJson() {
+        ContentResponse<AssetSearchResult> response = search(new SearchAssetsRequest(createClient(false)));
+        ContentResponse<AssetSearchResult> leanResponse = search(new SearchAssetsRequest(createClient(true)));
+
+        assertNotNull(response.getAsJson());
+        assertNull(leanResponse.getAsJson());
+
+        // same items, without the json of the response or of each item
+        int count = response.getResult().getItems().size();
+        assertTrue(count > 0);
+        long size = GraphLayout.parseInstance(response).totalSize();
+        long leanSize = GraphLayout.parseInstance(leanResponse).totalSize();
+        assertEquals(count, leanResponse.getResult().getItems().size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(response.getResult().getItems().get(i).getId(),
+                    leanResponse.getResult().getItems().get(i).getId());
+        }
+        assertTrue(leanSize < size / 2);
+    }
+
+    @Test
+    public void keepJsonOptIn() {
+        ContentResponse<AssetSearchResult> response =
+                search(new SearchAssetsRequest(createClient(true)).keepJson());
+        assertNotNull(response.getAsJson());
+        assertTrue(response.getResult().getItems().size() > 0);
+    }
+
+    @Test
+    public void leanSingleItem() {
+        server.enqueue(new MockResponse().setBody(ITEM.replace("{}", "{\"title\":\"Home\"}")));
+        ContentResponse<ContentItem> response = fetch(createClient(true));
+        assertNull(response.getAsJson());
+        assertEquals("Home", response.getResult().getTextField("title"));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.content.sdk.mirror.LocalSearchIndex;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.request.core.ContentAssetRequest;
+import com.oracle.content.sdk.request.core.SearchQueryBuilder;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for evaluating search filters with a {@link LocalSearchIndex}.
+ */
+public class LocalSearchIndexTests {
+
+    private LocalSearchIndex index;
+
+    private static Asset item(String id, String type, String name, String language,
+                              String color, int price, String[] tags, String categoryNode) {
+        JsonObject fields = new JsonObject();
+        fields.addProperty("color", color);
+        fields.addProperty("price", price);
+        JsonArray tagList = new JsonArray();
+        for (String tag : tags) {
+            tagList.add(tag);
+        }
+        fields.add("tags", tagList);
+
+        JsonObject item = new JsonObject();
+        item.addProperty("id", id);
+        item.addProperty("type", type);
+        item.addProperty("typeCategory", "ContentType");
+        item.addProperty("name", name);
+        item.addProperty("slug", name.toLowerCase().replace(' ', '-'));
+        item.addProperty("language", language);
+        item.add("fields", fields);
+
+        if (categoryNode != null) {
+            JsonObject node = new JsonObject();
+            node.addProperty("id", categoryNode);
+            JsonArray nodes = new JsonArray();
+            nodes.add(node);
+            JsonObject category = new JsonObject();
+            category.addProperty("id", "C-" + categoryNode);
+            category.add("nodes", nodes);
+            JsonObject categories = new JsonObject();
+            categories.add("items", new JsonArray());
+            categories.getAsJsonArray("items").add(category);
+            JsonObject taxonomy = new JsonObject();
+            taxonomy.addProperty("id", "T1");
+            taxonomy.add("categories", categories);
+            JsonObject taxonomies = new JsonObject();
+            taxonomies.add("items", new JsonArray());
+            taxonomies.getAsJsonArray("items").add(taxonomy);
+            item.add("taxonomies", taxonomies);
+        }
+        return ContentAssetRequest.deserializeContentBaseItem(item);
+    }
+
+    @Before
+    public void setUp() {
+        List<Asset> assets = new ArrayList<>();
+        assets.add(item("1", "Fruit", "Red Apple", "en-US", "red", 3, new String[]{"sweet", "crisp"}, "N1"));
+        assets.add(item("2", "Fruit", "Banana", "en-US", "yellow", 1, new String[]{"sweet"}, "N2"));
+        assets.add(item("3", "Fruit", "Cherry", "fr-FR", "red", 12, new String[]{"sour"}, "N1"));
+        assets.add(item("4", "Vegetable", "Red Pepper", "en-US", "red", 2, new String[]{}, null));
+        assets.add(item("5", "Vegetable", "Apple Squash", "en-US", "orange", 4, new String[]{"sweet"}, "N2"));
+        index = new LocalSearchIndex(assets);
+    }
+
+    private List<String> ids(String filter, String orderBy) {
+        List<String> ids = new ArrayList<>();
+        for (Asset asset : index.search(filter, orderBy, 0, 100)) {
+            ids.add(asset.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void comparisonOperators() {
+        assertEquals("[1, 2, 3]", ids("type eq \"Fruit\"", null).toString());
+        assertEquals("[1, 2, 3]", ids("type EQ \"fruit\"", null).toString());
+        assertEquals("[1, 4, 5]", ids("name co \"p\"", null).toString());
+        assertEquals("[1, 4]", ids("name sw \"red\"", null).toString());
+        assertEquals("[3]", ids("language eq \"fr-FR\"", null).toString());
+        assertEquals("[1, 3, 4]", ids("fields.color eq \"red\"", null).toString());
+        assertEquals("[1, 2, 5]", ids("fields.tags eq \"sweet\"", null).toString());
+        assertEquals("[1, 3]", ids("taxonomies.categories.nodes.id eq \"N1\"", null).toString());
+
+        // numeric ranges compare as numbers, not strings
+        assertEquals("[3]", ids("fields.price gt \"4\"", null).toString());
+        assertEquals("[3, 5]", ids("fields.price ge \"4\"", null).toString());
+        assertEquals("[2, 4]", ids("fields.price lt 3", null).toString());
+        assertEquals("[2, 4]", ids("fields.price le \"2\"", null).toString());
+        assertEquals("[3]", ids("fields.price eq \"12\"", null).toString());
+    }
+
+    @Test
+    public void groups() {
+        // AND binds tighter than OR
+        assertEquals("[1, 2, 4]",
+                ids("type eq \"Fruit\" AND language eq \"en-US\" OR name eq \"Red Pepper\"", null).toString());
+        assertEquals("[1, 2]",
+                ids("type eq \"Fruit\" AND (language eq \"en-US\" OR name eq \"Red Pepper\")", null).toString());
+
+        String filter = new SearchQueryBuilder("Fruit")
+                .startGroup(SearchQueryBuilder.QueryOperator.AND)
+                .orField("color", SearchQueryBuilder.QueryOperator.EQUALS, "red")
+                .orField("color", SearchQueryBuilder.QueryOperator.EQUALS, "yellow")
+                .endGroup()
+                .andField("price", SearchQueryBuilder.QueryOperator.LESS_THAN, "10")
+                .build();
+        assertEquals("[1, 2]", ids(filter, null).toString());
+        assertEquals(2, index.count(filter));
+    }
+
+    @Test
+    public void orderAndPaging() {
+        assertEquals("[2, 1, 3]", ids("type eq \"Fruit\"", "fields.price").toString());
+        assertEquals("[3, 1, 2]", ids("type eq \"Fruit\"", "fields.price:des").toString());
+        assertEquals("[5, 2, 3, 1, 4]", ids(null, "name:asc").toString());
+
+        List<Asset> page = index.search(null, "name", 2, 2);
+        assertEquals(2, page.size());
+        assertEquals("3", page.get(0).getId());
+        assertEquals("1", page.get(1).getId());
+        assertTrue(index.search(null, "name", 10, 2).isEmpty());
+        assertEquals(5, index.count(null));
+    }
+
+    private static Asset dated(String id, String updatedDate) {
+        JsonObject date = new JsonObject();
+        date.addProperty("value", updatedDate);
+        date.addProperty("timezone", "UTC");
+        JsonObject item = new JsonObject();
+        item.addProperty("id", id);
+        item.addProperty("type", "Page");
+        item.addProperty("name", id);
+        item.add("updatedDate", date);
+        item.add("fields", new JsonObject());
+        return ContentAssetRequest.deserializeContentBaseItem(item);
+    }
+
+    @Test
+    public void datesCompareAsInstants() {
+        LocalSearchIndex dates = new LocalSearchIndex(Arrays.asList(
+                dated("a", "2023-01-01T03:00:00.000Z"),
+                // 05:00 UTC, but earlier as text
+                dated("b", "2023-01-01T00:00:00.000-05:00"),
+                // no milliseconds
+                dated("c", "2023-01-01T04:00:00Z")));
+        List<String> ids = new ArrayList<>();
+        for (Asset asset : dates.search("updatedDate gt \"2023-01-01T04:00:00.000Z\"", null, 0, 10)) {
+            ids.add(asset.getId());
+        }
+        assertEquals("[b]", ids.toString());
+        assertEquals(2, dates.count("updatedDate ge \"2023-01-01T04:00:00Z\""));
+        assertEquals(1, dates.count("updatedDate eq \"2023-01-01T05:00:00.000Z\""));
+        assertEquals(1, dates.count("updatedDate lt \"2023-01-01T05:00:00.000+01:00\""));
+        assertEquals(3, dates.count("updatedDate sw \"2023-01-01\""));
+
+        List<Asset> ordered = dates.search(null, "updatedDate:des", 0, 10);
+        assertEquals("b", ordered.get(0).getId());
+        assertEquals("a", ordered.get(2).getId());
+    }
+
+    @Test
+    public void unsupportedFilters() {
+        assertTrue(LocalSearchIndex.isSupported(null));
+        assertTrue(LocalSearchIndex.isSupported("(type eq \"a\" OR fields.x sw \"b\") AND name co \"c\""));
+        assertFalse(LocalSearchIndex.isSupported("name mt \"apple\""));
+        assertFalse(LocalSearchIndex.isSupported("color eq \"red\""));
+        assertFalse(LocalSearchIndex.isSupported("(type eq \"a\""));
+        assertFalse(LocalSearchIndex.isSupported("type eq \"a"));
+    }
+}
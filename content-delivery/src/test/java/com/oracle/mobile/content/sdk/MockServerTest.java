@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.BufferedSource;
+import okio.Okio;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSDK;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.item.ContentItem;
+import com.oracle.content.sdk.request.GetContentItemRequest;
+
+/**
+ * Base class for tests that run a client against a mock server with responses made up by the
+ * test, rather than the responses captured from a live server used by {@link SDKBaseTest}.
+ * The server is started before each test and shut down after it, and the clients created
+ * with {@link #createClient(ContentSettings)} report to the same {@link RecordingMetrics}.
+ */
+public abstract class MockServerTest {
+
+    // a minimal content item
+    static final String ITEM = "{\"id\":\"A1\",\"type\":\"Page\",\"name\":\"A1\",\"fields\":{}}";
+
+    MockWebServer server;
+
+    // everything reported by the clients of the test
+    final RecordingMetrics metrics = new RecordingMetrics();
+
+    @Before
+    public void startServer() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void shutdownServer() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Answer every request with the given function, instead of the responses enqueued on the server.
+     */
+    void respondWith(Function<RecordedRequest, MockResponse> respond) {
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return respond.apply(request);
+            }
+        });
+    }
+
+    ContentDeliveryClient createClient() {
+        return createClient(new ContentSettings());
+    }
+
+    /**
+     * Create a client for the mock server, reporting to {@link #metrics} unless the settings
+     * have metrics of their own.
+     */
+    ContentDeliveryClient createClient(ContentSettings settings) {
+        if (settings.getMetrics() == null) {
+            settings.setMetrics(metrics);
+        }
+        return ContentSDK.createDeliveryClient(server.url("/").toString(), "token", settings);
+    }
+
+    ContentResponse<ContentItem> fetch(ContentDeliveryClient client) {
+        return fetch(client, "A1");
+    }
+
+    ContentResponse<ContentItem> fetch(ContentDeliveryClient client, String id) {
+        return new GetContentItemRequest(client, id).fetch();
+    }
+
+    // the item, with the response headers delayed
+    static MockResponse delayedItem(long millis) {
+        return new MockResponse().setBody(ITEM).setHeadersDelay(millis, TimeUnit.MILLISECONDS);
+    }
+
+    // a response captured in the test resources
+    static String getResource(String fileName) throws IOException {
+        try (BufferedSource source = Okio.buffer(Okio.source(new File("./src/test/resources/" + fileName)))) {
+            return source.readString(Charset.defaultCharset());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.request.SearchAssetsRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for deserializing large pages in parallel with
+ * {@link ContentSettings#setParallelDeserialization(int, Executor)}.
+ */
+public class ParallelDeserializationTests extends MockServerTest {
+
+    private ExecutorService executorService;
+
+    // tasks run on the executor
+    private final AtomicInteger tasks = new AtomicInteger();
+
+    private JsonObject item;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newFixedThreadPool(4);
+        item = JsonParser.parseString(getResource("GetContentItemFieldTypeTests.getContentItem_all.json"))
+                .getAsJsonObject();
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    private String getSearchResult(int count) {
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject copy = item.deepCopy();
+            copy.addProperty("id", "ID" + i);
+            items.add(copy);
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("count", count);
+        result.add("items", items);
+        return result.toString();
+    }
+
+    private List<Asset> search(int count, Executor executor) {
+        server.enqueue(new MockResponse().setBody(getSearchResult(count)));
+        ContentSettings settings = new ContentSettings().setParallelDeserialization(100, executor);
+        ContentResponse<AssetSearchResult> response = new SearchAssetsRequest(
+                createClient(settings)).fetch();
+        assertTrue(response.isSuccess());
+        return response.getResult().getItems();
+    }
+
+    private Executor countingExecutor() {
+        return command -> {
+            tasks.incrementAndGet();
+            executorService.execute(command);
+        };
+    }
+
+    private static void assertInOrder(List<Asset> assets, int count) {
+        assertEquals(count, assets.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("ID" + i, assets.get(i).getId());
+        }
+    }
+
+    @Test
+    public void largePageInParallel() {
+        List<Asset> assets = search(300, countingExecutor());
+        assertInOrder(assets, 300);
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertTrue(tasks.get() > 0);
+        }
+    }
+
+    @Test
+    public void smallPageOnCallingThread() {
+        List<Asset> assets = search(50, countingExecutor());
+        assertInOrder(assets, 50);
+        assertEquals(0, tasks.get());
+    }
+
+    @Test
+    public void commonPoolByDefault() {
+        assertInOrder(search(300, null), 300);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.content.sdk.ContentMetrics;
+
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * {@link ContentMetrics} that records everything reported.  The endpoints of timings and calls
+ * are kept by type, and the other events are kept in {@link #events} in the order they were
+ * reported, for example "retry 503", "limit 20", "shed" or "OPEN".
+ */
+class RecordingMetrics implements ContentMetrics {
+
+    final Map<Timing, List<String>> timings = Collections.synchronizedMap(new EnumMap<>(Timing.class));
+    final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    final AtomicLong bytesReceived = new AtomicLong();
+
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void recordTiming(String endpoint, Timing timing, long durationNanos) {
+        assertTrue(durationNanos >= 0);
+        timings.computeIfAbsent(timing, t -> Collections.synchronizedList(new ArrayList<>())).add(endpoint);
+    }
+
+    @Override
+    public void recordCall(String endpoint, int httpCode, CacheResult cacheResult, long bytesReceived) {
+        calls.add(endpoint + "|" + httpCode + "|" + cacheResult);
+        this.bytesReceived.addAndGet(bytesReceived);
+    }
+
+    @Override
+    public void recordHedge(String endpoint, boolean hedgeWon) {
+        events.add("hedge " + endpoint + " " + hedgeWon);
+    }
+
+    @Override
+    public void recordRetry(String endpoint, int httpCode) {
+        events.add("retry " + httpCode);
+    }
+
+    @Override
+    public void recordRetryExhausted(String endpoint, int httpCode, boolean budgetExhausted) {
+        events.add((budgetExhausted ? "budget " : "exhausted ") + httpCode);
+    }
+
+    @Override
+    public void recordConcurrencyLimit(String endpoint, int limit) {
+        events.add("limit " + limit);
+    }
+
+    @Override
+    public void recordShed(String endpoint) {
+        events.add("shed");
+    }
+
+    @Override
+    public void recordCircuitState(CircuitState state) {
+        events.add(state.toString());
+    }
+
+    @Override
+    public void recordShortCircuit(String endpoint, boolean servedFromCache) {
+        events.add(servedFromCache ? "cache" : "fail");
+    }
+}
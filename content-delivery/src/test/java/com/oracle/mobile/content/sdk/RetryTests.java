@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import com.oracle.content.sdk.ContentDeliveryClient;
+import com.oracle.content.sdk.ContentResponse;
+import com.oracle.content.sdk.ContentSettings;
+import com.oracle.content.sdk.RetryPolicy;
+import com.oracle.content.sdk.model.item.ContentItem;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for retrying transient errors with a {@link RetryPolicy}.
+ */
+public class RetryTests extends MockServerTest {
+
+    private ContentDeliveryClient createClient(RetryPolicy policy) {
+        return createClient(new ContentSettings()
+                .setRetryPolicy(policy.setBackoff(10, 50, TimeUnit.MILLISECONDS)));
+    }
+
+    @Test
+    public void transientErrorsRetried() {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody(ITEM));
+
+        ContentResponse<ContentItem> response = fetch(createClient(new RetryPolicy()));
+        assertTrue(response.isSuccess());
+        assertEquals(3, server.getRequestCount());
+        assertEquals("[retry 503, retry 502]", metrics.events.toString());
+    }
+
+    @Test
+    public void tooManyRequestsWaitsForRetryAfter() {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody(ITEM));
+
+        long start = System.currentTimeMillis();
+        assertTrue(fetch(createClient(new RetryPolicy())).isSuccess());
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+        assertEquals(2, server.getRequestCount());
+
+        // no Retry-After, not retried
+        server.enqueue(new MockResponse().setResponseCode(429));
+        assertEquals(429, fetch(createClient(new RetryPolicy())).getHttpCode());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void otherErrorsNotRetried() {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"status\":404}"));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        ContentDeliveryClient client = createClient(new RetryPolicy());
+        assertFalse(fetch(client).isSuccess());
+        assertFalse(fetch(client).isSuccess());
+        assertEquals(2, server.getRequestCount());
+        assertTrue(metrics.events.isEmpty());
+    }
+
+    @Test
+    public void retriesExhausted() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(504));
+        }
+        ContentResponse<ContentItem> response = fetch(createClient(new RetryPolicy().setMaxRetries(2)));
+        assertEquals(504, response.getHttpCode());
+        assertEquals(3, server.getRequestCount());
+        assertEquals("[retry 504, retry 504, exhausted 504]", metrics.events.toString());
+    }
+
+    @Test
+    public void retriesLimitedByBudget() {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        // one retry in the bucket and no more earned
+        ContentDeliveryClient client = createClient(new RetryPolicy().setBudget(0, 1));
+        assertEquals(503, fetch(client).getHttpCode());
+        assertEquals(503, fetch(client).getHttpCode());
+        assertEquals(3, server.getRequestCount());
+        assertEquals("[retry 503, budget 503, budget 503]", metrics.events.toString());
+    }
+
+    @Test
+    public void connectFailureRetried() throws IOException {
+        ContentDeliveryClient client = createClient(new RetryPolicy().setMaxRetries(2));
+        // nothing listening on the port any more
+        server.shutdown();
+        ContentResponse<ContentItem> response = fetch(client);
+        assertFalse(response.isSuccess());
+        assertEquals("[retry 0, retry 0, exhausted 0]", metrics.events.toString());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.content.sdk.request.core.SearchQueryBuilder;
+import com.oracle.content.sdk.request.core.SearchQueryTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link SearchQueryTemplate}, which like {@link SearchQueryBuilder} is just
+ * string manipulation and does not need a server.
+ */
+public class SearchQueryTemplateTests {
+
+    private static final SearchQueryTemplate MENU_ITEMS = SearchQueryTemplate.compile(
+            "type eq \"menu_type\" AND (fields.item_type eq {itemType} OR fields.item_type eq {other})");
+
+    private static void assertInvalid(String template) {
+        try {
+            SearchQueryTemplate.compile(template);
+            fail("Expected invalid template: " + template);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    @Test
+    public void sameAsBuilder() {
+        String expected = new SearchQueryBuilder("menu_type")
+                .startGroup(SearchQueryBuilder.QueryOperator.AND)
+                .orField("item_type", SearchQueryBuilder.QueryOperator.EQUALS, "breakfast")
+                .orField("item_type", SearchQueryBuilder.QueryOperator.EQUALS, "lunch")
+                .endGroup()
+                .build();
+
+        assertEquals(expected, MENU_ITEMS.build("breakfast", "lunch"));
+        assertEquals(Arrays.asList("itemType", "other"), MENU_ITEMS.getParameterNames());
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("itemType", "breakfast");
+        values.put("other", "lunch");
+        assertEquals(expected, MENU_ITEMS.build(values));
+    }
+
+    @Test
+    public void reusedParameter() {
+        SearchQueryTemplate template = SearchQueryTemplate.compile("name co {text} OR description co {text}");
+        assertEquals("name co \"sorbet\" OR description co \"sorbet\"", template.build("sorbet"));
+    }
+
+    @Test
+    public void valuesEscaped() {
+        SearchQueryTemplate template = SearchQueryTemplate.compile("name eq {name}");
+        assertEquals("name eq \"say \\\"hi\\\" \\\\o/\"", template.build("say \"hi\" \\o/"));
+        assertEquals("name eq \"42\"", template.build(42));
+    }
+
+    @Test
+    public void listParameter() {
+        SearchQueryTemplate template = SearchQueryTemplate.compile("type eq {type} AND id eq {ids...}");
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add("ID" + i);
+        }
+        String expected = "type eq \"Page\" AND " + SearchQueryBuilder.matchIdList("id", ids, true);
+        assertEquals(expected, template.build("Page", ids));
+        assertEquals(expected, template.build("Page", ids.toArray()));
+
+        // a single value doesn't need a group
+        assertEquals("type eq \"Page\" AND id eq \"ID0\"", template.build("Page", Collections.singletonList("ID0")));
+        assertEquals("type eq \"Page\" AND id eq \"ID0\"", template.build("Page", "ID0"));
+    }
+
+    @Test
+    public void invalidTemplates() {
+        assertInvalid("type eq \"Page");
+        assertInvalid("(type eq {type}");
+        assertInvalid("type eq {type})");
+        assertInvalid("type eq {type");
+        assertInvalid("type eq {}");
+        assertInvalid("type eq {a b}");
+        assertInvalid("{ids...}");
+    }
+
+    @Test
+    public void invalidValues() {
+        SearchQueryTemplate template = SearchQueryTemplate.compile("type eq {type} AND id eq {ids...}");
+        for (Object[] values : Arrays.asList(
+                new Object[] {"Page"},
+                new Object[] {"Page", null},
+                new Object[] {"Page", Collections.emptyList()},
+                new Object[] {Arrays.asList("Page", "File"), "ID0"})) {
+            try {
+                template.build(values);
+                fail("Expected invalid values: " + Arrays.toString(values));
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void bracesInQuotedText() {
+        SearchQueryTemplate template = SearchQueryTemplate.compile("name eq \"{not a parameter}\" AND type eq {type}");
+        assertEquals(Collections.singletonList("type"), template.getParameterNames());
+        assertEquals("name eq \"{not a parameter}\" AND type eq \"Page\"", template.build("Page"));
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+import com.google.gson.JsonElement;
+
+import com.oracle.content.sdk.ContentClient;
+import com.oracle.content.sdk.model.Asset;
+import com.oracle.content.sdk.model.AssetSearchResult;
+import com.oracle.content.sdk.model.digital.DigitalAsset;
+import com.oracle.content.sdk.model.digital.DigitalAssetFields;
+import com.oracle.content.sdk.model.digital.DigitalAssetRendition;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for model objects shared by many threads, such as cached results.
+ */
+public class SharedModelTests {
+
+    private static final int THREADS = 8;
+
+    // search result that counts and slows down each item it deserializes
+    public static class CountingSearchResult extends AssetSearchResult {
+        final transient AtomicInteger deserialized = new AtomicInteger();
+
+        @Override
+        protected Asset deserializeObject(JsonElement jsonElement) {
+            deserialized.incrementAndGet();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.deserializeObject(jsonElement);
+        }
+    }
+
+    // search result that fails to deserialize, once released, until told to succeed
+    public static class FailingSearchResult extends AssetSearchResult {
+        final transient CountDownLatch release = new CountDownLatch(1);
+        transient volatile boolean failing = true;
+
+        @Override
+        protected Asset deserializeObject(JsonElement jsonElement) {
+            if (failing) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new AssertionError("deserialize failed");
+            }
+            return super.deserializeObject(jsonElement);
+        }
+    }
+
+    private AssetSearchResult getSearchResult() throws IOException {
+        return getSearchResult(AssetSearchResult.class);
+    }
+
+    private <T extends AssetSearchResult> T getSearchResult(Class<T> resultClass) throws IOException {
+        try (BufferedSource source = Okio.buffer(Okio.source(new File(
+                "./src/test/resources/SearchContentItemsMenuTests.testSearchByTypeDigitalAssets.json")))) {
+            return ContentClient.gson().fromJson(source.readString(Charset.defaultCharset()), resultClass);
+        }
+    }
+
+    // call from all threads at once, returning each thread's result
+    private static <T> List<T> callConcurrently(Supplier<T> supplier) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return supplier.get();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void itemsPublishedOnce() throws Exception {
+        AssetSearchResult result = getSearchResult();
+        List<List<Asset>> lists = callConcurrently(result::getItems);
+        for (List<Asset> items : lists) {
+            assertSame(lists.get(0), items);
+        }
+        assertEquals(22, lists.get(0).size());
+        assertSame(lists.get(0), result.getItems());
+    }
+
+    @Test
+    public void itemsDeserializedOnce() throws Exception {
+        CountingSearchResult result = getSearchResult(CountingSearchResult.class);
+        List<List<Asset>> lists = callConcurrently(result::getItems);
+        for (List<Asset> items : lists) {
+            assertSame(lists.get(0), items);
+        }
+        // threads that raced the first one waited for its items rather than deserializing their own
+        assertEquals(22, result.deserialized.get());
+    }
+
+    @Test
+    public void failedDeserializationRetried() throws Exception {
+        FailingSearchResult result = getSearchResult(FailingSearchResult.class);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // the second thread waits for the first, which fails
+            Future<List<Asset>> first = executor.submit(result::getItems);
+            Thread.sleep(100);
+            Future<List<Asset>> second = executor.submit(result::getItems);
+            Thread.sleep(100);
+            result.release.countDown();
+            for (Future<List<Asset>> future : Arrays.asList(first, second)) {
+                try {
+                    future.get();
+                    fail("Expected deserialization to fail");
+                } catch (ExecutionException e) {
+                    // the error itself, not wrapped in a CompletionException
+                    assertEquals(AssertionError.class, e.getCause().getClass());
+                    assertEquals("deserialize failed", e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // a later call tries again
+        result.failing = false;
+        assertEquals(22, result.getItems().size());
+    }
+
+    @Test
+    public void assetFieldsPublishedOnce() throws Exception {
+        DigitalAsset asset = (DigitalAsset) getSearchResult().first();
+        List<Object> fields = callConcurrently(asset::getAssetFields);
+        for (Object assetFields : fields) {
+            assertSame(fields.get(0), assetFields);
+        }
+        assertSame(fields.get(0), asset.getAssetFields());
+    }
+
+    @Test
+    public void formatsNamedBeforeShared() throws Exception {
+        DigitalAsset asset = (DigitalAsset) getSearchResult().first();
+        List<DigitalAssetRendition> renditions = asset.getAssetFields().getRenditions();
+        assertTrue(renditions.size() > 0);
+
+        // formats know their rendition without looking them up first
+        for (DigitalAssetRendition rendition : renditions) {
+            for (DigitalAssetRendition.RenditionFormat format : rendition.getFormats()) {
+                assertEquals(rendition.getName(), format.getRenditionName());
+            }
+        }
+
+        DigitalAssetRendition rendition = renditions.get(0);
+        List<DigitalAssetRendition.RenditionFormat> formats =
+                callConcurrently(() -> rendition.getBestMatchingFormat("webp"));
+        for (DigitalAssetRendition.RenditionFormat format : formats) {
+            assertNotNull(format);
+            assertSame(formats.get(0), format);
+            assertEquals(rendition.getName(), format.getRenditionName());
+        }
+    }
+
+    @Test
+    public void assetFieldsBoundFromTree() throws Exception {
+        // formats are named when bound, compare everything else
+        Gson gson = new GsonBuilder().addSerializationExclusionStrategy(new ExclusionStrategy() {
+            @Override
+            public boolean shouldSkipField(FieldAttributes field) {
+                return field.getName().equals("renditionName");
+            }
+
+            @Override
+            public boolean shouldSkipClass(Class<?> clazz) {
+                return false;
+            }
+        }).create();
+        for (Asset asset : getSearchResult().getItems()) {
+            DigitalAsset digitalAsset = (DigitalAsset) asset;
+            // same fields as binding the json of the raw fields
+            DigitalAssetFields expected = ContentClient.gson().fromJson(
+                    ContentClient.gson().toJson(digitalAsset.getRawFields()), DigitalAssetFields.class);
+            assertEquals(gson.toJson(expected), gson.toJson(digitalAsset.getAssetFields()));
+        }
+    }
+}
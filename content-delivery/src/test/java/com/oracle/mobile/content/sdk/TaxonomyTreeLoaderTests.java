@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.mobile.content.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import com.oracle.content.sdk.ContentException;
+import com.oracle.content.sdk.taxonomy.TaxonomyTree;
+import com.oracle.content.sdk.taxonomy.TaxonomyTreeCategory;
+import com.oracle.content.sdk.taxonomy.TaxonomyTreeLoader;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Tests for loading taxonomies into a {@link TaxonomyTree}.
+ */
+public class TaxonomyTreeLoaderTests extends MockServerTest {
+
+    private static final String TAXONOMIES = "/content/published/api/v1.1/taxonomies";
+
+    // taxonomy id -> categories as {id, parentId}
+    private final Map<String, List<String[]>> serverTaxonomies = new LinkedHashMap<>();
+
+    // request paths and offsets
+    private final List<String> requests = new ArrayList<>();
+
+    private volatile boolean failing = false;
+
+    @Before
+    public void setUp() {
+        respondWith(this::respond);
+    }
+
+    private synchronized MockResponse respond(RecordedRequest request) {
+        String path = request.getRequestUrl().encodedPath();
+        int offset = Integer.parseInt(valueOr(request.getRequestUrl().queryParameter("offset"), "0"));
+        int limit = Integer.parseInt(valueOr(request.getRequestUrl().queryParameter("limit"), "100"));
+        boolean total = "true".equals(request.getRequestUrl().queryParameter("totalResults"));
+        requests.add(path + "@" + offset);
+        if (failing) {
+            return new MockResponse().setResponseCode(503).setBody("{\"status\":503}");
+        }
+
+        JsonArray all = new JsonArray();
+        if (path.equals(TAXONOMIES)) {
+            for (String id : serverTaxonomies.keySet()) {
+                JsonObject taxonomy = new JsonObject();
+                taxonomy.addProperty("id", id);
+                taxonomy.addProperty("name", "Taxonomy " + id);
+                all.add(taxonomy);
+            }
+        } else {
+            String id = path.substring(TAXONOMIES.length() + 1, path.lastIndexOf("/categories"));
+            for (String[] entry : serverTaxonomies.get(id)) {
+                JsonObject category = new JsonObject();
+                category.addProperty("id", entry[0]);
+                category.addProperty("name", "Category " + entry[0]);
+                category.addProperty("apiName", entry[0].toLowerCase());
+                if (entry[1] != null) {
+                    category.addProperty("parentId", entry[1]);
+                }
+                all.add(category);
+            }
+        }
+
+        JsonArray items = new JsonArray();
+        for (int i = offset; i < Math.min(all.size(), offset + limit); i++) {
+            items.add(all.get(i));
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("hasMore", offset + items.size() < all.size());
+        result.addProperty("offset", offset);
+        result.addProperty("count", items.size());
+        result.addProperty("limit", limit);
+        if (total) {
+            result.addProperty("totalResults", all.size());
+        }
+        result.add("items", items);
+        return new MockResponse().setBody(result.toString());
+    }
+
+    private static String valueOr(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private TaxonomyTreeLoader createLoader() {
+        return createClient().createTaxonomyTreeLoader().pageSize(2);
+    }
+
+    private void addCategories() {
+        List<String[]> products = new ArrayList<>();
+        products.add(new String[]{"P", null});
+        products.add(new String[]{"P1", "P"});
+        products.add(new String[]{"P2", "P"});
+        products.add(new String[]{"P21", "P2"});
+        products.add(new String[]{"P211", "P21"});
+        serverTaxonomies.put("T1", products);
+        List<String[]> regions = new ArrayList<>();
+        regions.add(new String[]{"EU", null});
+        regions.add(new String[]{"US", null});
+        serverTaxonomies.put("T2", regions);
+        serverTaxonomies.put("T3", new ArrayList<>());
+    }
+
+    @Test
+    public void loadTree() {
+        addCategories();
+        TaxonomyTree tree = createLoader().getTree();
+
+        assertEquals(3, tree.getTaxonomies().size());
+        assertEquals(7, tree.size());
+        assertEquals("[P]", idsOf(tree.getRoots("T1")));
+        assertEquals("[EU, US]", idsOf(tree.getRoots("T2")));
+        assertTrue(tree.getRoots("T3").isEmpty());
+
+        TaxonomyTreeCategory leaf = tree.getCategory("P211");
+        assertEquals("p211", leaf.getApiName());
+        assertEquals("T1", leaf.getTaxonomy().getId());
+        assertEquals(3, leaf.getDepth());
+        assertEquals("[P, P2, P21, P211]", idsOf(tree.getPath("P211")));
+        assertEquals("P21", tree.getParent("P211").getId());
+        assertEquals("[P1, P2]", idsOf(tree.getChildren("P")));
+        assertNull(tree.getParent("P"));
+        assertNull(tree.getCategory("unknown"));
+        assertTrue(tree.getChildren("unknown").isEmpty());
+
+        // taxonomies page 2 at a time: offset 0 then 2
+        // T1 has 5 categories: offset 0 with total count, then 2 and 4 concurrently
+        assertTrue(requests.contains(TAXONOMIES + "@2"));
+        assertTrue(requests.contains(TAXONOMIES + "/T1/categories@4"));
+        assertEquals(2 + 3 + 1 + 1, requests.size());
+    }
+
+    @Test
+    public void treeKeptUntilRefreshed() throws Exception {
+        addCategories();
+        TaxonomyTreeLoader loader = createLoader();
+        TaxonomyTree tree = loader.getTree();
+        int count = requests.size();
+        assertSame(tree, loader.getTree());
+        assertEquals(count, requests.size());
+
+        // a failed load keeps the current tree
+        failing = true;
+        try {
+            loader.load();
+            fail("load should fail");
+        } catch (ContentException e) {
+            assertNotNull(loader.getLastLoadError());
+        }
+        assertSame(tree, loader.getTree());
+
+        // background refresh picks up the new category
+        failing = false;
+        serverTaxonomies.get("T2").add(new String[]{"UK", "EU"});
+        loader.startRefresh(50, TimeUnit.MILLISECONDS);
+        try {
+            long end = System.currentTimeMillis() + 10000;
+            while (loader.getTree().getCategory("UK") == null && System.currentTimeMillis() < end) {
+                Thread.sleep(20);
+            }
+        } finally {
+            loader.close();
+        }
+        assertEquals("[EU, UK]", idsOf(loader.getTree().getPath("UK")));
+        assertNull(loader.getLastLoadError());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pageSizeMustBePositive() {
+        createLoader().pageSize(0);
+    }
+
+    private static String idsOf(List<TaxonomyTreeCategory> categories) {
+        List<String> ids = new ArrayList<>();
+        for (TaxonomyTreeCategory category : categories) {
+            ids.add(category.getId());
+        }
+        return ids.toString();
+    }
+}